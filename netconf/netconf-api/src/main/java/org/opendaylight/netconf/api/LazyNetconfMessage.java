@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link NetconfMessage} backed by its serialized form, as received from the wire. The DOM {@link Document} is
+ * only built when {@link #getDocument()} is invoked for the first time. Users who can process the message as a stream
+ * should use {@link #openStreamReader()} instead, which does not involve DOM at all.
+ *
+ * <p>
+ * The envelope of the message, i.e. the root element, its message-id and the name of its first child element, is
+ * extracted when the message is created, so that request/reply matching and error detection can be performed without
+ * touching the body of the message. The rest of the message is checked to be well-formed at that time as well, without
+ * building a DOM, so that malformed messages are reported when they are received rather than when they are used.
+ */
+public final class LazyNetconfMessage extends NetconfMessage {
+    private static final String MESSAGE_ID_ATTR = "message-id";
+    private static final String RPC_ERROR = "rpc-error";
+
+    private final List<byte[]> parts;
+    private final int size;
+    private final String rootNamespace;
+    private final String rootName;
+    private final String messageId;
+    private final String firstChildNamespace;
+    private final String firstChildName;
+    private final boolean singleChild;
+
+    private volatile Document document;
+
+    private LazyNetconfMessage(final List<byte[]> parts, final int size, final String rootNamespace,
+            final String rootName, final String messageId, final String firstChildNamespace,
+            final String firstChildName, final boolean singleChild) {
+        this.parts = requireNonNull(parts);
+        this.size = size;
+        this.rootNamespace = requireNonNull(rootNamespace);
+        this.rootName = requireNonNull(rootName);
+        this.messageId = messageId;
+        this.firstChildNamespace = firstChildNamespace;
+        this.firstChildName = firstChildName;
+        this.singleChild = singleChild;
+    }
+
+    /**
+     * Create a new message from its UTF-8 encoded serialized form. Only the envelope of the message is extracted, the
+     * array is retained as-is and must not be modified by the caller afterwards.
+     *
+     * @param bytes Serialized message
+     * @return A new message
+     * @throws XMLStreamException if the message is not well-formed
+     */
+    public static LazyNetconfMessage of(final byte[] bytes) throws XMLStreamException {
+        return of(Collections.singletonList(bytes));
+    }
+
+    /**
+     * Create a new message from its UTF-8 encoded serialized form, split into consecutive parts, for example as they
+     * were received from the wire. The parts are not concatenated, but rather read in sequence. Only the envelope of
+     * the message is extracted, the list and the arrays are retained as-is and must not be modified by the caller
+     * afterwards.
+     *
+     * @param parts Serialized message parts
+     * @return A new message
+     * @throws XMLStreamException if the message is not well-formed
+     */
+    public static LazyNetconfMessage of(final List<byte[]> parts) throws XMLStreamException {
+        int size = 0;
+        for (byte[] part : parts) {
+            size += part.length;
+        }
+
+        final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(openStream(parts));
+        try {
+            reader.nextTag();
+            final String rootNamespace = nullToEmpty(reader.getNamespaceURI());
+            final String rootName = reader.getLocalName();
+            final String messageId = reader.getAttributeValue(null, MESSAGE_ID_ATTR);
+
+            String childNamespace = null;
+            String childName = null;
+            boolean singleChild = false;
+            if (nextChildElement(reader)) {
+                childNamespace = nullToEmpty(reader.getNamespaceURI());
+                childName = reader.getLocalName();
+                skipElement(reader);
+                singleChild = !nextChildElement(reader);
+            }
+
+            // Read through the rest of the message, so that it fails now if it is not well-formed
+            while (reader.hasNext()) {
+                reader.next();
+            }
+            return new LazyNetconfMessage(parts, size, rootNamespace, rootName, messageId, childNamespace,
+                childName, singleChild);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public Document getDocument() {
+        Document local = document;
+        if (local == null) {
+            synchronized (this) {
+                local = document;
+                if (local == null) {
+                    try {
+                        local = XmlUtil.readXmlToDocument(openStream(parts));
+                    } catch (SAXException | IOException e) {
+                        throw new IllegalStateException("Failed to parse message " + this, e);
+                    }
+                    document = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Open a new {@link XMLStreamReader} over this message. The reader is positioned at
+     * {@link XMLStreamConstants#START_DOCUMENT} and needs to be closed by the caller.
+     *
+     * @return A new XMLStreamReader
+     * @throws XMLStreamException if the reader cannot be created
+     */
+    public XMLStreamReader openStreamReader() throws XMLStreamException {
+        return UntrustedXML.createXMLStreamReader(openStream(parts));
+    }
+
+    public String getRootElementNamespace() {
+        return rootNamespace;
+    }
+
+    public String getRootElementName() {
+        return rootName;
+    }
+
+    public Optional<String> getMessageId() {
+        return Optional.ofNullable(messageId);
+    }
+
+    public Optional<String> getFirstChildElementNamespace() {
+        return Optional.ofNullable(firstChildNamespace);
+    }
+
+    public Optional<String> getFirstChildElementName() {
+        return Optional.ofNullable(firstChildName);
+    }
+
+    /**
+     * Check whether the root element of this message has exactly one child element.
+     *
+     * @return True if the first child element is the only one
+     */
+    public boolean hasSingleChildElement() {
+        return singleChild;
+    }
+
+    /**
+     * Check whether this message is a reply carrying a single {@code rpc-error}. This is consistent with
+     * {@code NetconfMessageUtil.isErrorMessage()}, which requires {@code rpc-error} to be the only child.
+     *
+     * @return True if this message is an error reply
+     */
+    public boolean isErrorReply() {
+        return singleChild && RPC_ERROR.equals(firstChildName);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        if (parts.size() == 1) {
+            return new String(parts.get(0), StandardCharsets.UTF_8);
+        }
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(size);
+        for (byte[] part : parts) {
+            bos.write(part, 0, part.length);
+        }
+        return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static InputStream openStream(final List<byte[]> parts) {
+        if (parts.size() == 1) {
+            return new ByteArrayInputStream(parts.get(0));
+        }
+
+        final List<InputStream> streams = new ArrayList<>(parts.size());
+        for (byte[] part : parts) {
+            streams.add(new ByteArrayInputStream(part));
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private static boolean nextChildElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    return true;
+                case XMLStreamConstants.END_ELEMENT:
+                    return false;
+                default:
+                    // Skip text, comments and processing instructions
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth != 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                default:
+                    // Not interesting
+                    break;
+            }
+        }
+    }
+
+    private static String nullToEmpty(final String str) {
+        return str == null ? "" : str;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.StringWriter;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Document;
+
+/**
+ * A {@link NetconfMessage} which is able to write itself to an {@link XMLStreamWriter}. Encoders are expected to take
+ * advantage of {@link #writeTo(XMLStreamWriter)} and serialize the message directly to the wire. The DOM
+ * {@link Document} is only built when {@link #getDocument()} is invoked for the first time, by writing the message
+ * into a {@link DOMResult}.
+ */
+public abstract class StreamableNetconfMessage extends NetconfMessage {
+    private final XMLOutputFactory xmlFactory;
+
+    private volatile Document document;
+
+    /**
+     * Create a new message.
+     *
+     * @param xmlFactory Non-repairing factory used to create writers for {@link #getDocument()} and
+     *                   {@link #toString()}
+     */
+    protected StreamableNetconfMessage(final XMLOutputFactory xmlFactory) {
+        this.xmlFactory = requireNonNull(xmlFactory);
+    }
+
+    @Override
+    public final Document getDocument() {
+        Document local = document;
+        if (local == null) {
+            synchronized (this) {
+                local = document;
+                if (local == null) {
+                    local = XmlUtil.newDocument();
+                    try {
+                        final XMLStreamWriter writer = xmlFactory.createXMLStreamWriter(new DOMResult(local));
+                        try {
+                            writeTo(writer);
+                        } finally {
+                            writer.close();
+                        }
+                    } catch (XMLStreamException e) {
+                        throw new IllegalStateException("Failed to build document of " + getClass(), e);
+                    }
+                    document = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    @Override
+    public String toString() {
+        final StringWriter out = new StringWriter();
+        try {
+            final XMLStreamWriter writer = xmlFactory.createXMLStreamWriter(out);
+            try {
+                writeTo(writer);
+            } finally {
+                writer.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to encode message", e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Write the root element of this message, including all of its content, to specified writer. Implementations
+     * must not emit document start or end events, nor flush or close the writer. The writer is not namespace
+     * repairing, hence implementations are responsible for declaring any namespaces they use.
+     *
+     * @param writer Target writer
+     * @throws XMLStreamException if the message cannot be written
+     */
+    public abstract void writeTo(XMLStreamWriter writer) throws XMLStreamException;
+}
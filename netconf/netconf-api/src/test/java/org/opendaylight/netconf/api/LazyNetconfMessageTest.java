@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import javax.xml.stream.XMLStreamException;
+import org.junit.Test;
+
+public class LazyNetconfMessageTest {
+    private static final String NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+
+    private static LazyNetconfMessage create(final String xml) throws Exception {
+        return LazyNetconfMessage.of(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDataReply() throws Exception {
+        final LazyNetconfMessage msg = create("<rpc-reply message-id=\"m-5\" xmlns=\"" + NS + "\">"
+            + "<data><top xmlns=\"urn:test\"/></data></rpc-reply>");
+        assertEquals(NS, msg.getRootElementNamespace());
+        assertEquals("rpc-reply", msg.getRootElementName());
+        assertEquals(Optional.of("m-5"), msg.getMessageId());
+        assertEquals(Optional.of("data"), msg.getFirstChildElementName());
+        assertEquals(Optional.of(NS), msg.getFirstChildElementNamespace());
+        assertFalse(msg.isErrorReply());
+        assertTrue(msg.hasSingleChildElement());
+    }
+
+    @Test
+    public void testOkWithSibling() throws Exception {
+        final LazyNetconfMessage msg = create("<rpc-reply message-id=\"m-5\" xmlns=\"" + NS + "\">"
+            + "<ok/><data/></rpc-reply>");
+        assertEquals(Optional.of("ok"), msg.getFirstChildElementName());
+        assertFalse(msg.hasSingleChildElement());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testMalformedBody() throws Exception {
+        create("<rpc-reply message-id=\"m-5\" xmlns=\"" + NS + "\"><data><top></data></rpc-reply>");
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testTruncatedBody() throws Exception {
+        create("<rpc-reply message-id=\"m-5\" xmlns=\"" + NS + "\"><data>");
+    }
+
+    @Test
+    public void testErrorReply() throws Exception {
+        final LazyNetconfMessage msg = create("<rpc-reply message-id=\"m-6\" xmlns=\"" + NS + "\">"
+            + "<rpc-error><error-type>rpc</error-type><error-tag>operation-failed</error-tag>"
+            + "<error-severity>error</error-severity></rpc-error></rpc-reply>");
+        assertTrue(msg.isErrorReply());
+    }
+
+    @Test
+    public void testMultipleErrorsReply() throws Exception {
+        final LazyNetconfMessage msg = create("<rpc-reply message-id=\"m-6\" xmlns=\"" + NS + "\">"
+            + "<rpc-error/><rpc-error/></rpc-reply>");
+        assertFalse(msg.isErrorReply());
+    }
+
+    @Test
+    public void testEmptyNotification() throws Exception {
+        final LazyNetconfMessage msg = create("<notification xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\""
+            + "/>");
+        assertEquals("notification", msg.getRootElementName());
+        assertEquals(Optional.empty(), msg.getMessageId());
+        assertEquals(Optional.empty(), msg.getFirstChildElementName());
+    }
+
+    @Test
+    public void testLazyDocument() throws Exception {
+        final LazyNetconfMessage msg = create("<rpc-reply xmlns=\"" + NS + "\"><ok/></rpc-reply>");
+        assertEquals("ok", msg.getDocument().getDocumentElement().getFirstChild().getLocalName());
+        assertSame(msg.getDocument(), msg.getDocument());
+    }
+
+    @Test
+    public void testParts() throws Exception {
+        final String xml = "<rpc-reply message-id=\"m-7\" xmlns=\"" + NS + "\"><ok/></rpc-reply>";
+        final LazyNetconfMessage msg = LazyNetconfMessage.of(Arrays.asList(
+            xml.substring(0, 5).getBytes(StandardCharsets.UTF_8),
+            xml.substring(5, 30).getBytes(StandardCharsets.UTF_8),
+            xml.substring(30).getBytes(StandardCharsets.UTF_8)));
+        assertEquals(Optional.of("m-7"), msg.getMessageId());
+        assertEquals(Optional.of("ok"), msg.getFirstChildElementName());
+        assertEquals(xml.length(), msg.getSize());
+        assertEquals(xml, msg.toString());
+        assertEquals("ok", msg.getDocument().getDocumentElement().getFirstChild().getLocalName());
+    }
+}
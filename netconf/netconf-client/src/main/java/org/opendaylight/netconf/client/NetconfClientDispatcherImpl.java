@@ -70,8 +70,8 @@ public class NetconfClientDispatcherImpl
         LOG.debug("Creating TCP client with configuration: {}", currentConfiguration);
         return super.createClient(currentConfiguration.getAddress(), currentConfiguration.getReconnectStrategy(),
             (ch, promise) -> new TcpClientChannelInitializer(getNegotiatorFactory(currentConfiguration),
-                        currentConfiguration
-                        .getSessionListener()).initialize(ch, promise));
+                        currentConfiguration.getSessionListener(), currentConfiguration.getMaxMessageSize())
+                        .initialize(ch, promise));
     }
 
     private Future<Void> createReconnectingTcpClient(
@@ -79,7 +79,7 @@ public class NetconfClientDispatcherImpl
         LOG.debug("Creating reconnecting TCP client with configuration: {}", currentConfiguration);
         final TcpClientChannelInitializer init =
                 new TcpClientChannelInitializer(getNegotiatorFactory(currentConfiguration),
-                currentConfiguration.getSessionListener());
+                currentConfiguration.getSessionListener(), currentConfiguration.getMaxMessageSize());
 
         return super.createReconnectingClient(currentConfiguration.getAddress(), currentConfiguration
                 .getConnectStrategyFactory(),
@@ -90,15 +90,18 @@ public class NetconfClientDispatcherImpl
         LOG.debug("Creating SSH client with configuration: {}", currentConfiguration);
         return super.createClient(currentConfiguration.getAddress(), currentConfiguration.getReconnectStrategy(),
             (ch, sessionPromise) -> new SshClientChannelInitializer(currentConfiguration.getAuthHandler(),
-                        getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener())
-                        .initialize(ch, sessionPromise));
+                        getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener(),
+                        currentConfiguration.getMaxMessageSize(), currentConfiguration.getMaxPendingWriteBytes(),
+                        currentConfiguration.getWriteBufferWaterMark()).initialize(ch, sessionPromise));
     }
 
     private Future<Void> createReconnectingSshClient(
             final NetconfReconnectingClientConfiguration currentConfiguration) {
         LOG.debug("Creating reconnecting SSH client with configuration: {}", currentConfiguration);
         final SshClientChannelInitializer init = new SshClientChannelInitializer(currentConfiguration.getAuthHandler(),
-                getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener());
+                getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener(),
+                currentConfiguration.getMaxMessageSize(), currentConfiguration.getMaxPendingWriteBytes(),
+                currentConfiguration.getWriteBufferWaterMark());
 
         return super.createReconnectingClient(currentConfiguration.getAddress(), currentConfiguration
                 .getConnectStrategyFactory(), currentConfiguration.getReconnectStrategy(),
@@ -109,8 +112,8 @@ public class NetconfClientDispatcherImpl
         LOG.debug("Creating TLS client with configuration: {}", currentConfiguration);
         return super.createClient(currentConfiguration.getAddress(), currentConfiguration.getReconnectStrategy(),
             (ch, sessionPromise) -> new TlsClientChannelInitializer(currentConfiguration.getSslHandlerFactory(),
-                    getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener())
-                    .initialize(ch, sessionPromise));
+                    getNegotiatorFactory(currentConfiguration), currentConfiguration.getSessionListener(),
+                    currentConfiguration.getMaxMessageSize()).initialize(ch, sessionPromise));
     }
 
     private Future<Void> createReconnectingTlsClient(
@@ -118,7 +121,7 @@ public class NetconfClientDispatcherImpl
         LOG.debug("Creating reconnecting TLS client with configuration: {}", currentConfiguration);
         final TlsClientChannelInitializer init = new TlsClientChannelInitializer(
                 currentConfiguration.getSslHandlerFactory(), getNegotiatorFactory(currentConfiguration),
-                currentConfiguration.getSessionListener());
+                currentConfiguration.getSessionListener(), currentConfiguration.getMaxMessageSize());
 
         return super.createReconnectingClient(currentConfiguration.getAddress(), currentConfiguration
                 .getConnectStrategyFactory(), currentConfiguration.getReconnectStrategy(),
@@ -94,6 +94,11 @@ public class NetconfClientSessionNegotiator extends
         }
     }
 
+    @Override
+    protected boolean isStreamingDecoderSupported() {
+        return true;
+    }
+
     /**
      * Initiates exi communication by sending start-exi message and waiting for positive/negative response.
      *
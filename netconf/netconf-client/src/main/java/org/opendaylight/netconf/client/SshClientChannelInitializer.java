@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.client;
 
 import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.util.concurrent.Promise;
 import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
@@ -18,10 +19,17 @@ final class SshClientChannelInitializer extends AbstractChannelInitializer<Netco
     private final AuthenticationHandler authenticationHandler;
     private final NetconfClientSessionNegotiatorFactory negotiatorFactory;
     private final NetconfClientSessionListener sessionListener;
+    private final long maxPendingWriteBytes;
+    private final WriteBufferWaterMark writeBufferWaterMark;
 
     SshClientChannelInitializer(final AuthenticationHandler authHandler,
                                 final NetconfClientSessionNegotiatorFactory negotiatorFactory,
-                                final NetconfClientSessionListener sessionListener) {
+                                final NetconfClientSessionListener sessionListener, final int maxMessageSize,
+                                final long maxPendingWriteBytes,
+                                final WriteBufferWaterMark writeBufferWaterMark) {
+        super(maxMessageSize);
+        this.maxPendingWriteBytes = maxPendingWriteBytes;
+        this.writeBufferWaterMark = writeBufferWaterMark;
         this.authenticationHandler = authHandler;
         this.negotiatorFactory = negotiatorFactory;
         this.sessionListener = sessionListener;
@@ -29,8 +37,10 @@ final class SshClientChannelInitializer extends AbstractChannelInitializer<Netco
 
     @Override
     public void initialize(final Channel ch, final Promise<NetconfClientSession> promise) {
-        // ssh handler has to be the first handler in pipeline
-        ch.pipeline().addFirst(AsyncSshHandler.createForNetconfSubsystem(authenticationHandler, promise));
+        // ssh handler picks up the water marks from channel config and has to be the first handler in pipeline
+        ch.config().setWriteBufferWaterMark(writeBufferWaterMark);
+        ch.pipeline().addFirst(AsyncSshHandler.createForNetconfSubsystem(authenticationHandler, promise,
+            maxPendingWriteBytes));
         super.initialize(ch, promise);
     }
 
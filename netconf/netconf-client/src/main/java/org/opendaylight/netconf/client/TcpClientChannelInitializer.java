@@ -24,7 +24,8 @@ class TcpClientChannelInitializer extends AbstractChannelInitializer<NetconfClie
     private final NetconfClientSessionListener sessionListener;
 
     TcpClientChannelInitializer(final NetconfClientSessionNegotiatorFactory negotiatorFactory,
-                                final NetconfClientSessionListener sessionListener) {
+                                final NetconfClientSessionListener sessionListener, final int maxMessageSize) {
+        super(maxMessageSize);
         this.negotiatorFactory = negotiatorFactory;
         this.sessionListener = sessionListener;
     }
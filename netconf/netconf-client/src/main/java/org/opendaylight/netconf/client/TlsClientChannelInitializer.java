@@ -22,7 +22,8 @@ final class TlsClientChannelInitializer extends AbstractChannelInitializer<Netco
 
     TlsClientChannelInitializer(final SslHandlerFactory sslHandlerFactory,
                                 final NetconfClientSessionNegotiatorFactory negotiatorFactory,
-                                final NetconfClientSessionListener sessionListener) {
+                                final NetconfClientSessionListener sessionListener, final int maxMessageSize) {
+        super(maxMessageSize);
         this.sslHandlerFactory = sslHandlerFactory;
         this.negotiatorFactory = negotiatorFactory;
         this.sessionListener = sessionListener;
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.client.conf;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Preconditions;
+import io.netty.channel.WriteBufferWaterMark;
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Optional;
@@ -40,13 +41,19 @@ public class NetconfClientConfiguration {
 
     private final List<Uri> odlHelloCapabilities;
 
+    private final int maxMessageSize;
+    private final long maxPendingWriteBytes;
+    private final WriteBufferWaterMark writeBufferWaterMark;
+
     NetconfClientConfiguration(final NetconfClientProtocol protocol, final InetSocketAddress address,
                                final Long connectionTimeoutMillis,
                                final NetconfHelloMessageAdditionalHeader additionalHeader,
                                final NetconfClientSessionListener sessionListener,
                                final ReconnectStrategy reconnectStrategy, final AuthenticationHandler authHandler,
                                final SslHandlerFactory sslHandlerFactory,
-                               final List<Uri> odlHelloCapabilities) {
+                               final List<Uri> odlHelloCapabilities, final int maxMessageSize,
+                               final long maxPendingWriteBytes,
+                               final WriteBufferWaterMark writeBufferWaterMark) {
         this.address = address;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
         this.additionalHeader = additionalHeader;
@@ -56,6 +63,9 @@ public class NetconfClientConfiguration {
         this.authHandler = authHandler;
         this.sslHandlerFactory = sslHandlerFactory;
         this.odlHelloCapabilities = odlHelloCapabilities;
+        this.maxMessageSize = maxMessageSize;
+        this.maxPendingWriteBytes = maxPendingWriteBytes;
+        this.writeBufferWaterMark = writeBufferWaterMark;
         validateConfiguration();
     }
 
@@ -95,8 +105,21 @@ public class NetconfClientConfiguration {
         return odlHelloCapabilities;
     }
 
+    public final int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    public final long getMaxPendingWriteBytes() {
+        return maxPendingWriteBytes;
+    }
+
+    public final WriteBufferWaterMark getWriteBufferWaterMark() {
+        return writeBufferWaterMark;
+    }
+
     private void validateConfiguration() {
         Preconditions.checkNotNull(clientProtocol, " ");
+        Preconditions.checkArgument(maxMessageSize > 0, "Invalid maximum message size %s", maxMessageSize);
         switch (clientProtocol) {
             case TLS:
                 validateTlsConfiguration();
@@ -120,6 +143,11 @@ public class NetconfClientConfiguration {
 
     protected void validateSshConfiguration() {
         Preconditions.checkNotNull(authHandler, "authHandler");
+        Preconditions.checkArgument(maxPendingWriteBytes > 0, "Invalid pending write limit %s", maxPendingWriteBytes);
+        Preconditions.checkNotNull(writeBufferWaterMark, "writeBufferWaterMark");
+        Preconditions.checkArgument(maxPendingWriteBytes >= writeBufferWaterMark.high(),
+                "Pending write limit %s is below the high water mark of %s", maxPendingWriteBytes,
+                writeBufferWaterMark);
     }
 
     protected void validateTcpConfiguration() {
@@ -144,7 +172,10 @@ public class NetconfClientConfiguration {
                 .add("reconnectStrategy", reconnectStrategy)
                 .add("clientProtocol", clientProtocol)
                 .add("authHandler", authHandler)
-                .add("sslHandlerFactory", sslHandlerFactory);
+                .add("sslHandlerFactory", sslHandlerFactory)
+                .add("maxMessageSize", maxMessageSize)
+                .add("maxPendingWriteBytes", maxPendingWriteBytes)
+                .add("writeBufferWaterMark", writeBufferWaterMark);
     }
 
     public enum NetconfClientProtocol {
@@ -7,13 +7,16 @@
  */
 package org.opendaylight.netconf.client.conf;
 
+import io.netty.channel.WriteBufferWaterMark;
 import java.net.InetSocketAddress;
 import java.util.List;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.client.SslHandlerFactory;
 import org.opendaylight.netconf.nettyutil.ReconnectStrategy;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
 
 public class NetconfClientConfigurationBuilder {
@@ -31,6 +34,9 @@ public class NetconfClientConfigurationBuilder {
     private NetconfClientConfiguration.NetconfClientProtocol clientProtocol = DEFAULT_CLIENT_PROTOCOL;
     private SslHandlerFactory sslHandlerFactory;
     private List<Uri> odlHelloCapabilities;
+    private int maxMessageSize = NetconfEOMAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE;
+    private long maxPendingWriteBytes = AsyncSshHandlerWriter.DEFAULT_MAX_PENDING_BYTES;
+    private WriteBufferWaterMark writeBufferWaterMark = WriteBufferWaterMark.DEFAULT;
 
 
     protected NetconfClientConfigurationBuilder() {
@@ -96,6 +102,24 @@ public class NetconfClientConfigurationBuilder {
         return this;
     }
 
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withMaxMessageSize(final int maxMessageSize) {
+        this.maxMessageSize = maxMessageSize;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withMaxPendingWriteBytes(final long maxPendingWriteBytes) {
+        this.maxPendingWriteBytes = maxPendingWriteBytes;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withWriteBufferWaterMark(final WriteBufferWaterMark writeBufferWaterMark) {
+        this.writeBufferWaterMark = writeBufferWaterMark;
+        return this;
+    }
+
     final InetSocketAddress getAddress() {
         return address;
     }
@@ -132,8 +156,21 @@ public class NetconfClientConfigurationBuilder {
         return odlHelloCapabilities;
     }
 
+    final int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    final long getMaxPendingWriteBytes() {
+        return maxPendingWriteBytes;
+    }
+
+    final WriteBufferWaterMark getWriteBufferWaterMark() {
+        return writeBufferWaterMark;
+    }
+
     public NetconfClientConfiguration build() {
         return new NetconfClientConfiguration(clientProtocol, address, connectionTimeoutMillis, additionalHeader,
-                sessionListener, reconnectStrategy, authHandler, sslHandlerFactory, odlHelloCapabilities);
+                sessionListener, reconnectStrategy, authHandler, sslHandlerFactory, odlHelloCapabilities,
+                maxMessageSize, maxPendingWriteBytes, writeBufferWaterMark);
     }
 }
@@ -9,6 +9,7 @@ package org.opendaylight.netconf.client.conf;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Preconditions;
+import io.netty.channel.WriteBufferWaterMark;
 import java.net.InetSocketAddress;
 import java.util.List;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
@@ -31,9 +32,13 @@ public final class NetconfReconnectingClientConfiguration extends NetconfClientC
                                            final ReconnectStrategyFactory connectStrategyFactory,
                                            final AuthenticationHandler authHandler,
                                            final SslHandlerFactory sslHandlerFactory,
-                                           final List<Uri> odlHelloCapabilities) {
+                                           final List<Uri> odlHelloCapabilities,
+                                           final int maxMessageSize,
+                                           final long maxPendingWriteBytes,
+                                           final WriteBufferWaterMark writeBufferWaterMark) {
         super(clientProtocol, address, connectionTimeoutMillis, additionalHeader, sessionListener, reconnectStrategy,
-                authHandler, sslHandlerFactory, odlHelloCapabilities);
+                authHandler, sslHandlerFactory, odlHelloCapabilities, maxMessageSize, maxPendingWriteBytes,
+                writeBufferWaterMark);
         this.connectStrategyFactory = connectStrategyFactory;
         validateReconnectConfiguration();
     }
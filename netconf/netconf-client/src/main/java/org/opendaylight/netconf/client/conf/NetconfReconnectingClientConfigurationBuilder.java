@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.client.conf;
 
+import io.netty.channel.WriteBufferWaterMark;
 import java.net.InetSocketAddress;
 import java.util.List;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
@@ -39,7 +40,8 @@ public final class NetconfReconnectingClientConfigurationBuilder extends Netconf
     public NetconfReconnectingClientConfiguration build() {
         return new NetconfReconnectingClientConfiguration(getProtocol(), getAddress(), getConnectionTimeoutMillis(),
                 getAdditionalHeader(), getSessionListener(), getReconnectStrategy(), connectStrategyFactory,
-                getAuthHandler(), getSslHandlerFactory(), getOdlHelloCapabilities());
+                getAuthHandler(), getSslHandlerFactory(), getOdlHelloCapabilities(), getMaxMessageSize(),
+                getMaxPendingWriteBytes(), getWriteBufferWaterMark());
     }
 
     // Override setter methods to return subtype
@@ -95,4 +97,20 @@ public final class NetconfReconnectingClientConfigurationBuilder extends Netconf
     public NetconfReconnectingClientConfigurationBuilder withOdlHelloCapabilities(List<Uri> odlHelloCapabilities) {
         return (NetconfReconnectingClientConfigurationBuilder) super.withOdlHelloCapabilities(odlHelloCapabilities);
     }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withMaxMessageSize(final int maxMessageSize) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withMaxMessageSize(maxMessageSize);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withMaxPendingWriteBytes(final long maxPendingWriteBytes) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withMaxPendingWriteBytes(maxPendingWriteBytes);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withWriteBufferWaterMark(
+            final WriteBufferWaterMark writeBufferWaterMark) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withWriteBufferWaterMark(writeBufferWaterMark);
+    }
 }
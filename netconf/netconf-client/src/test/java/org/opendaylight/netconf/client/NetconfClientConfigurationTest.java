@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.client;
 
+import io.netty.channel.WriteBufferWaterMark;
 import java.net.InetSocketAddress;
 import java.util.Optional;
 import org.junit.Assert;
@@ -45,6 +46,7 @@ public class NetconfClientConfigurationTest {
         Assert.assertEquals(strategy, cfg.getReconnectStrategy());
         Assert.assertEquals(NetconfClientConfiguration.NetconfClientProtocol.SSH, cfg.getProtocol());
         Assert.assertEquals(address, cfg.getAddress());
+        Assert.assertEquals(WriteBufferWaterMark.DEFAULT, cfg.getWriteBufferWaterMark());
 
         SslHandlerFactory sslHandlerFactory = Mockito.mock(SslHandlerFactory.class);
         NetconfClientConfiguration cfg2 = NetconfClientConfigurationBuilder.create()
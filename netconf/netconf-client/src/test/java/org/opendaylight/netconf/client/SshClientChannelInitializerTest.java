@@ -9,18 +9,25 @@ package org.opendaylight.netconf.client;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.util.concurrent.Promise;
 import org.junit.Test;
 import org.opendaylight.netconf.api.NetconfSessionListenerFactory;
+import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
 
 public class SshClientChannelInitializerTest {
     @Test
@@ -38,6 +45,8 @@ public class SshClientChannelInitializerTest {
         doReturn(pipeline).when(pipeline).addAfter(anyString(), anyString(), any(ChannelHandler.class));
         Channel channel = mock(Channel.class);
         doReturn(pipeline).when(channel).pipeline();
+        ChannelConfig config = mock(ChannelConfig.class);
+        doReturn(config).when(channel).config();
         doReturn("").when(channel).toString();
         doReturn(pipeline).when(pipeline).addFirst(any(ChannelHandler.class));
         doReturn(pipeline).when(pipeline).addLast(anyString(), any(ChannelHandler.class));
@@ -45,9 +54,14 @@ public class SshClientChannelInitializerTest {
         Promise<NetconfClientSession> promise = mock(Promise.class);
         doReturn("").when(promise).toString();
 
+        WriteBufferWaterMark waterMark = new WriteBufferWaterMark(16 * 1024, 32 * 1024);
         SshClientChannelInitializer initializer = new SshClientChannelInitializer(authenticationHandler,
-                negotiatorFactory, sessionListener);
+                negotiatorFactory, sessionListener, 1024,
+                AsyncSshHandlerWriter.DEFAULT_MAX_PENDING_BYTES, waterMark);
         initializer.initialize(channel, promise);
+        verify(config).setWriteBufferWaterMark(waterMark);
         verify(pipeline, times(1)).addFirst(any(ChannelHandler.class));
+        verify(pipeline).addLast(eq(AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR),
+            argThat(handler -> ((NetconfEOMAggregator) handler).getMaxMessageSize() == 1024));
     }
 }
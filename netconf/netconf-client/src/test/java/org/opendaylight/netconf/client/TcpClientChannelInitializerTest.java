@@ -20,6 +20,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.util.concurrent.Promise;
 import org.junit.Test;
 import org.opendaylight.netconf.api.NetconfSessionListenerFactory;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
 
 public class TcpClientChannelInitializerTest {
     @Test
@@ -30,7 +31,8 @@ public class TcpClientChannelInitializerTest {
         doReturn(sessionNegotiator).when(factory).getSessionNegotiator(any(NetconfSessionListenerFactory.class),
                 any(Channel.class), any(Promise.class));
         NetconfClientSessionListener listener = mock(NetconfClientSessionListener.class);
-        final TcpClientChannelInitializer initializer = new TcpClientChannelInitializer(factory, listener);
+        final TcpClientChannelInitializer initializer = new TcpClientChannelInitializer(factory, listener,
+            NetconfEOMAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE);
         ChannelPipeline pipeline = mock(ChannelPipeline.class);
         doReturn(pipeline).when(pipeline).addAfter(anyString(), anyString(), any(ChannelHandler.class));
         Channel channel = mock(Channel.class);
@@ -23,6 +23,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.netconf.api.NetconfSessionListenerFactory;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
 
 @RunWith(MockitoJUnitRunner.class)
 public class TlsClientChannelInitializerTest {
@@ -50,7 +51,7 @@ public class TlsClientChannelInitializerTest {
         Promise<NetconfClientSession> promise = mock(Promise.class);
 
         TlsClientChannelInitializer initializer = new TlsClientChannelInitializer(sslHandlerFactory,
-                negotiatorFactory, sessionListener);
+                negotiatorFactory, sessionListener, NetconfEOMAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE);
         initializer.initialize(channel, promise);
         verify(pipeline, times(1)).addFirst(anyString(), any(ChannelHandler.class));
     }
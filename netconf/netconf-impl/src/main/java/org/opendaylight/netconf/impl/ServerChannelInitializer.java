@@ -24,6 +24,12 @@ public class ServerChannelInitializer extends AbstractChannelInitializer<Netconf
 
     }
 
+    public ServerChannelInitializer(final NetconfServerSessionNegotiatorFactory negotiatorFactory,
+            final int maxMessageSize) {
+        super(maxMessageSize);
+        this.negotiatorFactory = negotiatorFactory;
+    }
+
     @Override
     protected void initializeMessageDecoder(Channel ch) {
         super.initializeMessageDecoder(ch);
@@ -8,6 +8,8 @@
 
 package org.opendaylight.netconf.nettyutil;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import io.netty.channel.Channel;
 import io.netty.util.concurrent.Promise;
 import org.opendaylight.netconf.api.NetconfSession;
@@ -25,8 +27,29 @@ public abstract class AbstractChannelInitializer<S extends NetconfSession> {
     public static final String NETCONF_MESSAGE_FRAME_ENCODER = "frameEncoder";
     public static final String NETCONF_SESSION_NEGOTIATOR = "negotiator";
 
+    private final int maxMessageSize;
+
+    protected AbstractChannelInitializer() {
+        this(NetconfEOMAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE);
+    }
+
+    /**
+     * Create a new initializer.
+     *
+     * @param maxMessageSize Maximum size of an end-of-message framed message, in bytes
+     * @throws IllegalArgumentException if maxMessageSize is not positive
+     */
+    protected AbstractChannelInitializer(final int maxMessageSize) {
+        checkArgument(maxMessageSize > 0, "Invalid maximum message size %s", maxMessageSize);
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    public final int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
     public void initialize(Channel ch, Promise<S> promise) {
-        ch.pipeline().addLast(NETCONF_MESSAGE_AGGREGATOR, new NetconfEOMAggregator());
+        ch.pipeline().addLast(NETCONF_MESSAGE_AGGREGATOR, new NetconfEOMAggregator(maxMessageSize));
         initializeMessageDecoder(ch);
         ch.pipeline().addLast(NETCONF_MESSAGE_FRAME_ENCODER,
                 FramingMechanismHandlerFactory.createHandler(FramingMechanism.EOM));
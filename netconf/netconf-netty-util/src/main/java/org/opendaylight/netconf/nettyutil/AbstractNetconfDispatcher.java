@@ -67,6 +67,8 @@ public abstract class AbstractNetconfDispatcher<S extends NetconfSession, L exte
 
     private final EventExecutor executor;
 
+    private volatile ReconnectBudget reconnectBudget;
+
     protected AbstractNetconfDispatcher(final EventLoopGroup bossGroup, final EventLoopGroup workerGroup) {
         this(GlobalEventExecutor.INSTANCE, bossGroup, workerGroup);
     }
@@ -78,6 +80,27 @@ public abstract class AbstractNetconfDispatcher<S extends NetconfSession, L exte
         this.executor = Preconditions.checkNotNull(executor);
     }
 
+    /**
+     * Limit the rate of reconnect attempts across all clients created by this dispatcher. Attempts which would exceed
+     * the rate are delayed rather than dropped. This covers both reconnects scheduled by reconnect strategies and
+     * reconnects of reconnecting clients after an established session is dropped, so that a site-wide outage does not
+     * result in a wave of reconnects once connectivity is restored. Initial connection attempts are not limited.
+     *
+     * @param attemptsPerSecond Maximum rate of reconnect attempts, non-positive to disable the limit
+     */
+    public void setReconnectBudget(final double attemptsPerSecond) {
+        reconnectBudget = attemptsPerSecond > 0 ? new ReconnectBudget(attemptsPerSecond) : null;
+    }
+
+    /**
+     * Reserve a reconnect attempt within the reconnect budget.
+     *
+     * @return Time in nanoseconds the attempt has to be delayed by
+     */
+    long reserveReconnect() {
+        final ReconnectBudget budget = reconnectBudget;
+        return budget == null ? 0 : budget.reserve();
+    }
 
     /**
      * Creates server. Each server needs factories to pass their instances to client sessions.
@@ -170,7 +193,7 @@ public abstract class AbstractNetconfDispatcher<S extends NetconfSession, L exte
     protected Future<S> createClient(final InetSocketAddress address, final ReconnectStrategy strategy,
             final PipelineInitializer<S> initializer) {
         final Bootstrap b = new Bootstrap();
-        final NetconfSessionPromise<S> p = new NetconfSessionPromise<>(executor, address, strategy, b);
+        final NetconfSessionPromise<S> p = new NetconfSessionPromise<>(executor, address, budgeted(strategy), b);
         b.option(ChannelOption.SO_KEEPALIVE, true).handler(
                 new ChannelInitializer<SocketChannel>() {
                     @Override
@@ -196,7 +219,8 @@ public abstract class AbstractNetconfDispatcher<S extends NetconfSession, L exte
      */
     protected Future<S> createClient(final InetSocketAddress address, final ReconnectStrategy strategy,
             final Bootstrap bootstrap, final PipelineInitializer<S> initializer) {
-        final NetconfSessionPromise<S> p = new NetconfSessionPromise<>(executor, address, strategy, bootstrap);
+        final NetconfSessionPromise<S> p = new NetconfSessionPromise<>(executor, address, budgeted(strategy),
+            bootstrap);
 
         bootstrap.handler(
                 new ChannelInitializer<SocketChannel>() {
@@ -255,6 +279,11 @@ public abstract class AbstractNetconfDispatcher<S extends NetconfSession, L exte
         return p;
     }
 
+    private ReconnectStrategy budgeted(final ReconnectStrategy strategy) {
+        final ReconnectBudget budget = reconnectBudget;
+        return budget == null ? strategy : new BudgetedReconnectStrategy(executor, strategy, budget);
+    }
+
     private static void setChannelFactory(final Bootstrap bootstrap) {
         // There is no way to detect if this was already set by
         // customizeBootstrap()
@@ -16,12 +16,22 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.opendaylight.netconf.api.NetconfExiSession;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
@@ -35,6 +45,8 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         extends SimpleChannelInboundHandler<Object> implements NetconfSession, NetconfExiSession {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractNetconfSession.class);
+    private static final int MAX_MESSAGES_PER_FLUSH = 64;
+
     private final L sessionListener;
     private final long sessionId;
     private boolean up = false;
@@ -43,6 +55,12 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
 
     private final Channel channel;
 
+    private final Queue<OutboundMessage> outboundQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedMessages = new AtomicLong();
+    private final AtomicInteger maxMessagesPerFlush = new AtomicInteger();
+
     protected AbstractNetconfSession(final L sessionListener, final Channel channel, final long sessionId) {
         this.sessionListener = sessionListener;
         this.channel = channel;
@@ -74,17 +92,139 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         // Restconf writes to a netconf mountpoint execute multiple messages
         // and one of these was executed from a restconf thread thus breaking ordering so
         // we need to execute all messages from an EventLoop thread.
+        //
+        // Messages are put into an outbound queue, which is drained from the EventLoop in order. Messages arriving
+        // in a burst are written together and flushed only once. The queue is not drained while the channel is not
+        // writable, so that messages are not piling up in the transport.
 
         final ChannelPromise promise = channel.newPromise();
-        channel.eventLoop().execute(() -> {
-            channel.writeAndFlush(netconfMessage, promise);
+        outboundQueue.add(new OutboundMessage(netconfMessage, promise));
+        scheduleDrain();
+        return promise;
+    }
+
+    /**
+     * Send multiple messages back-to-back. The messages are queued together and written with a single flush, as long
+     * as there are no more than {@value #MAX_MESSAGES_PER_FLUSH} of them. Message ordering is retained in the same
+     * way as with {@link #sendMessage(NetconfMessage)}.
+     *
+     * @param netconfMessages Messages to send
+     * @return Futures completing when corresponding messages are written, in the order of messages
+     */
+    public List<ChannelFuture> sendMessages(final List<? extends NetconfMessage> netconfMessages) {
+        final List<ChannelFuture> promises = new ArrayList<>(netconfMessages.size());
+        for (NetconfMessage netconfMessage : netconfMessages) {
+            final ChannelPromise promise = channel.newPromise();
+            outboundQueue.add(new OutboundMessage(netconfMessage, promise));
+            promises.add(promise);
+        }
+        scheduleDrain();
+        return Collections.unmodifiableList(promises);
+    }
+
+    /**
+     * Return the number of flushes performed by this session.
+     *
+     * @return Number of flushes
+     */
+    public final long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Return the number of messages sent by this session. Divided by {@link #getFlushCount()} this gives the average
+     * number of messages written by a single flush.
+     *
+     * @return Number of messages sent
+     */
+    public final long getFlushedMessageCount() {
+        return flushedMessages.get();
+    }
+
+    /**
+     * Return the highest number of messages written by a single flush.
+     *
+     * @return Highest number of messages per flush
+     */
+    public final int getMaxMessagesPerFlush() {
+        return maxMessagesPerFlush.get();
+    }
+
+    /**
+     * Check whether the underlying channel accepts writes without queueing them. Messages sent while the channel is
+     * not writable are held in this session's outbound queue until it becomes writable again.
+     *
+     * @return True if the channel is writable
+     */
+    public final boolean isWritable() {
+        return channel.isWritable();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                channel.eventLoop().execute(this::drainOutboundQueue);
+            } catch (RejectedExecutionException e) {
+                // The event loop is shutting down and will never drain the queue. Allow future attempts to schedule
+                // a drain and fail whatever is queued, including messages queued while the flag was set.
+                LOG.debug("Session {} failed to schedule outbound queue drain", sessionId, e);
+                drainScheduled.set(false);
+                failOutboundQueue(e);
+            }
+        }
+    }
+
+    private void failOutboundQueue(final Throwable cause) {
+        for (OutboundMessage message = outboundQueue.poll(); message != null; message = outboundQueue.poll()) {
+            message.promise.setFailure(cause);
+        }
+    }
+
+    private void drainOutboundQueue() {
+        int count = 0;
+        OutboundMessage message = pollWritable();
+        while (message != null) {
+            final OutboundMessage next = count + 1 < MAX_MESSAGES_PER_FLUSH ? pollWritable() : null;
+            if (count == 0 && next == null) {
+                // Lone message, no need to issue a separate flush
+                channel.writeAndFlush(message.message, message.promise);
+            } else {
+                channel.write(message.message, message.promise);
+            }
             if (delayedEncoder != null) {
+                // The encoder has to be switched before the next message is encoded
                 replaceMessageEncoder(delayedEncoder);
                 delayedEncoder = null;
             }
-        });
+            count++;
+            message = next;
+        }
 
-        return promise;
+        if (count != 0) {
+            if (count > 1) {
+                channel.flush();
+            }
+            flushCount.incrementAndGet();
+            flushedMessages.addAndGet(count);
+            maxMessagesPerFlush.accumulateAndGet(count, Math::max);
+            LOG.trace("Session {} flushed {} message(s)", sessionId, count);
+        }
+
+        // Messages queued after we have stopped polling have not scheduled a drain, make sure they are not stranded.
+        // If the channel is not writable, channelWritabilityChanged() takes care of them.
+        drainScheduled.set(false);
+        if (!outboundQueue.isEmpty() && canWrite()) {
+            scheduleDrain();
+        }
+    }
+
+    private OutboundMessage pollWritable() {
+        return canWrite() ? outboundQueue.poll() : null;
+    }
+
+    private boolean canWrite() {
+        // Writes to an inactive channel fail immediately, which is what we want for any messages still queued
+        return channel.isWritable() || !channel.isActive();
     }
 
     protected void endOfInput() {
@@ -147,6 +287,14 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
             throw new IllegalStateException("Cannot instantiate encoder for options", e);
         }
 
+        // EXI decoder needs whole messages, make sure framing does not stream them
+        final ChannelHandler aggregator = channel.pipeline().get(
+            AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR);
+        if (aggregator instanceof NetconfChunkAggregator && ((NetconfChunkAggregator) aggregator).isStreaming()) {
+            replaceChannelHandler(AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR,
+                new NetconfChunkAggregator());
+        }
+
         addExiHandlers(exiDecoder, exiEncoder);
         LOG.debug("Session {} EXI handlers added to pipeline", this);
     }
@@ -172,6 +320,10 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
     public final void channelInactive(final ChannelHandlerContext ctx) {
         LOG.debug("Channel {} inactive.", ctx.channel());
         endOfInput();
+        if (!outboundQueue.isEmpty()) {
+            // Fail any messages held back while the channel was not writable
+            scheduleDrain();
+        }
         try {
             // Forward channel inactive event, all handlers in pipeline might be interested in the event e.g. close
             // channel handler of reconnect promise
@@ -181,12 +333,33 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            LOG.trace("Session {} writable again, {} message(s) queued", sessionId, outboundQueue.size());
+            if (!outboundQueue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     protected final void channelRead0(final ChannelHandlerContext ctx, final Object msg) {
         LOG.debug("Message was received: {}", msg);
         handleMessage((NetconfMessage) msg);
     }
 
+    private static final class OutboundMessage {
+        final NetconfMessage message;
+        final ChannelPromise promise;
+
+        OutboundMessage(final NetconfMessage message, final ChannelPromise promise) {
+            this.message = message;
+            this.promise = promise;
+        }
+    }
+
     @Override
     public final void handlerAdded(final ChannelHandlerContext ctx) {
         sessionUp();
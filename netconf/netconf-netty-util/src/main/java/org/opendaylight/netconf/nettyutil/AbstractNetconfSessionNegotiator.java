@@ -33,6 +33,7 @@ import org.opendaylight.netconf.nettyutil.handler.FramingMechanismHandlerFactory
 import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToHelloMessageDecoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToLazyMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.util.messages.FramingMechanism;
 import org.slf4j.Logger;
@@ -63,6 +64,7 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
     }
 
     private State state = State.IDLE;
+    private boolean streamingFraming;
     private final Timer timer;
     private final long connectionTimeoutMillis;
 
@@ -179,8 +181,22 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
     private void insertChunkFramingToPipeline() {
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_FRAME_ENCODER,
                 FramingMechanismHandlerFactory.createHandler(FramingMechanism.CHUNK));
+
+        streamingFraming = isStreamingDecoderSupported();
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR,
-                new NetconfChunkAggregator());
+                streamingFraming ? NetconfChunkAggregator.streaming() : new NetconfChunkAggregator());
+    }
+
+    /**
+     * Indicate whether sessions created by this negotiator can process messages produced by
+     * {@link NetconfXMLToLazyMessageDecoder}. If they can, and chunked framing is negotiated, incoming messages are
+     * streamed from the framing decoder into that decoder, without being parsed into DOM on the event loop. Default
+     * implementation returns false.
+     *
+     * @return True if streaming decoding should be used when possible
+     */
+    protected boolean isStreamingDecoderSupported() {
+        return false;
     }
 
     private boolean shouldUseChunkFraming(final Document doc) {
@@ -197,7 +213,8 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
      */
     protected final void replaceHelloMessageInboundHandler(final S session) {
         ChannelHandler helloMessageHandler = replaceChannelHandler(channel,
-                AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, new NetconfXMLToMessageDecoder());
+                AbstractChannelInitializer.NETCONF_MESSAGE_DECODER,
+                streamingFraming ? new NetconfXMLToLazyMessageDecoder() : new NetconfXMLToMessageDecoder());
 
         checkState(helloMessageHandler instanceof NetconfXMLToHelloMessageDecoder,
                 "Pipeline handlers misplaced on session: %s, pipeline: %s", session, channel.pipeline());
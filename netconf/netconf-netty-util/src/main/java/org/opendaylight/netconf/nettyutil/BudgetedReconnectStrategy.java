@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reconnect strategy which delays attempts scheduled by another strategy until they fit into a {@link ReconnectBudget}.
+ */
+@Deprecated
+final class BudgetedReconnectStrategy implements ReconnectStrategy {
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetedReconnectStrategy.class);
+
+    private final EventExecutor executor;
+    private final ReconnectStrategy delegate;
+    private final ReconnectBudget budget;
+
+    BudgetedReconnectStrategy(final EventExecutor executor, final ReconnectStrategy delegate,
+            final ReconnectBudget budget) {
+        this.executor = Preconditions.checkNotNull(executor);
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.budget = Preconditions.checkNotNull(budget);
+    }
+
+    @Override
+    public int getConnectTimeout() throws Exception {
+        return delegate.getConnectTimeout();
+    }
+
+    @Override
+    public Future<Void> scheduleReconnect(final Throwable cause) {
+        final Future<Void> scheduled = delegate.scheduleReconnect(cause);
+        final Promise<Void> promise = executor.newPromise();
+        scheduled.addListener(future -> {
+            if (!future.isSuccess()) {
+                promise.tryFailure(future.cause());
+                return;
+            }
+
+            final long delayNanos = budget.reserve();
+            if (delayNanos == 0) {
+                promise.trySuccess(null);
+                return;
+            }
+
+            LOG.debug("Delaying reconnect attempt by {}ms to stay within reconnect budget",
+                TimeUnit.NANOSECONDS.toMillis(delayNanos));
+            final Future<?> wait = executor.schedule(() -> promise.trySuccess(null), delayNanos,
+                TimeUnit.NANOSECONDS);
+            promise.addListener(ignored -> {
+                if (promise.isCancelled()) {
+                    wait.cancel(false);
+                }
+            });
+        });
+        promise.addListener(ignored -> {
+            if (promise.isCancelled()) {
+                scheduled.cancel(false);
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public void reconnectSuccessful() {
+        delegate.reconnectSuccessful();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reconnect strategy with decorrelated jitter. This class is thread-safe.
+ *
+ * <p>
+ * Unlike {@link TimedReconnectStrategy}, sleep times are randomized, so that devices which lost their sessions at
+ * the same time, for example due to a link flap, do not retry in lock-step. Each sleep time is drawn uniformly from
+ * between minSleep and three times the previous sleep time, so that subsequent sleeps of a device are related, but
+ * sleeps of different devices drift apart.
+ *
+ * <p>
+ * The upper bound of the range is further capped by maxSleep and by an envelope, which starts at three times minSleep
+ * and is multiplied by sleepFactor after each attempt. A device therefore never sleeps longer than three times what it
+ * would with {@link TimedReconnectStrategy} using the same parameters, while retries of different devices are spread
+ * even for the first retry. The range, rather than the drawn sleep time, is capped, so that devices do not converge
+ * on the cap.
+ *
+ * <p>
+ * The strategy gives up once a preset number of connection retries (maxAttempts) has been reached.
+ */
+@Deprecated
+public final class JitteredReconnectStrategy implements ReconnectStrategy {
+    private static final Logger LOG = LoggerFactory.getLogger(JitteredReconnectStrategy.class);
+    private static final int DECORRELATION_FACTOR = 3;
+
+    private final EventExecutor executor;
+    private final Long maxAttempts;
+    private final Long maxSleep;
+    private final double sleepFactor;
+    private final int connectTime;
+    private final long minSleep;
+
+    @GuardedBy("this")
+    private long attempts;
+
+    @GuardedBy("this")
+    private long lastSleep;
+
+    @GuardedBy("this")
+    private double envelope;
+
+    @GuardedBy("this")
+    private boolean scheduled;
+
+    public JitteredReconnectStrategy(final EventExecutor executor, final int connectTime, final long minSleep,
+            final double sleepFactor, final Long maxSleep, final Long maxAttempts) {
+        Preconditions.checkArgument(minSleep >= 0);
+        Preconditions.checkArgument(maxSleep == null || minSleep <= maxSleep);
+        Preconditions.checkArgument(sleepFactor >= 1);
+        Preconditions.checkArgument(connectTime >= 0);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.maxAttempts = maxAttempts;
+        this.minSleep = minSleep;
+        this.maxSleep = maxSleep;
+        this.sleepFactor = sleepFactor;
+        this.connectTime = connectTime;
+    }
+
+    @Override
+    public synchronized Future<Void> scheduleReconnect(final Throwable cause) {
+        LOG.debug("Connection attempt failed", cause);
+
+        // Check if a reconnect attempt is scheduled
+        Preconditions.checkState(!this.scheduled);
+
+        if (this.maxAttempts != null && this.attempts >= this.maxAttempts) {
+            return this.executor.newFailedFuture(new Throwable("Maximum reconnection attempts reached"));
+        }
+
+        if (this.attempts != 0) {
+            this.envelope *= this.sleepFactor;
+        } else {
+            this.envelope = (double) this.minSleep * DECORRELATION_FACTOR;
+            this.lastSleep = this.minSleep;
+        }
+        if (this.maxSleep != null && this.envelope > this.maxSleep) {
+            this.envelope = this.maxSleep;
+        }
+
+        final long upper = (long) Math.min(this.envelope, (double) this.lastSleep * DECORRELATION_FACTOR);
+        this.lastSleep = upper > this.minSleep ? ThreadLocalRandom.current().nextLong(this.minSleep, upper + 1)
+                : this.minSleep;
+        this.attempts++;
+
+        LOG.debug("Connection attempt {} sleeping for {} milliseconds", this.attempts, this.lastSleep);
+
+        // If we are not sleeping at all, return an already-succeeded future
+        if (this.lastSleep == 0) {
+            return this.executor.newSucceededFuture(null);
+        }
+
+        this.scheduled = true;
+        return this.executor.schedule(() -> {
+            synchronized (JitteredReconnectStrategy.this) {
+                Preconditions.checkState(JitteredReconnectStrategy.this.scheduled);
+                JitteredReconnectStrategy.this.scheduled = false;
+            }
+
+            return null;
+        }, this.lastSleep, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void reconnectSuccessful() {
+        Preconditions.checkState(!this.scheduled);
+        this.attempts = 0;
+    }
+
+    @Override
+    public int getConnectTimeout() {
+        return this.connectTime;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+
+/**
+ * Limits the rate of reconnect attempts across all clients of a dispatcher. Each attempt reserves the earliest free
+ * slot, slots being spaced evenly, so that a burst of attempts is spread over time rather than rejected.
+ */
+final class ReconnectBudget {
+    private final Ticker ticker;
+    private final long intervalNanos;
+
+    @GuardedBy("this")
+    private long nextFreeNanos;
+
+    ReconnectBudget(final double attemptsPerSecond) {
+        this(attemptsPerSecond, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    ReconnectBudget(final double attemptsPerSecond, final Ticker ticker) {
+        Preconditions.checkArgument(attemptsPerSecond > 0);
+        this.ticker = Preconditions.checkNotNull(ticker);
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / attemptsPerSecond);
+        this.nextFreeNanos = ticker.read();
+    }
+
+    /**
+     * Reserve a slot for a reconnect attempt.
+     *
+     * @return Time in nanoseconds the attempt has to be delayed by, zero if it can be made immediately
+     */
+    synchronized long reserve() {
+        final long now = ticker.read();
+        final long slot = nextFreeNanos - now > 0 ? nextFreeNanos : now;
+        nextFreeNanos = slot + intervalNanos;
+        return slot - now;
+    }
+}
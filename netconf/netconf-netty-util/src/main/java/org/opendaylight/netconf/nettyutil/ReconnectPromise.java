@@ -15,6 +15,7 @@ import io.netty.util.concurrent.DefaultPromise;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.slf4j.Logger;
@@ -67,6 +68,28 @@ final class ReconnectPromise<S extends NetconfSession, L extends NetconfSessionL
         });
     }
 
+    /**
+     * Reconnect after an established session was dropped, delaying the attempt if it does not fit into the reconnect
+     * budget of the dispatcher.
+     */
+    synchronized void reconnect() {
+        final long delayNanos = this.dispatcher.reserveReconnect();
+        if (delayNanos == 0) {
+            connect();
+            return;
+        }
+
+        LOG.debug("Delaying reconnect to {} by {}ms to stay within reconnect budget", address,
+            TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        pending = executor().schedule(() -> {
+            synchronized (ReconnectPromise.this) {
+                if (!isCancelled()) {
+                    connect();
+                }
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Indicate if the initial connection succeeded.
      *
@@ -112,7 +135,7 @@ final class ReconnectPromise<S extends NetconfSession, L extends NetconfSessionL
             }
 
             LOG.debug("Reconnecting after connection to {} was dropped", promise.address);
-            promise.connect();
+            promise.reconnect();
         }
     }
 }
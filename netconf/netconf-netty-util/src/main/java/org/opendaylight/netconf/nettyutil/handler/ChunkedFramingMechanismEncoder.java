@@ -10,16 +10,31 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.nio.charset.StandardCharsets;
 
+/**
+ * Encoder of chunked framing, as defined in RFC6242. Messages smaller than a single chunk are copied into a buffer
+ * together with the framing. Larger messages are not copied, instead they are sent as a {@link CompositeByteBuf}
+ * interleaving chunk headers with slices of the message.
+ */
 public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf> {
     public static final int DEFAULT_CHUNK_SIZE = 8192;
     public static final int MIN_CHUNK_SIZE = 128;
     public static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
 
+    // Header of full chunks of the default size, shared by all encoders using it
+    private static final byte[] DEFAULT_CHUNK_HEADER = chunkHeader(DEFAULT_CHUNK_SIZE);
+    // End-of-chunks marker appended to composite messages, shared by all encoders
+    private static final ByteBuf END_OF_CHUNK = Unpooled.unreleasableBuffer(
+        Unpooled.wrappedBuffer(MessageParts.END_OF_CHUNK).asReadOnly());
+
     private final int chunkSize;
+    private final byte[] chunkHeader;
 
     public ChunkedFramingMechanismEncoder() {
         this(DEFAULT_CHUNK_SIZE);
@@ -29,24 +44,101 @@ public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf
         Preconditions.checkArgument(chunkSize >= MIN_CHUNK_SIZE && chunkSize <= MAX_CHUNK_SIZE,
                 "Unsupported chunk size %s", chunkSize);
         this.chunkSize = chunkSize;
+        this.chunkHeader = chunkSize == DEFAULT_CHUNK_SIZE ? DEFAULT_CHUNK_HEADER : chunkHeader(chunkSize);
     }
 
     public final int getChunkSize() {
         return chunkSize;
     }
 
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof ByteBuf && ((ByteBuf) msg).readableBytes() > chunkSize) {
+            writeComposite(ctx, (ByteBuf) msg, promise);
+        } else {
+            super.write(ctx, msg, promise);
+        }
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final ByteBuf msg, final boolean preferDirect) {
+        // Size the buffer exactly, so it does not need to be expanded while encoding
+        final int size = encodedSize(msg.readableBytes());
+        return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out)  {
         do {
             final int xfer = Math.min(chunkSize, msg.readableBytes());
+            writeChunkHeader(out, xfer);
+            out.writeBytes(msg, xfer);
+        } while (msg.isReadable());
+
+        out.writeBytes(MessageParts.END_OF_CHUNK);
+    }
+
+    private void writeComposite(final ChannelHandlerContext ctx, final ByteBuf msg, final ChannelPromise promise) {
+        final int length = msg.readableBytes();
+        final int chunks = (length + chunkSize - 1) / chunkSize;
+        final CompositeByteBuf out = ctx.alloc().compositeDirectBuffer(2 * chunks + 1);
+        // All chunk headers of the message are written into a single buffer and sliced from there
+        final ByteBuf headers = ctx.alloc().ioBuffer(encodedSize(length) - length - MessageParts.END_OF_CHUNK.length);
+        try {
+            do {
+                final int xfer = Math.min(chunkSize, msg.readableBytes());
+                writeChunkHeader(headers, xfer);
+                out.addComponent(true, headers.readRetainedSlice(headers.readableBytes()));
+                out.addComponent(true, msg.readRetainedSlice(xfer));
+            } while (msg.isReadable());
+
+            out.addComponent(true, END_OF_CHUNK.duplicate());
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            headers.release();
+            msg.release();
+        }
 
+        ctx.write(out, promise);
+    }
+
+    private void writeChunkHeader(final ByteBuf out, final int xfer) {
+        if (xfer == chunkSize) {
+            out.writeBytes(chunkHeader);
+        } else {
             out.writeBytes(MessageParts.START_OF_CHUNK);
-            out.writeBytes(String.valueOf(xfer).getBytes(StandardCharsets.US_ASCII));
+            out.writeCharSequence(Integer.toString(xfer), StandardCharsets.US_ASCII);
             out.writeByte('\n');
+        }
+    }
 
-            out.writeBytes(msg, xfer);
-        } while (msg.isReadable());
+    private int chunkHeaderSize(final int xfer) {
+        return xfer == chunkSize ? chunkHeader.length
+            : MessageParts.START_OF_CHUNK.length + Integer.toString(xfer).length() + 1;
+    }
 
-        out.writeBytes(MessageParts.END_OF_CHUNK);
+    private int encodedSize(final int length) {
+        final int fullChunks = length / chunkSize;
+        final int lastChunk = length % chunkSize;
+        int size = length + fullChunks * chunkHeader.length + MessageParts.END_OF_CHUNK.length;
+        if (lastChunk != 0) {
+            size += chunkHeaderSize(lastChunk);
+        } else if (fullChunks == 0) {
+            // Empty messages are still sent as a single empty chunk
+            size += chunkHeaderSize(0);
+        }
+        return size;
+    }
+
+    private static byte[] chunkHeader(final int size) {
+        final byte[] digits = Integer.toString(size).getBytes(StandardCharsets.US_ASCII);
+        final byte[] header = new byte[MessageParts.START_OF_CHUNK.length + digits.length + 1];
+        System.arraycopy(MessageParts.START_OF_CHUNK, 0, header, 0, MessageParts.START_OF_CHUNK.length);
+        System.arraycopy(digits, 0, header, MessageParts.START_OF_CHUNK.length, digits.length);
+        header[header.length - 1] = '\n';
+        return header;
     }
 }
@@ -13,6 +13,13 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 public class EOMFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf> {
+    @Override
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final ByteBuf msg, final boolean preferDirect) {
+        // Size the buffer exactly, so it does not need to be expanded while encoding
+        final int size = msg.readableBytes() + MessageParts.END_OF_MESSAGE.length;
+        return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) {
         out.writeBytes(msg);
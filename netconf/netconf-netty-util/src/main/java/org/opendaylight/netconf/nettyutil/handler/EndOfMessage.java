@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+/**
+ * Marker emitted by framing decoders running in streaming mode. Such decoders pass message payload downstream as a
+ * sequence of {@link io.netty.buffer.ByteBuf}s as soon as the bytes arrive and terminate each message with this
+ * marker, so that downstream handlers know all parts of the message have been seen.
+ */
+public final class EndOfMessage {
+    public static final EndOfMessage INSTANCE = new EndOfMessage();
+
+    private EndOfMessage() {
+        // Hidden on purpose
+    }
+
+    @Override
+    public String toString() {
+        return "EndOfMessage";
+    }
+}
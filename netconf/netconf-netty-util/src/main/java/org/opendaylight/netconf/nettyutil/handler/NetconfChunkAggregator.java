@@ -9,14 +9,24 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Decoder of chunked framing, as defined in RFC6242. By default it aggregates all chunks of a message into a single
+ * {@link ByteBuf}, which is passed downstream once the end-of-chunks marker is seen.
+ *
+ * <p>
+ * When instantiated via {@link #streaming()}, chunk payload is passed downstream as it arrives, in the form of
+ * {@link ByteBuf} slices, and each message is terminated by {@link EndOfMessage#INSTANCE}. This bounds the amount of
+ * memory held by this decoder to the size of a single network read, but requires the downstream decoder to be able to
+ * process partial messages.
+ */
 public class NetconfChunkAggregator extends ByteToMessageDecoder {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfChunkAggregator.class);
     private static final String GOT_PARAM_WHILE_WAITING_FOR_PARAM = "Got byte {} while waiting for {}";
@@ -38,10 +48,33 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
     }
 
     private final int maxChunkSize = DEFAULT_MAXIMUM_CHUNK_SIZE;
+    private final boolean streaming;
     private State state = State.HEADER_ONE;
     private long chunkSize;
     private CompositeByteBuf chunk;
 
+    public NetconfChunkAggregator() {
+        this(false);
+    }
+
+    private NetconfChunkAggregator(final boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Create a new aggregator, which passes chunk payload downstream as soon as it is received, terminating each
+     * message with {@link EndOfMessage#INSTANCE}.
+     *
+     * @return A streaming aggregator
+     */
+    public static NetconfChunkAggregator streaming() {
+        return new NetconfChunkAggregator(true);
+    }
+
+    public final boolean isStreaming() {
+        return streaming;
+    }
+
     private static void checkNewLine(final byte byteToCheck, final String errorMessage) {
         if (byteToCheck != '\n') {
             LOG.debug(GOT_PARAM_WHILE_WAITING_FOR_PARAM, byteToCheck, (byte)'\n');
@@ -72,7 +105,9 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     final byte b = in.readByte();
                     checkNewLine(b, "Malformed chunk header encountered (byte 0)");
                     state = State.HEADER_TWO;
-                    initChunk();
+                    if (!streaming) {
+                        initChunk(in.alloc());
+                    }
                     break;
                 }
                 case HEADER_TWO: {
@@ -103,18 +138,23 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     break;
                 }
                 case DATA:
-                    /*
-                     * FIXME: this gathers all data into one big chunk before passing
-                     *        it on. Make sure the pipeline can work with partial data
-                     *        and then change this piece to pass the data on as it
-                     *        comes through.
-                     */
+                    if (streaming) {
+                        // Pass on whatever we have, even if it is only a part of the chunk
+                        final int xfer = (int) Math.min(chunkSize, in.readableBytes());
+                        out.add(in.readRetainedSlice(xfer));
+                        chunkSize -= xfer;
+                        if (chunkSize == 0) {
+                            state = State.FOOTER_ONE;
+                        }
+                        break;
+                    }
                     if (in.readableBytes() < chunkSize) {
                         LOG.debug("Buffer has {} bytes, need {} to complete chunk", in.readableBytes(), chunkSize);
-                        in.discardReadBytes();
                         return;
                     }
-                    aggregateChunks(in.readBytes((int) chunkSize));
+                    // Payload is sliced rather than copied, hence the input must not be compacted here.
+                    // ByteToMessageDecoder takes care of discarding it once the slices are released.
+                    aggregateChunks(in.readRetainedSlice((int) chunkSize));
                     state = State.FOOTER_ONE;
                     break;
                 case FOOTER_ONE: {
@@ -141,16 +181,18 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     final byte b = in.readByte();
                     checkNewLine(b,"Malformed chunk footer encountered (byte 3)");
                     state = State.HEADER_ONE;
-                    out.add(chunk);
-                    chunk = null;
+                    if (streaming) {
+                        out.add(EndOfMessage.INSTANCE);
+                    } else {
+                        out.add(chunk);
+                        chunk = null;
+                    }
                     break;
                 }
                 default:
                     LOG.info("Unknown state.");
             }
         }
-
-        in.discardReadBytes();
     }
 
     private void extractNewChunkOrMessageEnd(final byte byteToCheck) {
@@ -167,8 +209,18 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
         }
     }
 
-    private void initChunk() {
-        chunk = Unpooled.compositeBuffer();
+    private void initChunk(final ByteBufAllocator alloc) {
+        // Input comes from the channel's allocator. Do not limit the number of components, so that chunks are not
+        // consolidated (copied) as they arrive.
+        chunk = alloc.compositeBuffer(Integer.MAX_VALUE);
+    }
+
+    @Override
+    protected void handlerRemoved0(final ChannelHandlerContext ctx) {
+        if (chunk != null) {
+            chunk.release();
+            chunk = null;
+        }
     }
 
     private void aggregateChunks(final ByteBuf newChunk) {
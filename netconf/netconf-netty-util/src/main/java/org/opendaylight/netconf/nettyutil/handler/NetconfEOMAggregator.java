@@ -8,15 +8,120 @@
 
 package org.opendaylight.netconf.nettyutil.handler;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
-import io.netty.handler.codec.DelimiterBasedFrameDecoder;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class NetconfEOMAggregator extends DelimiterBasedFrameDecoder {
+/**
+ * Decoder of end-of-message framing, as defined in RFC6242. Unlike a {@code DelimiterBasedFrameDecoder}, this decoder
+ * remembers how far it has searched for the delimiter, so that each byte of a message is scanned only once, regardless
+ * of how many reads it takes to receive it.
+ */
+public class NetconfEOMAggregator extends ByteToMessageDecoder {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfEOMAggregator.class);
+    private static final int DELIMITER_LENGTH = MessageParts.END_OF_MESSAGE.length;
+    private static final byte DELIMITER_FIRST = MessageParts.END_OF_MESSAGE[0];
 
     public static final ByteBuf DELIMITER = Unpooled.wrappedBuffer(MessageParts.END_OF_MESSAGE);
+    public static final int DEFAULT_MAXIMUM_MESSAGE_SIZE = Integer.MAX_VALUE;
+
+    private final int maxMessageSize;
+    // Number of bytes after the reader index, which are known not to start the delimiter
+    private int scanned;
+    private boolean discarding;
 
     public NetconfEOMAggregator() {
-        super(Integer.MAX_VALUE, DELIMITER);
+        this(DEFAULT_MAXIMUM_MESSAGE_SIZE);
+    }
+
+    /**
+     * Create a new aggregator, which fails messages exceeding specified size. Content of such messages is discarded
+     * up to the next delimiter.
+     *
+     * @param maxMessageSize Maximum size of a message, in bytes
+     */
+    public NetconfEOMAggregator(final int maxMessageSize) {
+        checkArgument(maxMessageSize > 0, "Invalid maximum message size %s", maxMessageSize);
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    public final int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out)
+            throws TooLongFrameException {
+        final int delimiter = findDelimiter(in);
+        if (delimiter == -1) {
+            if (discarding) {
+                in.skipBytes(scanned);
+                scanned = 0;
+            } else if (scanned > maxMessageSize) {
+                LOG.debug("Message exceeds {} bytes, discarding it", maxMessageSize);
+                discarding = true;
+                in.skipBytes(scanned);
+                scanned = 0;
+                throw new TooLongFrameException("Maximum message size " + maxMessageSize + " exceeded");
+            }
+            return;
+        }
+
+        final int length = delimiter - in.readerIndex();
+        scanned = 0;
+        if (discarding) {
+            discarding = false;
+            in.skipBytes(length + DELIMITER_LENGTH);
+            return;
+        }
+        if (length > maxMessageSize) {
+            in.skipBytes(length + DELIMITER_LENGTH);
+            throw new TooLongFrameException("Maximum message size " + maxMessageSize + " exceeded by " + length);
+        }
+
+        out.add(in.readRetainedSlice(length));
+        in.skipBytes(DELIMITER_LENGTH);
+    }
+
+    /**
+     * Search for the delimiter, starting where the previous search has ended.
+     *
+     * @return Index of the delimiter, or -1 if it has not been found
+     */
+    private int findDelimiter(final ByteBuf in) {
+        final int end = in.writerIndex();
+        int candidate = in.readerIndex() + scanned;
+        while (true) {
+            candidate = in.indexOf(candidate, end, DELIMITER_FIRST);
+            if (candidate == -1) {
+                scanned = in.readableBytes();
+                return -1;
+            }
+            if (end - candidate < DELIMITER_LENGTH) {
+                // Delimiter may be completed by subsequent reads, resume the search at the candidate
+                scanned = candidate - in.readerIndex();
+                return -1;
+            }
+            if (isDelimiter(in, candidate)) {
+                return candidate;
+            }
+            candidate++;
+        }
+    }
+
+    private static boolean isDelimiter(final ByteBuf in, final int index) {
+        for (int i = 1; i < DELIMITER_LENGTH; ++i) {
+            if (in.getByte(index + i) != MessageParts.END_OF_MESSAGE[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 }
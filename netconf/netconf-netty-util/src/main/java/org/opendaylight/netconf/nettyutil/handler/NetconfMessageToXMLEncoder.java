@@ -16,17 +16,28 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.StreamableNetconfMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Comment;
 
 public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageToXMLEncoder.class);
+    private static final XMLOutputFactory XML_FACTORY;
+
+    static {
+        XML_FACTORY = XMLOutputFactory.newFactory();
+        XML_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, false);
+    }
 
     private final Optional<String> clientId;
 
@@ -41,9 +52,14 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
     @Override
     @VisibleForTesting
     public void encode(final ChannelHandlerContext ctx, final NetconfMessage msg, final ByteBuf out)
-            throws IOException, TransformerException {
+            throws IOException, TransformerException, XMLStreamException {
         LOG.trace("Sent to encode : {}", msg);
 
+        if (msg instanceof StreamableNetconfMessage) {
+            encodeStreamable((StreamableNetconfMessage) msg, out);
+            return;
+        }
+
         if (clientId.isPresent()) {
             Comment comment = msg.getDocument().createComment("clientId:" + clientId.get());
             msg.getDocument().appendChild(comment);
@@ -60,4 +76,23 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
             ThreadLocalTransformers.getPrettyTransformer().transform(source, result);
         }
     }
+
+    /**
+     * Serialize a {@link StreamableNetconfMessage} straight into the output buffer, without building a DOM document
+     * and without pretty-printing it.
+     */
+    private void encodeStreamable(final StreamableNetconfMessage msg, final ByteBuf out)
+            throws IOException, XMLStreamException {
+        try (Writer sink = new BufferedWriter(new OutputStreamWriter(new ByteBufOutputStream(out),
+                StandardCharsets.UTF_8))) {
+            final XMLStreamWriter writer = XML_FACTORY.createXMLStreamWriter(sink);
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            msg.writeTo(writer);
+            if (clientId.isPresent()) {
+                writer.writeComment("clientId:" + clientId.get());
+            }
+            writer.writeEndDocument();
+            writer.close();
+        }
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
+import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decoder producing {@link LazyNetconfMessage}s from message parts emitted by a streaming framing decoder, such as
+ * {@link NetconfChunkAggregator#streaming()}. Each part is copied into its own array as it arrives and is released
+ * immediately. The arrays are not concatenated, the message is parsed from them in sequence, so that each byte is
+ * copied only once and no DOM is built on the event loop. Only the envelope of each message is extracted here and
+ * the rest is checked to be well-formed, the body is left for the consumer to process, either as a stream or as a DOM
+ * built on demand. Malformed messages are reported as {@link FailedNetconfMessage}s.
+ */
+public final class NetconfXMLToLazyMessageDecoder extends MessageToMessageDecoder<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfXMLToLazyMessageDecoder.class);
+
+    private List<byte[]> message;
+    private int strippedBytes;
+
+    @Override
+    public boolean acceptInboundMessage(final Object msg) {
+        return msg instanceof ByteBuf || msg instanceof EndOfMessage;
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final Object msg, final List<Object> out) {
+        if (msg instanceof ByteBuf) {
+            appendPart((ByteBuf) msg);
+        } else {
+            finishMessage(out);
+        }
+    }
+
+    private void appendPart(final ByteBuf part) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Received to decode: {}", ByteBufUtil.hexDump(part));
+        }
+
+        if (message == null) {
+            // Skip leading whitespace, see NetconfXMLToMessageDecoder for reasoning
+            while (part.isReadable() && isWhitespace(part.getByte(part.readerIndex()))) {
+                part.skipBytes(1);
+                strippedBytes++;
+            }
+            if (!part.isReadable()) {
+                return;
+            }
+            message = new ArrayList<>();
+        }
+
+        if (part.isReadable()) {
+            final byte[] bytes = new byte[part.readableBytes()];
+            part.readBytes(bytes);
+            message.add(bytes);
+        }
+    }
+
+    private void finishMessage(final List<Object> out) {
+        if (strippedBytes != 0) {
+            LOG.warn("XML message with unwanted leading bytes detected. Discarded the {} leading byte(s)",
+                strippedBytes);
+            strippedBytes = 0;
+        }
+        if (message == null) {
+            LOG.debug("No more content in incoming buffer.");
+            return;
+        }
+
+        final List<byte[]> parts = message;
+        message = null;
+
+        NetconfMessage msg;
+        try {
+            msg = LazyNetconfMessage.of(parts);
+        } catch (XMLStreamException e) {
+            LOG.error("Failed to parse received message", e);
+            msg = new FailedNetconfMessage(e);
+        }
+        out.add(msg);
+    }
+
+    private static boolean isWhitespace(final byte byteToCheck) {
+        return byteToCheck <= 0x0d && byteToCheck >= 0x09 || byteToCheck == 0x20;
+    }
+}
@@ -12,10 +12,12 @@ import com.google.common.base.Preconditions;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import java.io.IOException;
 import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.channel.ClientChannel;
@@ -53,6 +55,7 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
 
     private final AuthenticationHandler authenticationHandler;
     private final SshClient sshClient;
+    private final long maxPendingWriteBytes;
     private final AtomicBoolean isDisconnected = new AtomicBoolean();
     private Future<?> negotiationFuture;
 
@@ -70,6 +73,12 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         this.negotiationFuture = negotiationFuture;
     }
 
+    public AsyncSshHandler(final AuthenticationHandler authenticationHandler, final SshClient sshClient,
+            final Future<?> negotiationFuture, final long maxPendingWriteBytes) {
+        this(authenticationHandler, sshClient, maxPendingWriteBytes);
+        this.negotiationFuture = negotiationFuture;
+    }
+
     /**
      * Constructor of {@code AsyncSshHandler}.
      *
@@ -78,8 +87,23 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
      */
     public AsyncSshHandler(final AuthenticationHandler authenticationHandler,
                            final SshClient sshClient) {
+        this(authenticationHandler, sshClient, AsyncSshHandlerWriter.DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    /**
+     * Constructor of {@code AsyncSshHandler}.
+     *
+     * @param authenticationHandler authentication handler
+     * @param sshClient             started SshClient
+     * @param maxPendingWriteBytes  maximum number of bytes queued while the SSH channel is not accepting writes
+     */
+    public AsyncSshHandler(final AuthenticationHandler authenticationHandler, final SshClient sshClient,
+            final long maxPendingWriteBytes) {
+        Preconditions.checkArgument(maxPendingWriteBytes > 0, "Invalid pending write limit %s",
+            maxPendingWriteBytes);
         this.authenticationHandler = Preconditions.checkNotNull(authenticationHandler);
         this.sshClient = Preconditions.checkNotNull(sshClient);
+        this.maxPendingWriteBytes = maxPendingWriteBytes;
     }
 
     public static AsyncSshHandler createForNetconfSubsystem(final AuthenticationHandler authenticationHandler) {
@@ -99,6 +123,20 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         return new AsyncSshHandler(authenticationHandler, DEFAULT_CLIENT, negotiationFuture);
     }
 
+    /**
+     * Create AsyncSshHandler for netconf subsystem with a specific limit of pending writes. Negotiation future has
+     * to be set to success after successful netconf negotiation.
+     *
+     * @param authenticationHandler authentication handler
+     * @param negotiationFuture     negotiation future
+     * @param maxPendingWriteBytes  maximum number of bytes queued while the SSH channel is not accepting writes
+     * @return                      {@code AsyncSshHandler}
+     */
+    public static AsyncSshHandler createForNetconfSubsystem(final AuthenticationHandler authenticationHandler,
+            final Future<?> negotiationFuture, final long maxPendingWriteBytes) {
+        return new AsyncSshHandler(authenticationHandler, DEFAULT_CLIENT, negotiationFuture, maxPendingWriteBytes);
+    }
+
     private void startSsh(final ChannelHandlerContext ctx, final SocketAddress address) throws IOException {
         LOG.debug("Starting SSH to {} on channel: {}", address, ctx.channel());
 
@@ -166,12 +204,16 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
 
         ClientChannel localChannel = channel;
         sshReadAsyncListener = new AsyncSshHandlerReader(() -> AsyncSshHandler.this.disconnect(ctx, ctx.newPromise()),
-            ctx::fireChannelRead, localChannel.toString(), localChannel.getAsyncOut());
+            ctx::fireChannelRead, localChannel.toString(), localChannel.getAsyncOut(), ctx.alloc());
 
         // if readAsyncListener receives immediate close,
         // it will close this handler and closing this handler sets channel variable to null
         if (channel != null) {
-            sshWriteAsyncHandler = new AsyncSshHandlerWriter(channel.getAsyncIn());
+            // Pending writes flip channel writability according to the channel's configured watermarks, the limit
+            // cannot be lower than the high watermark
+            final WriteBufferWaterMark waterMark = ctx.channel().config().getWriteBufferWaterMark();
+            sshWriteAsyncHandler = new AsyncSshHandlerWriter(channel.getAsyncIn(), waterMark,
+                Math.max(maxPendingWriteBytes, waterMark.high()));
             ctx.fireChannelActive();
         }
     }
@@ -192,6 +234,34 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         sshWriteAsyncHandler.write(ctx, msg, promise);
     }
 
+    /**
+     * Return the number of writes waiting to be sent over the SSH channel.
+     *
+     * @return Number of pending writes, zero if the SSH channel has not been opened yet
+     */
+    public synchronized int getPendingWrites() {
+        return sshWriteAsyncHandler == null ? 0 : sshWriteAsyncHandler.getPendingWrites();
+    }
+
+    /**
+     * Return the number of bytes waiting to be sent over the SSH channel.
+     *
+     * @return Number of pending bytes, zero if the SSH channel has not been opened yet
+     */
+    public synchronized long getPendingBytes() {
+        return sshWriteAsyncHandler == null ? 0 : sshWriteAsyncHandler.getPendingBytes();
+    }
+
+    /**
+     * Return how long the SSH channel has not been able to accept writes without queueing them.
+     *
+     * @param unit Requested time unit
+     * @return Stall duration, zero if there are no pending writes
+     */
+    public synchronized long getStallDuration(final TimeUnit unit) {
+        return sshWriteAsyncHandler == null ? 0 : sshWriteAsyncHandler.getStallDuration(unit);
+    }
+
     @Override
     public synchronized void connect(final ChannelHandlerContext ctx, final SocketAddress remoteAddress,
                                      final SocketAddress localAddress, final ChannelPromise promise) throws Exception {
@@ -9,7 +9,7 @@
 package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import org.apache.sshd.common.future.SshFutureListener;
 import org.apache.sshd.common.io.IoInputStream;
 import org.apache.sshd.common.io.IoReadFuture;
@@ -21,28 +21,43 @@ import org.slf4j.LoggerFactory;
 /**
  * Listener on async input stream from SSH session.
  * This listeners schedules reads in a loop until the session is closed or read fails.
+ *
+ * <p>
+ * A single read buffer is recycled across reads and its size is adjusted to the observed read sizes. Data read into it
+ * is copied into a pooled {@link ByteBuf}, which is handed over to {@link ReadMsgHandler}.
  */
 public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFuture>, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsyncSshHandlerReader.class);
 
-    private static final int BUFFER_SIZE = 2048;
+    private static final int MIN_BUFFER_SIZE = 512;
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+    private static final int MAX_BUFFER_SIZE = 65536;
 
     private final AutoCloseable connectionClosedCallback;
     private final ReadMsgHandler readHandler;
 
+    private final ByteBufAllocator allocator;
     private final String channelId;
     private IoInputStream asyncOut;
     private Buffer buf;
     private IoReadFuture currentReadFuture;
+    private boolean shrinkPending;
 
     public AsyncSshHandlerReader(final AutoCloseable connectionClosedCallback, final ReadMsgHandler readHandler,
                                  final String channelId, final IoInputStream asyncOut) {
+        this(connectionClosedCallback, readHandler, channelId, asyncOut, ByteBufAllocator.DEFAULT);
+    }
+
+    public AsyncSshHandlerReader(final AutoCloseable connectionClosedCallback, final ReadMsgHandler readHandler,
+                                 final String channelId, final IoInputStream asyncOut,
+                                 final ByteBufAllocator allocator) {
         this.connectionClosedCallback = connectionClosedCallback;
         this.readHandler = readHandler;
         this.channelId = channelId;
         this.asyncOut = asyncOut;
-        buf = new ByteArrayBuffer(BUFFER_SIZE);
+        this.allocator = allocator;
+        buf = new ByteArrayBuffer(INITIAL_BUFFER_SIZE);
         asyncOut.read(buf).addListener(this);
     }
 
@@ -68,21 +83,49 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
             }
             return true;
         } else if (future.getRead() > 0) {
-            final ByteBuf msg = Unpooled.wrappedBuffer(buf.array(), 0, future.getRead());
+            final int read = future.getRead();
+            final ByteBuf msg = allocator.buffer(read).writeBytes(buf.array(), 0, read);
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Reading message on channel: {}, message: {}",
                         channelId, AsyncSshHandlerWriter.byteBufToString(msg));
             }
             readHandler.onMessageRead(msg);
 
-            // Schedule next read
-            buf = new ByteArrayBuffer(BUFFER_SIZE);
+            // Schedule next read, reusing the buffer unless it needs to be resized
+            final int nextSize = nextBufferSize(buf.capacity(), read);
+            if (nextSize != buf.capacity()) {
+                buf = new ByteArrayBuffer(nextSize);
+            } else {
+                buf.rpos(0);
+                buf.wpos(0);
+            }
             currentReadFuture = asyncOut.read(buf);
             currentReadFuture.addListener(this);
         }
         return false;
     }
 
+    /**
+     * Calculate the size of the buffer for next read. The buffer grows when a read fills it completely and shrinks
+     * when two consecutive reads use less than a quarter of it.
+     */
+    private int nextBufferSize(final int current, final int read) {
+        if (read >= current) {
+            shrinkPending = false;
+            return Math.min(current * 2, MAX_BUFFER_SIZE);
+        }
+        if (read < current / 4 && current > MIN_BUFFER_SIZE) {
+            if (shrinkPending) {
+                shrinkPending = false;
+                return Math.max(current / 2, MIN_BUFFER_SIZE);
+            }
+            shrinkPending = true;
+        } else {
+            shrinkPending = false;
+        }
+        return current;
+    }
+
     /**
      * Closing of the {@link AsyncSshHandlerReader}. This method should never be called with any locks held since
      * call to {@link AutoCloseable#close()} can be a source of ABBA deadlock.
@@ -11,12 +11,16 @@ package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.WriteBufferWaterMark;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 import org.apache.sshd.common.io.IoOutputStream;
 import org.apache.sshd.common.io.WritePendingException;
 import org.apache.sshd.common.util.buffer.Buffer;
@@ -28,27 +32,59 @@ import org.slf4j.LoggerFactory;
 /**
  * Async Ssh writer. Takes messages(byte arrays) and sends them encrypted to remote server.
  * Also handles pending writes by caching requests until pending state is over.
+ *
+ * <p>
+ * The amount of pending data is bounded. Once it exceeds the high watermark, the channel is marked as not writable,
+ * so that producers checking {@link io.netty.channel.Channel#isWritable()} can back off. It is marked as writable
+ * again when the pending data drops below the low watermark. Writes which would exceed the hard limit are failed
+ * immediately. Each write carries a complete framed message, hence failing it does not break framing of the stream.
  */
 public final class AsyncSshHandlerWriter implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory
             .getLogger(AsyncSshHandlerWriter.class);
 
-    // public static final int MAX_PENDING_WRITES = 1000;
-    // TODO implement Limiting mechanism for pending writes
-    // But there is a possible issue with limiting:
-    // 1. What to do when queue is full ? Immediate Fail for every request ?
-    // 2. At this level we might be dealing with Chunks of messages(not whole messages)
-    // and unexpected behavior might occur when we send/queue 1 chunk and fail the other chunks
+    private static final int INITIAL_SCRATCH_SIZE = 4096;
+    // Largest scratch array retained once there are no more pending writes
+    private static final int RETAINED_SCRATCH_SIZE = 65536;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    public static final long DEFAULT_MAX_PENDING_BYTES = 64 * 1024 * 1024;
+
+    // Index of user-defined writability bit we control in ChannelOutboundBuffer
+    private static final int WRITABILITY_INDEX = 1;
 
     private final Object asyncInLock = new Object();
     private volatile IoOutputStream asyncIn;
 
+    private final WriteBufferWaterMark waterMark;
+    private final long maxPendingBytes;
+
     // Order has to be preserved for queued writes
-    private final Deque<PendingWriteRequest> pending = new LinkedList<>();
+    @GuardedBy("asyncInLock")
+    private final Deque<PendingWriteRequest> pending = new ArrayDeque<>();
+    @GuardedBy("asyncInLock")
+    private long pendingBytes;
+    @GuardedBy("asyncInLock")
+    private long stallStartNanos;
+    @GuardedBy("asyncInLock")
+    private boolean writable = true;
+
+    // Array used to copy buffers which are not backed by a single array, reused across writes
+    @GuardedBy("asyncInLock")
+    private byte[] scratch = new byte[INITIAL_SCRATCH_SIZE];
 
     public AsyncSshHandlerWriter(final IoOutputStream asyncIn) {
+        this(asyncIn, WriteBufferWaterMark.DEFAULT, DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    public AsyncSshHandlerWriter(final IoOutputStream asyncIn, final WriteBufferWaterMark waterMark,
+            final long maxPendingBytes) {
+        Preconditions.checkArgument(maxPendingBytes >= waterMark.high(),
+            "Pending write limit %s is lower than high watermark %s", maxPendingBytes, waterMark.high());
         this.asyncIn = asyncIn;
+        this.waterMark = waterMark;
+        this.maxPendingBytes = maxPendingBytes;
     }
 
     @GuardedBy("asyncInLock")
@@ -117,7 +153,7 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
                     //rescheduling message from queue after successfully sent
                     if (wasPending) {
                         byteBufMsg.resetReaderIndex();
-                        pending.remove();
+                        dequeueRequest(ctx);
                     }
 
                     // Not needed anymore, release
@@ -141,6 +177,10 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
         synchronized (asyncInLock) {
             if (pending.peek() == null) {
                 isWriteExecuted = false;
+                // No write is executing, do not hold on to a large scratch array while idle
+                if (scratch.length > RETAINED_SCRATCH_SIZE) {
+                    scratch = new byte[INITIAL_SCRATCH_SIZE];
+                }
                 return;
             }
 
@@ -161,19 +201,97 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
         return s;
     }
 
+    @GuardedBy("asyncInLock")
     private void queueRequest(final ChannelHandlerContext ctx, final ByteBuf msg, final ChannelPromise promise) {
-//        try {
         LOG.debug("Write pending on channel: {}, queueing, current queue size: {}", ctx.channel(), pending.size());
         if (LOG.isTraceEnabled()) {
             LOG.trace("Queueing request due to pending: {}", byteBufToString(msg));
         }
-        new PendingWriteRequest(ctx, msg, promise).pend(pending);
-//        } catch (final Exception ex) {
-//            LOG.warn("Unable to queue write request on channel: {}. Setting fail for the request: {}",
-//                    ctx.channel(), ex, byteBufToString(msg));
-//            msg.release();
-//            promise.setFailure(ex);
-//        }
+
+        final PendingWriteRequest request = new PendingWriteRequest(ctx, msg, promise);
+        // Always allow a single request, no matter how large it is, otherwise it could never be sent
+        if (!pending.isEmpty() && pendingBytes + request.size > maxPendingBytes) {
+            LOG.warn("Pending write limit {} exceeded on channel: {}, {} writes ({} bytes) pending for {}ms, failing "
+                + "write of {} bytes", maxPendingBytes, ctx.channel(), pending.size(), pendingBytes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stallStartNanos), request.size);
+            msg.release();
+            promise.setFailure(new IllegalStateException("Limit of pending writes (" + maxPendingBytes
+                + " bytes) exceeded on channel " + ctx.channel()));
+            return;
+        }
+
+        if (pending.isEmpty()) {
+            stallStartNanos = System.nanoTime();
+        }
+        request.pend(pending);
+        pendingBytes += request.size;
+
+        if (writable && pendingBytes > waterMark.high()) {
+            LOG.debug("Channel {} is not writable, {} writes ({} bytes) pending", ctx.channel(), pending.size(),
+                pendingBytes);
+            writable = false;
+            setUserDefinedWritability(ctx, false);
+        }
+    }
+
+    @GuardedBy("asyncInLock")
+    private void dequeueRequest(final ChannelHandlerContext ctx) {
+        pendingBytes -= pending.remove().size;
+
+        if (!writable && pendingBytes < waterMark.low()) {
+            LOG.debug("Channel {} is writable again, {} writes ({} bytes) pending", ctx.channel(), pending.size(),
+                pendingBytes);
+            writable = true;
+            setUserDefinedWritability(ctx, true);
+        }
+        if (pending.isEmpty()) {
+            LOG.debug("Pending writes on channel {} flushed after {}ms", ctx.channel(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stallStartNanos));
+            stallStartNanos = 0;
+        }
+    }
+
+    private static void setUserDefinedWritability(final ChannelHandlerContext ctx, final boolean newWritable) {
+        // Outbound buffer is not present once the channel has been closed
+        final ChannelOutboundBuffer buffer = ctx.channel().unsafe().outboundBuffer();
+        if (buffer != null) {
+            buffer.setUserDefinedWritability(WRITABILITY_INDEX, newWritable);
+        }
+    }
+
+    /**
+     * Return the number of writes waiting to be sent, including the one being currently sent if it was queued.
+     *
+     * @return Number of pending writes
+     */
+    public int getPendingWrites() {
+        synchronized (asyncInLock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Return the number of bytes waiting to be sent.
+     *
+     * @return Number of pending bytes
+     */
+    public long getPendingBytes() {
+        synchronized (asyncInLock) {
+            return pendingBytes;
+        }
+    }
+
+    /**
+     * Return how long the writes have been pending, i.e. for how long the SSH channel has not been able to accept
+     * writes without queueing them.
+     *
+     * @param unit Requested time unit
+     * @return Stall duration, zero if there are no pending writes
+     */
+    public long getStallDuration(final TimeUnit unit) {
+        synchronized (asyncInLock) {
+            return pending.isEmpty() ? 0 : unit.convert(System.nanoTime() - stallStartNanos, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
@@ -181,18 +299,41 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
         asyncIn = null;
     }
 
-    private static Buffer toBuffer(final ByteBuf msg) {
-        // TODO Buffer vs ByteBuf translate, Can we handle that better ?
+    @GuardedBy("asyncInLock")
+    private Buffer toBuffer(final ByteBuf msg) {
         msg.resetReaderIndex();
-        final byte[] temp = new byte[msg.readableBytes()];
-        msg.readBytes(temp, 0, msg.readableBytes());
-        return new ByteArrayBuffer(temp);
+        final int length = msg.readableBytes();
+        if (msg.hasArray()) {
+            // Heap buffers are wrapped without copying. The message is released only after the write completes.
+            return new ByteArrayBuffer(msg.array(), msg.arrayOffset() + msg.readerIndex(), length);
+        }
+        final ByteBuffer[] nios = msg.nioBuffers(msg.readerIndex(), length);
+        if (nios.length == 1 && nios[0].hasArray()) {
+            // Composite buffers whose content lies within a single heap component can be wrapped as well
+            final ByteBuffer nio = nios[0];
+            return new ByteArrayBuffer(nio.array(), nio.arrayOffset() + nio.position(), length);
+        }
+
+        // Other buffers need to be copied, as MINA buffers are backed by arrays. Composite buffers are copied component
+        // by component. At most one write is executing at any given time, hence we can recycle the array used for
+        // the copy. It is trimmed once all pending writes have been flushed.
+        if (scratch.length < length) {
+            scratch = new byte[(int) Math.min(Math.max(length, 2L * scratch.length), MAX_ARRAY_SIZE)];
+        }
+        int offset = 0;
+        for (ByteBuffer nio : nios) {
+            final int remaining = nio.remaining();
+            nio.get(scratch, offset, remaining);
+            offset += remaining;
+        }
+        return new ByteArrayBuffer(scratch, 0, length);
     }
 
     private static final class PendingWriteRequest {
         private final ChannelHandlerContext ctx;
         private final ByteBuf msg;
         private final ChannelPromise promise;
+        private final int size;
 
         PendingWriteRequest(final ChannelHandlerContext ctx, final ByteBuf msg, final ChannelPromise promise) {
             this.ctx = ctx;
@@ -200,12 +341,10 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
             msg.resetReaderIndex();
             this.msg = msg;
             this.promise = promise;
+            this.size = msg.readableBytes();
         }
 
         public void pend(final Queue<PendingWriteRequest> pending) {
-            // Preconditions.checkState(pending.size() < MAX_PENDING_WRITES,
-            // "Too much pending writes(%s) on channel: %s, remote window is not getting read or is too small",
-            // pending.size(), ctx.channel());
             Preconditions.checkState(pending.offer(this),
                 "Cannot pend another request write (pending count: %s) on channel: %s", pending.size(), ctx.channel());
         }
@@ -8,12 +8,16 @@
 package org.opendaylight.netconf.nettyutil;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,16 +27,22 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.util.concurrent.GenericFutureListener;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -72,6 +82,8 @@ public class AbstractNetconfSessionTest {
         doReturn(writeFuture).when(channel).writeAndFlush(any(NetconfMessage.class));
         doReturn(writeFuture).when(channel).writeAndFlush(any(NetconfMessage.class), any(ChannelPromise.class));
         doReturn(pipeline).when(channel).pipeline();
+        doReturn(true).when(channel).isActive();
+        doReturn(true).when(channel).isWritable();
         doReturn("mockChannel").when(channel).toString();
         doReturn(mock(ChannelFuture.class)).when(channel).close();
 
@@ -158,4 +170,88 @@ public class AbstractNetconfSessionTest {
         verify(channel).writeAndFlush(hello, writeFuture);
     }
 
+    @Test
+    public void testSendMessages() throws Exception {
+        final TestingNetconfSession testingNetconfSession = new TestingNetconfSession(listener, channel, 1L);
+        final NetconfHelloMessage hello = NetconfHelloMessage.createClientHello(Collections.emptySet(),
+            Optional.empty());
+        assertEquals(2, testingNetconfSession.sendMessages(Arrays.asList(clientHello, hello)).size());
+
+        final InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).write(clientHello, writeFuture);
+        inOrder.verify(channel).write(hello, writeFuture);
+        inOrder.verify(channel).flush();
+        verify(channel, never()).writeAndFlush(any(), any());
+    }
+
+    @Test
+    public void testSendMessageCoalesced() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(eventLoop).execute(any(Runnable.class));
+
+        final TestingNetconfSession testingNetconfSession = new TestingNetconfSession(listener, channel, 1L);
+        final NetconfHelloMessage hello = NetconfHelloMessage.createClientHello(Collections.emptySet(),
+            Optional.empty());
+        testingNetconfSession.sendMessage(clientHello);
+        testingNetconfSession.sendMessage(hello);
+        testingNetconfSession.sendMessage(clientHello);
+
+        // All messages are drained by a single task
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        final InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).write(clientHello, writeFuture);
+        inOrder.verify(channel).write(hello, writeFuture);
+        inOrder.verify(channel).write(clientHello, writeFuture);
+        inOrder.verify(channel).flush();
+        verify(channel, never()).writeAndFlush(any(), any());
+
+        assertEquals(1, testingNetconfSession.getFlushCount());
+        assertEquals(3, testingNetconfSession.getFlushedMessageCount());
+        assertEquals(3, testingNetconfSession.getMaxMessagesPerFlush());
+
+        // Subsequent message schedules a new drain
+        testingNetconfSession.sendMessage(hello);
+        assertEquals(2, tasks.size());
+        tasks.get(1).run();
+        verify(channel).writeAndFlush(hello, writeFuture);
+        assertEquals(2, testingNetconfSession.getFlushCount());
+        assertEquals(4, testingNetconfSession.getFlushedMessageCount());
+    }
+
+    @Test
+    public void testSendMessageNotWritable() throws Exception {
+        final ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+        doReturn(channel).when(ctx).channel();
+        doReturn(false).when(channel).isWritable();
+
+        final TestingNetconfSession testingNetconfSession = new TestingNetconfSession(listener, channel, 1L);
+        testingNetconfSession.sendMessage(clientHello);
+        assertFalse(testingNetconfSession.isWritable());
+        verify(channel, never()).writeAndFlush(any(), any());
+        verify(channel, never()).write(any(), any());
+
+        // Message held back is written once the channel becomes writable
+        doReturn(true).when(channel).isWritable();
+        testingNetconfSession.channelWritabilityChanged(ctx);
+        verify(channel).writeAndFlush(clientHello, writeFuture);
+        verify(ctx).fireChannelWritabilityChanged();
+    }
+
+    @Test
+    public void testSendMessageRejected() throws Exception {
+        final RejectedExecutionException cause = new RejectedExecutionException("event loop shut down");
+        doThrow(cause).when(eventLoop).execute(any(Runnable.class));
+
+        final TestingNetconfSession testingNetconfSession = new TestingNetconfSession(listener, channel, 1L);
+        testingNetconfSession.sendMessage(clientHello);
+        verify(writeFuture).setFailure(cause);
+
+        // A subsequent message attempts to schedule a drain again
+        testingNetconfSession.sendMessage(clientHello);
+        verify(eventLoop, times(2)).execute(any(Runnable.class));
+        verify(writeFuture, times(2)).setFailure(cause);
+        verify(channel, never()).writeAndFlush(any(), any());
+    }
 }
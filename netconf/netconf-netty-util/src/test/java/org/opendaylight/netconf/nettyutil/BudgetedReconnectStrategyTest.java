@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BudgetedReconnectStrategyTest {
+    private final TestTicker ticker = new TestTicker();
+    private final ReconnectStrategy delegate = mock(ReconnectStrategy.class);
+
+    private EmbeddedChannel channel;
+    private EventLoop executor;
+
+    @Before
+    public void setUp() {
+        // Scheduled tasks of an embedded channel run only when we ask for them to be run
+        channel = new EmbeddedChannel();
+        executor = channel.eventLoop();
+        doReturn(executor.newSucceededFuture(null)).when(delegate).scheduleReconnect(any());
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testWithinBudget() {
+        final BudgetedReconnectStrategy strategy = new BudgetedReconnectStrategy(executor, delegate,
+            new ReconnectBudget(1, ticker));
+        assertTrue(strategy.scheduleReconnect(new Exception("test")).isSuccess());
+    }
+
+    @Test
+    public void testDelayed() throws Exception {
+        // Each attempt is delayed by one millisecond after the first one
+        final BudgetedReconnectStrategy strategy = new BudgetedReconnectStrategy(executor, delegate,
+            new ReconnectBudget(1000, ticker));
+        assertTrue(strategy.scheduleReconnect(new Exception("test")).isSuccess());
+
+        final Future<Void> delayed = strategy.scheduleReconnect(new Exception("test"));
+        assertFalse(delayed.isDone());
+
+        // The embedded event loop runs tasks against the real clock
+        Thread.sleep(10);
+        assertEquals(-1, channel.runScheduledPendingTasks());
+        assertTrue(delayed.isSuccess());
+    }
+
+    @Test
+    public void testDelegateFailure() {
+        final Exception cause = new Exception("exhausted");
+        doReturn(executor.newFailedFuture(cause)).when(delegate).scheduleReconnect(any());
+        final ReconnectBudget budget = new ReconnectBudget(1, ticker);
+        final BudgetedReconnectStrategy strategy = new BudgetedReconnectStrategy(executor, delegate, budget);
+
+        final Future<Void> future = strategy.scheduleReconnect(new Exception("test"));
+        assertFalse(future.isSuccess());
+        assertSame(cause, future.cause());
+
+        // Failed attempts do not consume the budget
+        assertEquals(0, budget.reserve());
+    }
+
+    @Test
+    public void testCancelDelayed() {
+        final BudgetedReconnectStrategy strategy = new BudgetedReconnectStrategy(executor, delegate,
+            new ReconnectBudget(1, ticker));
+        assertTrue(strategy.scheduleReconnect(new Exception("test")).isSuccess());
+
+        final Future<Void> delayed = strategy.scheduleReconnect(new Exception("test"));
+        assertTrue(channel.runScheduledPendingTasks() > TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Cancelling the attempt cancels the wait for the budget
+        assertTrue(delayed.cancel(false));
+        assertEquals(-1, channel.runScheduledPendingTasks());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class JitteredReconnectStrategyTest {
+    @Test
+    public void testSleepBounds() throws Exception {
+        final JitteredReconnectStrategy strategy = new JitteredReconnectStrategy(GlobalEventExecutor.INSTANCE, 1000,
+            10, 2.0, 50L, 5L);
+
+        // Envelope grows 30, 60 capped to 50, then stays at the cap
+        final long[] envelopes = { 30, 50, 50, 50, 50 };
+        for (long envelope : envelopes) {
+            final Future<Void> future = strategy.scheduleReconnect(new Exception("test"));
+            final long delay = ((ScheduledFuture<?>) future).getDelay(TimeUnit.MILLISECONDS);
+            assertTrue("Delay " + delay + " exceeds " + envelope, delay <= envelope);
+            future.get();
+        }
+
+        final Future<Void> exhausted = strategy.scheduleReconnect(new Exception("test"));
+        assertTrue(exhausted.isDone());
+        assertFalse(exhausted.isSuccess());
+
+        strategy.reconnectSuccessful();
+        assertEquals(1000, strategy.getConnectTimeout());
+        strategy.scheduleReconnect(new Exception("test")).get();
+    }
+
+    @Test
+    public void testZeroSleep() {
+        final JitteredReconnectStrategy strategy = new JitteredReconnectStrategy(GlobalEventExecutor.INSTANCE, 1000,
+            0, 1.0, null, null);
+        final Future<Void> future = strategy.scheduleReconnect(new Exception("test"));
+        assertTrue(future.isSuccess());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ReconnectBudgetTest {
+    private final TestTicker ticker = new TestTicker();
+
+    @Test
+    public void testSpacing() {
+        final ReconnectBudget budget = new ReconnectBudget(10, ticker);
+        assertEquals(0, budget.reserve());
+
+        // Subsequent attempts are spaced 100ms apart
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), budget.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), budget.reserve());
+
+        // Time passing shortens the delay of the next free slot
+        ticker.advance(150, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(150), budget.reserve());
+    }
+
+    @Test
+    public void testIdleBudgetDoesNotAccumulate() {
+        final ReconnectBudget budget = new ReconnectBudget(10, ticker);
+        ticker.advance(10, TimeUnit.SECONDS);
+
+        // An idle budget allows a single immediate attempt, not a burst
+        assertEquals(0, budget.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), budget.reserve());
+    }
+}
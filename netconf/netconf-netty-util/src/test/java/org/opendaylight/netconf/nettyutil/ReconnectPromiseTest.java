@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReconnectPromiseTest {
+    private final InetSocketAddress address = InetSocketAddress.createUnresolved("localhost", 830);
+
+    private AbstractNetconfDispatcher<TestingNetconfSession, ?> dispatcher;
+    private EmbeddedChannel channel;
+    private ReconnectPromise<TestingNetconfSession, ?> promise;
+
+    @Before
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void setUp() {
+        // Scheduled tasks of an embedded channel run only when we ask for them to be run
+        channel = new EmbeddedChannel();
+        dispatcher = mock(AbstractNetconfDispatcher.class);
+        doReturn(channel.eventLoop().newPromise()).when(dispatcher).createClient(any(), any(), any(Bootstrap.class),
+            any());
+
+        final ReconnectStrategyFactory strategyFactory = mock(ReconnectStrategyFactory.class);
+        doReturn(mock(ReconnectStrategy.class)).when(strategyFactory).createReconnectStrategy();
+        promise = new ReconnectPromise(channel.eventLoop(), dispatcher, address, strategyFactory, new Bootstrap(),
+            mock(AbstractNetconfDispatcher.PipelineInitializer.class));
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testReconnectWithinBudget() {
+        doReturn(0L).when(dispatcher).reserveReconnect();
+        promise.reconnect();
+        verify(dispatcher).createClient(any(), any(), any(Bootstrap.class), any());
+    }
+
+    @Test
+    public void testReconnectDelayed() throws Exception {
+        doReturn(TimeUnit.MILLISECONDS.toNanos(1)).when(dispatcher).reserveReconnect();
+        promise.reconnect();
+        verify(dispatcher, never()).createClient(any(), any(), any(Bootstrap.class), any());
+
+        // The embedded event loop runs tasks against the real clock
+        Thread.sleep(10);
+        assertEquals(-1, channel.runScheduledPendingTasks());
+        verify(dispatcher).createClient(any(), any(), any(Bootstrap.class), any());
+    }
+
+    @Test
+    public void testCancelDelayedReconnect() {
+        doReturn(TimeUnit.SECONDS.toNanos(1)).when(dispatcher).reserveReconnect();
+        promise.reconnect();
+        assertTrue(channel.runScheduledPendingTasks() > TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Cancelling the promise cancels the delayed attempt
+        assertTrue(promise.cancel(false));
+        assertEquals(-1, channel.runScheduledPendingTasks());
+        verify(dispatcher, never()).createClient(any(), any(), any(Bootstrap.class), any());
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Ticker} which advances only when told to.
+ */
+final class TestTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+        return nanos;
+    }
+
+    void advance(final long duration, final TimeUnit unit) {
+        nanos += unit.toNanos(duration);
+    }
+}
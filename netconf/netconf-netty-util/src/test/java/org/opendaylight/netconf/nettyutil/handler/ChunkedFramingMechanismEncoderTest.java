@@ -9,11 +9,14 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.Before;
@@ -61,6 +64,33 @@ public class ChunkedFramingMechanismEncoderTest {
         assertTrue(string.endsWith("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n"));
     }
 
+    @Test
+    public void testEncodeComposite() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChunkedFramingMechanismEncoder(chunkSize));
+        final ByteBuf src = Unpooled.directBuffer().writeBytes(getByteArray(chunkSize * 4 + 20));
+        assertTrue(channel.writeOutbound(src));
+
+        // Payload is not copied, but sliced into the framed message
+        final ByteBuf destination = channel.readOutbound();
+        assertTrue(destination instanceof CompositeByteBuf);
+        assertEquals(11, ((CompositeByteBuf) destination).numComponents());
+        assertEquals(1077, destination.readableBytes());
+
+        final String string = destination.toString(StandardCharsets.US_ASCII);
+        assertTrue(string.startsWith("\n#256\na"));
+        assertTrue(string.endsWith("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n"));
+
+        destination.release();
+        assertEquals(0, src.refCnt());
+
+        // Shared end-of-chunks marker is not affected by releasing the previous message
+        assertTrue(channel.writeOutbound(Unpooled.directBuffer().writeBytes(getByteArray(chunkSize + 1))));
+        final ByteBuf next = channel.readOutbound();
+        assertTrue(next.toString(StandardCharsets.US_ASCII).endsWith("\n#1\na\n##\n"));
+        next.release();
+        assertFalse(channel.finish());
+    }
+
     private static byte[] getByteArray(final int size) {
         final byte[] bytes = new byte[size];
         for (int i = 0; i < size; i++) {
@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -66,4 +67,40 @@ public class NetconfChunkAggregatorTest {
 
         assertEquals(EXPECTED_MESSAGE, chunk.toString(StandardCharsets.UTF_8));
     }
+
+    @Test
+    public void testStreamingMultipleChunks() throws Exception {
+        final NetconfChunkAggregator streaming = NetconfChunkAggregator.streaming();
+        final List<Object> output = new ArrayList<>();
+        final ByteBuf input = Unpooled.copiedBuffer(CHUNKED_MESSAGE.getBytes(StandardCharsets.UTF_8));
+        streaming.decode(null, input, output);
+
+        assertEquals(4, output.size());
+        assertSame(EndOfMessage.INSTANCE, output.get(3));
+        final StringBuilder sb = new StringBuilder();
+        for (Object part : output.subList(0, 3)) {
+            final ByteBuf buf = (ByteBuf) part;
+            sb.append(buf.toString(StandardCharsets.UTF_8));
+            buf.release();
+        }
+        assertEquals(EXPECTED_MESSAGE, sb.toString());
+    }
+
+    @Test
+    public void testStreamingPartialChunk() throws Exception {
+        final NetconfChunkAggregator streaming = NetconfChunkAggregator.streaming();
+        final byte[] bytes = CHUNKED_MESSAGE_ONE.getBytes(StandardCharsets.UTF_8);
+        final List<Object> output = new ArrayList<>();
+
+        // Header plus first 50 bytes of payload
+        streaming.decode(null, Unpooled.wrappedBuffer(bytes, 0, 56), output);
+        assertEquals(1, output.size());
+        assertEquals(EXPECTED_MESSAGE.substring(0, 50), ((ByteBuf) output.get(0)).toString(StandardCharsets.UTF_8));
+
+        output.clear();
+        streaming.decode(null, Unpooled.wrappedBuffer(bytes, 56, bytes.length - 56), output);
+        assertEquals(2, output.size());
+        assertEquals(EXPECTED_MESSAGE.substring(50), ((ByteBuf) output.get(0)).toString(StandardCharsets.UTF_8));
+        assertSame(EndOfMessage.INSTANCE, output.get(1));
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.TooLongFrameException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class NetconfEOMAggregatorTest {
+    private static final String MESSAGE = "<rpc message-id=\"102\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+            + "<get-config><source><running/></source></get-config></rpc>";
+
+    @Test
+    public void testMultipleMessages() throws Exception {
+        final NetconfEOMAggregator aggregator = new NetconfEOMAggregator();
+        final ByteBuf input = Unpooled.copiedBuffer(MESSAGE + "]]>]]>" + MESSAGE + "]]>]]>", StandardCharsets.UTF_8);
+        final List<Object> output = new ArrayList<>();
+        aggregator.decode(null, input, output);
+        aggregator.decode(null, input, output);
+
+        assertEquals(2, output.size());
+        assertEquals(MESSAGE, ((ByteBuf) output.get(0)).toString(StandardCharsets.UTF_8));
+        assertEquals(MESSAGE, ((ByteBuf) output.get(1)).toString(StandardCharsets.UTF_8));
+        assertEquals(0, input.readableBytes());
+    }
+
+    @Test
+    public void testSplitDelimiter() throws Exception {
+        final NetconfEOMAggregator aggregator = new NetconfEOMAggregator();
+        final ByteBuf input = Unpooled.buffer();
+        final List<Object> output = new ArrayList<>();
+
+        // Delimiter split across multiple reads
+        input.writeCharSequence(MESSAGE + "]]>]", StandardCharsets.UTF_8);
+        aggregator.decode(null, input, output);
+        assertTrue(output.isEmpty());
+
+        input.writeCharSequence("]", StandardCharsets.UTF_8);
+        aggregator.decode(null, input, output);
+        assertTrue(output.isEmpty());
+
+        input.writeCharSequence(">", StandardCharsets.UTF_8);
+        aggregator.decode(null, input, output);
+        assertEquals(1, output.size());
+        assertEquals(MESSAGE, ((ByteBuf) output.get(0)).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testMaxMessageSize() throws Exception {
+        final NetconfEOMAggregator aggregator = new NetconfEOMAggregator(MESSAGE.length() - 1);
+        final ByteBuf input = Unpooled.buffer();
+        final List<Object> output = new ArrayList<>();
+
+        input.writeCharSequence(MESSAGE, StandardCharsets.UTF_8);
+        try {
+            aggregator.decode(null, input, output);
+            fail("Message should have been rejected");
+        } catch (TooLongFrameException e) {
+            assertTrue(output.isEmpty());
+        }
+
+        // Rest of the oversized message is discarded, next message passes through
+        input.writeCharSequence("]]>]]>abc]]>]]>", StandardCharsets.UTF_8);
+        aggregator.decode(null, input, output);
+        assertTrue(output.isEmpty());
+        aggregator.decode(null, input, output);
+        assertEquals(1, output.size());
+        assertEquals("abc", ((ByteBuf) output.get(0)).toString(StandardCharsets.UTF_8));
+    }
+}
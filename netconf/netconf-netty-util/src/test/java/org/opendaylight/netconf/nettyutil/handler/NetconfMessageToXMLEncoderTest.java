@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.base.Optional;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import java.nio.charset.StandardCharsets;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.netconf.api.StreamableNetconfMessage;
+import org.opendaylight.netconf.util.NetconfUtil;
+
+public class NetconfMessageToXMLEncoderTest {
+    private static final String NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+
+    private static final class TestMessage extends StreamableNetconfMessage {
+        TestMessage() {
+            super(NetconfUtil.XML_FACTORY);
+        }
+
+        @Override
+        public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, "rpc", NS);
+            writer.writeDefaultNamespace(NS);
+            writer.writeAttribute("message-id", "m-1");
+            writer.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, "commit", NS);
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+    }
+
+    @Mock
+    private ChannelHandlerContext ctx;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testEncodeStreamable() throws Exception {
+        final ByteBuf destination = Unpooled.buffer();
+        new NetconfMessageToXMLEncoder().encode(ctx, new TestMessage(), destination);
+
+        final String encoded = destination.toString(StandardCharsets.UTF_8);
+        // No pretty-printing, hence no whitespace between elements
+        assertThat(encoded, containsString("<rpc xmlns=\"" + NS + "\" message-id=\"m-1\"><commit></commit></rpc>"));
+    }
+
+    @Test
+    public void testEncodeStreamableClientId() throws Exception {
+        final ByteBuf destination = Unpooled.buffer();
+        new NetconfMessageToXMLEncoder(Optional.of("client")).encode(ctx, new TestMessage(), destination);
+
+        assertThat(destination.toString(StandardCharsets.UTF_8), containsString("<!--clientId:client-->"));
+    }
+
+    @Test
+    public void testStreamableDocument() {
+        final TestMessage message = new TestMessage();
+        assertEquals("rpc", message.getDocument().getDocumentElement().getLocalName());
+        assertEquals(NS, message.getDocument().getDocumentElement().getNamespaceURI());
+        assertEquals("m-1", message.getDocument().getDocumentElement().getAttribute("message-id"));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import org.junit.Test;
+import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
+
+public class NetconfXMLToLazyMessageDecoderTest {
+
+    @Test
+    public void testDecodeParts() throws Exception {
+        final NetconfXMLToLazyMessageDecoder decoder = new NetconfXMLToLazyMessageDecoder();
+        final ArrayList<Object> out = new ArrayList<>();
+        decoder.decode(null, Unpooled.wrappedBuffer("\r\n<rpc-reply message-id=\"m-1\" ".getBytes()), out);
+        decoder.decode(null, Unpooled.wrappedBuffer("xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">".getBytes()),
+            out);
+        decoder.decode(null, Unpooled.wrappedBuffer("<ok/></rpc-reply>".getBytes()), out);
+        assertEquals(0, out.size());
+
+        decoder.decode(null, EndOfMessage.INSTANCE, out);
+        assertEquals(1, out.size());
+        final LazyNetconfMessage msg = (LazyNetconfMessage) out.get(0);
+        assertEquals("rpc-reply", msg.getRootElementName());
+        assertEquals("m-1", msg.getMessageId().get());
+        assertEquals("ok", msg.getFirstChildElementName().get());
+        assertFalse(msg.isErrorReply());
+        assertEquals("rpc-reply", msg.getDocument().getDocumentElement().getLocalName());
+    }
+
+    @Test
+    public void testDecodeOnlyWhitespaces() throws Exception {
+        final NetconfXMLToLazyMessageDecoder decoder = new NetconfXMLToLazyMessageDecoder();
+        final ArrayList<Object> out = new ArrayList<>();
+        decoder.decode(null, Unpooled.wrappedBuffer("\r\n".getBytes()), out);
+        decoder.decode(null, EndOfMessage.INSTANCE, out);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void testDecodeGibberish() throws Exception {
+        final NetconfXMLToLazyMessageDecoder decoder = new NetconfXMLToLazyMessageDecoder();
+        final ArrayList<Object> out = new ArrayList<>();
+        decoder.decode(null, Unpooled.wrappedBuffer("\r\n?xml version>".getBytes(StandardCharsets.UTF_8)), out);
+        decoder.decode(null, EndOfMessage.INSTANCE, out);
+        assertEquals(1, out.size());
+        assertTrue(out.get(0) instanceof FailedNetconfMessage);
+    }
+
+    @Test
+    public void testDecodeMalformedBody() throws Exception {
+        final NetconfXMLToLazyMessageDecoder decoder = new NetconfXMLToLazyMessageDecoder();
+        final ArrayList<Object> out = new ArrayList<>();
+        decoder.decode(null, Unpooled.wrappedBuffer("<rpc-reply message-id=\"1\"><data>".getBytes(
+            StandardCharsets.UTF_8)), out);
+        decoder.decode(null, Unpooled.wrappedBuffer("<top></data></rpc-reply>".getBytes(StandardCharsets.UTF_8)),
+            out);
+        decoder.decode(null, EndOfMessage.INSTANCE, out);
+        assertEquals(1, out.size());
+        assertTrue(out.get(0) instanceof FailedNetconfMessage);
+    }
+}
@@ -7,6 +7,9 @@
  */
 package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyObject;
@@ -27,13 +30,16 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.DefaultChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.WriteBufferWaterMark;
 import java.io.IOException;
 import java.net.SocketAddress;
 import org.apache.sshd.client.SshClient;
@@ -54,8 +60,8 @@ import org.apache.sshd.common.util.buffer.Buffer;
 import org.apache.sshd.common.util.buffer.ByteArrayBuffer;
 import org.junit.After;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
@@ -140,6 +146,11 @@ public class AsyncSshHandlerTest {
 
     private void stubCtx() {
         doReturn(channel).when(ctx).channel();
+        final ChannelConfig config = mock(ChannelConfig.class);
+        doReturn(WriteBufferWaterMark.DEFAULT).when(config).getWriteBufferWaterMark();
+        doReturn(config).when(channel).config();
+        doReturn(mock(Channel.Unsafe.class)).when(channel).unsafe();
+        doReturn(ByteBufAllocator.DEFAULT).when(ctx).alloc();
         doReturn(ctx).when(ctx).fireChannelActive();
         doReturn(ctx).when(ctx).fireChannelInactive();
         doReturn(ctx).when(ctx).fireChannelRead(anyObject());
@@ -283,6 +294,65 @@ public class AsyncSshHandlerTest {
         verify(writePromise).setSuccess();
     }
 
+    @Test
+    public void testWriteHeapBuffer() throws Exception {
+        // Heap buffer is passed without copying
+        final byte[] bytes = new byte[]{0, 1, 2, 3, 4, 5};
+        assertSame(bytes, writeAndCapture(Unpooled.wrappedBuffer(bytes)).array());
+    }
+
+    @Test
+    public void testWriteDirectBuffer() throws Exception {
+        // Direct buffer needs to be copied
+        final byte[] bytes = new byte[]{0, 1, 2, 3, 4, 5};
+        final Buffer written = writeAndCapture(Unpooled.directBuffer().writeBytes(bytes));
+        assertEquals(bytes.length, written.available());
+        assertArrayEquals(bytes, written.getCompactData());
+    }
+
+    @Test
+    public void testWriteCompositeBuffer() throws Exception {
+        // Composite buffer is copied component by component
+        final byte[] bytes = new byte[]{0, 1, 2, 3, 4, 5};
+        final ByteBuf msg = Unpooled.wrappedBuffer(Unpooled.directBuffer().writeBytes(bytes, 0, 2),
+            Unpooled.wrappedBuffer(bytes, 2, 4));
+        final Buffer written = writeAndCapture(msg);
+        assertEquals(bytes.length, written.available());
+        assertArrayEquals(bytes, written.getCompactData());
+    }
+
+    @Test
+    public void testWriteSingleComponentBuffer() throws Exception {
+        // Composite buffer with its content in a single heap component is passed without copying
+        final byte[] bytes = new byte[]{0, 1, 2, 3, 4, 5};
+        final ByteBuf msg = Unpooled.wrappedBuffer(Unpooled.directBuffer().writeBytes(bytes, 0, 2),
+            Unpooled.wrappedBuffer(bytes));
+        msg.readerIndex(2).markReaderIndex();
+        final Buffer written = writeAndCapture(msg);
+        assertSame(bytes, written.array());
+        assertArrayEquals(bytes, written.getCompactData());
+    }
+
+    private Buffer writeAndCapture(final ByteBuf msg) throws Exception {
+        asyncSshHandler.connect(ctx, remoteAddress, localAddress, promise);
+
+        final IoInputStream asyncOut = getMockedIoInputStream();
+        final IoOutputStream asyncIn = getMockedIoOutputStream();
+        final ChannelSubsystem subsystemChannel = getMockedSubsystemChannel(asyncOut, asyncIn);
+        final ClientSession sshSession = getMockedSshSession(subsystemChannel);
+        final ConnectFuture connectFuture = getSuccessConnectFuture(sshSession);
+
+        sshConnectListener.operationComplete(connectFuture);
+        sshAuthListener.operationComplete(getSuccessAuthFuture());
+        sshChannelOpenListener.operationComplete(getSuccessOpenFuture());
+
+        asyncSshHandler.write(ctx, msg, getMockedPromise());
+
+        final ArgumentCaptor<Buffer> captor = ArgumentCaptor.forClass(Buffer.class);
+        verify(asyncIn).writePacket(captor.capture());
+        return captor.getValue();
+    }
+
     @Test
     public void testWriteClosed() throws Exception {
         asyncSshHandler.connect(ctx, remoteAddress, localAddress, promise);
@@ -365,7 +435,6 @@ public class AsyncSshHandlerTest {
         verify(secondWritePromise).setSuccess();
     }
 
-    @Ignore("Pending queue is not limited")
     @Test
     public void testWritePendingMax() throws Exception {
         asyncSshHandler.connect(ctx, remoteAddress, localAddress, promise);
@@ -393,8 +462,11 @@ public class AsyncSshHandlerTest {
         final ChannelPromise secondWritePromise = getMockedPromise();
         // now make write throw pending exception
         doThrow(org.apache.sshd.common.io.WritePendingException.class).when(asyncIn).writePacket(any(Buffer.class));
-        for (int i = 0; i < 1001; i++) {
-            asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0, 1, 2, 3, 4, 5}), secondWritePromise);
+        // Queue is limited by size, all writes share the same backing array
+        final byte[] megabyte = new byte[1024 * 1024];
+        final long count = AsyncSshHandlerWriter.DEFAULT_MAX_PENDING_BYTES / megabyte.length + 1;
+        for (int i = 0; i < count; i++) {
+            asyncSshHandler.write(ctx, Unpooled.wrappedBuffer(megabyte), secondWritePromise);
         }
 
         verify(secondWritePromise, times(1)).setFailure(any(Throwable.class));
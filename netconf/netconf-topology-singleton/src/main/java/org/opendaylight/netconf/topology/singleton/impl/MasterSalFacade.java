@@ -47,6 +47,7 @@ class MasterSalFacade implements AutoCloseable, RemoteDeviceHandler<NetconfSessi
     private final NetconfDeviceSalProvider salProvider;
     private final ActorRef masterActorRef;
     private final ActorSystem actorSystem;
+    private final boolean coalesceEdits;
 
     private SchemaContext currentSchemaContext = null;
     private NetconfSessionPreferences netconfSessionPreferences = null;
@@ -58,12 +59,14 @@ class MasterSalFacade implements AutoCloseable, RemoteDeviceHandler<NetconfSessi
                     final ActorRef masterActorRef,
                     final Timeout actorResponseWaitTime,
                     final DOMMountPointService mountService,
-                    final DataBroker dataBroker) {
+                    final DataBroker dataBroker,
+                    final boolean coalesceEdits) {
         this.id = id;
         this.salProvider = new NetconfDeviceSalProvider(id, mountService, dataBroker);
         this.actorSystem = actorSystem;
         this.masterActorRef = masterActorRef;
         this.actorResponseWaitTime = actorResponseWaitTime;
+        this.coalesceEdits = coalesceEdits;
     }
 
     @Override
@@ -149,7 +152,8 @@ class MasterSalFacade implements AutoCloseable, RemoteDeviceHandler<NetconfSessi
     }
 
     protected DOMDataBroker newDeviceDataBroker() {
-        return new NetconfDeviceDataBroker(id, currentSchemaContext, deviceRpc, netconfSessionPreferences);
+        return new NetconfDeviceDataBroker(id, currentSchemaContext, deviceRpc, netconfSessionPreferences,
+            coalesceEdits);
     }
 
     private Future<Object> sendInitialDataToActor() {
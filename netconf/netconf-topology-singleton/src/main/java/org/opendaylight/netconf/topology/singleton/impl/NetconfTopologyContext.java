@@ -181,6 +181,7 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
 
     protected MasterSalFacade newMasterSalFacade() {
         return new MasterSalFacade(remoteDeviceId, netconfTopologyDeviceSetup.getActorSystem(), masterActorRef,
-                actorResponseWaitTime, mountService, netconfTopologyDeviceSetup.getDataBroker());
+                actorResponseWaitTime, mountService, netconfTopologyDeviceSetup.getDataBroker(),
+                netconfTopologyDeviceSetup.isCoalesceEdits());
     }
 }
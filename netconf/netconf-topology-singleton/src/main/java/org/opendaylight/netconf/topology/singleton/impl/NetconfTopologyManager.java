@@ -15,8 +15,11 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutor;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
@@ -39,6 +42,7 @@ import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvid
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceRegistration;
 import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
+import org.opendaylight.netconf.sal.connect.util.DeviceExecutorShards;
 import org.opendaylight.netconf.topology.singleton.api.NetconfTopologySingletonService;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup.NetconfTopologySetupBuilder;
@@ -83,6 +87,13 @@ public class NetconfTopologyManager
     private ListenerRegistration<NetconfTopologyManager> dataChangeListenerRegistration;
     private String privateKeyPath;
     private String privateKeyPassphrase;
+    private Timer timer;
+    private boolean coalesceEdits;
+    private int deviceExecutorShardCount;
+    // Created on first use if enabled
+    private DeviceExecutorShards deviceExecutorShards;
+    // Shards replaced by a change of their count, still used by devices connected before the change
+    private final List<DeviceExecutorShards> retiredDeviceExecutorShards = new ArrayList<>();
 
     public NetconfTopologyManager(final DataBroker dataBroker, final DOMRpcProviderService rpcProviderRegistry,
                                   final ClusterSingletonServiceProvider clusterSingletonServiceProvider,
@@ -215,6 +226,15 @@ public class NetconfTopologyManager
 
         contexts.clear();
         clusterRegistrations.clear();
+
+        synchronized (this) {
+            if (deviceExecutorShards != null) {
+                deviceExecutorShards.close();
+                deviceExecutorShards = null;
+            }
+            retiredDeviceExecutorShards.forEach(DeviceExecutorShards::close);
+            retiredDeviceExecutorShards.clear();
+        }
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -240,6 +260,46 @@ public class NetconfTopologyManager
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the timer driving keepalives and request timeouts of devices using blueprint.
+     */
+    public void setTimer(final Timer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Sets whether write transactions of mount points coalesce their modifications into as few edit-config RPCs as
+     * possible using blueprint. Takes effect for devices connected after it is set.
+     */
+    public void setCoalesceEdits(final boolean coalesceEdits) {
+        this.coalesceEdits = coalesceEdits;
+    }
+
+    /**
+     * Sets the number of device executor shards using blueprint. When positive, expired keepalive and request timeout
+     * tasks of each device run on one of this many dedicated threads, selected by node name, instead of the shared
+     * keepalive executor. Reconnects still run on the shared keepalive executor. Takes effect for devices connected
+     * after it is set, devices connected before keep their executors until the topology is closed.
+     */
+    public synchronized void setDeviceExecutorShards(final int deviceExecutorShardCount) {
+        if (deviceExecutorShards != null && deviceExecutorShardCount != this.deviceExecutorShardCount) {
+            retiredDeviceExecutorShards.add(deviceExecutorShards);
+            deviceExecutorShards = null;
+        }
+        this.deviceExecutorShardCount = deviceExecutorShardCount;
+    }
+
+    private synchronized ScheduledExecutorService keepaliveExecutor(final NodeId nodeId) {
+        if (deviceExecutorShardCount <= 0) {
+            return keepaliveExecutor;
+        }
+        if (deviceExecutorShards == null) {
+            deviceExecutorShards = new DeviceExecutorShards(deviceExecutorShardCount);
+        }
+        // Remote device identifiers are named after their node
+        return deviceExecutorShards.shardFor(nodeId.getValue());
+    }
+
     private ListenerRegistration<NetconfTopologyManager> registerDataTreeChangeListener() {
         final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
         initTopology(wtx, LogicalDatastoreType.CONFIGURATION);
@@ -280,7 +340,9 @@ public class NetconfTopologyManager
                 .setNode(node)
                 .setActorSystem(actorSystem)
                 .setEventExecutor(eventExecutor)
-                .setKeepaliveExecutor(keepaliveExecutor)
+                .setKeepaliveExecutor(keepaliveExecutor(node.getNodeId()))
+                .setReconnectExecutor(keepaliveExecutor)
+                .setTimer(timer)
                 .setProcessingExecutor(processingExecutor)
                 .setTopologyId(topologyId)
                 .setNetconfClientDispatcher(clientDispatcher)
@@ -288,7 +350,8 @@ public class NetconfTopologyManager
                 .setIdleTimeout(writeTxIdleTimeout)
                 .setPrivateKeyPath(privateKeyPath)
                 .setPrivateKeyPassphrase(privateKeyPassphrase)
-                .setEncryptionService(encryptionService);
+                .setEncryptionService(encryptionService)
+                .setCoalesceEdits(coalesceEdits);
 
         return builder.build();
     }
@@ -30,6 +30,7 @@ import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.client.conf.NetconfClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfigurationBuilder;
+import org.opendaylight.netconf.nettyutil.JitteredReconnectStrategyFactory;
 import org.opendaylight.netconf.nettyutil.ReconnectStrategyFactory;
 import org.opendaylight.netconf.nettyutil.TimedReconnectStrategyFactory;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
@@ -158,8 +159,9 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         if (keepaliveDelay > 0) {
             LOG.info("{}: Adding keepalive facade.", remoteDeviceId);
             salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade,
-                    netconfTopologyDeviceSetup.getKeepaliveExecutor(), keepaliveDelay,
-                    defaultRequestTimeoutMillis);
+                    netconfTopologyDeviceSetup.getKeepaliveExecutor(),
+                    netconfTopologyDeviceSetup.getReconnectExecutor(), netconfTopologyDeviceSetup.getTimer(),
+                    keepaliveDelay, defaultRequestTimeoutMillis);
         }
 
         final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = netconfTopologyDeviceSetup.getSchemaResourcesDTO();
@@ -220,8 +222,10 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
                  isNull(node.getYangModuleCapabilities())
                          ? false : node.getYangModuleCapabilities().isOverride(),
                  isNull(node.getNonModuleCapabilities())
-                         ? false : node.getNonModuleCapabilities().isOverride()), rpcMessageLimit)
-            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+                         ? false : node.getNonModuleCapabilities().isOverride()), rpcMessageLimit,
+                 defaultRequestTimeoutMillis, netconfTopologyDeviceSetup.getKeepaliveExecutor())
+            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit, defaultRequestTimeoutMillis,
+                    netconfTopologyDeviceSetup.getKeepaliveExecutor());
 
         if (salFacade instanceof KeepaliveSalFacade) {
             ((KeepaliveSalFacade)salFacade).setListener(netconfDeviceCommunicator);
@@ -279,12 +283,16 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
                 ? NetconfTopologyUtils.DEFAULT_IS_TCP_ONLY : node.isTcpOnly();
         final BigDecimal sleepFactor = node.getSleepFactor() == null
                 ? NetconfTopologyUtils.DEFAULT_SLEEP_FACTOR : node.getSleepFactor();
+        final boolean reconnectJitter = node.isReconnectJitter() == null
+                ? NetconfTopologyUtils.DEFAULT_RECONNECT_JITTER : node.isReconnectJitter();
 
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue());
 
-        final ReconnectStrategyFactory sf =
-                new TimedReconnectStrategyFactory(netconfTopologyDeviceSetup.getEventExecutor(), maxConnectionAttempts,
-                        betweenAttemptsTimeoutMillis, sleepFactor);
+        final ReconnectStrategyFactory sf = reconnectJitter
+                ? new JitteredReconnectStrategyFactory(netconfTopologyDeviceSetup.getEventExecutor(),
+                        maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor)
+                : new TimedReconnectStrategyFactory(netconfTopologyDeviceSetup.getEventExecutor(),
+                        maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor);
 
 
         final NetconfReconnectingClientConfigurationBuilder reconnectingClientConfigurationBuilder;
@@ -9,7 +9,9 @@ package org.opendaylight.netconf.topology.singleton.impl.utils;
 
 import akka.actor.ActorSystem;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutor;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.mdsal.binding.api.DataBroker;
@@ -29,6 +31,8 @@ public class NetconfTopologySetup {
     private final InstanceIdentifier<Node> instanceIdentifier;
     private final Node node;
     private final ScheduledExecutorService keepaliveExecutor;
+    private final Executor reconnectExecutor;
+    private final Timer timer;
     private final ListeningExecutorService processingExecutor;
     private final ActorSystem actorSystem;
     private final EventExecutor eventExecutor;
@@ -39,6 +43,7 @@ public class NetconfTopologySetup {
     private final String privateKeyPath;
     private final String privateKeyPassphrase;
     private final AAAEncryptionService encryptionService;
+    private final boolean coalesceEdits;
 
     NetconfTopologySetup(final NetconfTopologySetupBuilder builder) {
         this.clusterSingletonServiceProvider = builder.getClusterSingletonServiceProvider();
@@ -47,6 +52,8 @@ public class NetconfTopologySetup {
         this.instanceIdentifier = builder.getInstanceIdentifier();
         this.node = builder.getNode();
         this.keepaliveExecutor = builder.getKeepaliveExecutor();
+        this.reconnectExecutor = builder.getReconnectExecutor();
+        this.timer = builder.getTimer();
         this.processingExecutor = builder.getProcessingExecutor();
         this.actorSystem = builder.getActorSystem();
         this.eventExecutor = builder.getEventExecutor();
@@ -57,6 +64,7 @@ public class NetconfTopologySetup {
         this.privateKeyPath = builder.getPrivateKeyPath();
         this.privateKeyPassphrase = builder.getPrivateKeyPassphrase();
         this.encryptionService = builder.getEncryptionService();
+        this.coalesceEdits = builder.isCoalesceEdits();
     }
 
     public ClusterSingletonServiceProvider getClusterSingletonServiceProvider() {
@@ -87,6 +95,14 @@ public class NetconfTopologySetup {
         return keepaliveExecutor;
     }
 
+    public Executor getReconnectExecutor() {
+        return reconnectExecutor;
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
     public ActorSystem getActorSystem() {
         return actorSystem;
     }
@@ -123,6 +139,10 @@ public class NetconfTopologySetup {
         return encryptionService;
     }
 
+    public boolean isCoalesceEdits() {
+        return coalesceEdits;
+    }
+
     public static class NetconfTopologySetupBuilder {
 
         private ClusterSingletonServiceProvider clusterSingletonServiceProvider;
@@ -131,6 +151,8 @@ public class NetconfTopologySetup {
         private InstanceIdentifier<Node> instanceIdentifier;
         private Node node;
         private ScheduledExecutorService keepaliveExecutor;
+        private Executor reconnectExecutor;
+        private Timer timer;
         private ListeningExecutorService processingExecutor;
         private ActorSystem actorSystem;
         private EventExecutor eventExecutor;
@@ -141,6 +163,7 @@ public class NetconfTopologySetup {
         private String privateKeyPath;
         private String privateKeyPassphrase;
         private AAAEncryptionService encryptionService;
+        private boolean coalesceEdits;
 
         public NetconfTopologySetupBuilder() {
         }
@@ -204,6 +227,24 @@ public class NetconfTopologySetup {
             return this;
         }
 
+        private Executor getReconnectExecutor() {
+            return reconnectExecutor;
+        }
+
+        public NetconfTopologySetupBuilder setReconnectExecutor(final Executor reconnectExecutor) {
+            this.reconnectExecutor = reconnectExecutor;
+            return this;
+        }
+
+        private Timer getTimer() {
+            return timer;
+        }
+
+        public NetconfTopologySetupBuilder setTimer(final Timer timer) {
+            this.timer = timer;
+            return this;
+        }
+
         private ListeningExecutorService getProcessingExecutor() {
             return processingExecutor;
         }
@@ -295,6 +336,15 @@ public class NetconfTopologySetup {
             return this;
         }
 
+        private boolean isCoalesceEdits() {
+            return coalesceEdits;
+        }
+
+        public NetconfTopologySetupBuilder setCoalesceEdits(final boolean coalesceEdits) {
+            this.coalesceEdits = coalesceEdits;
+            return this;
+        }
+
         public static NetconfTopologySetupBuilder create() {
             return new NetconfTopologySetupBuilder();
         }
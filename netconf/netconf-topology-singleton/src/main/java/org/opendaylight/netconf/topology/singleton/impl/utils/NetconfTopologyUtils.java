@@ -11,6 +11,7 @@ package org.opendaylight.netconf.topology.singleton.impl.utils;
 import com.google.common.base.Strings;
 import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.util.HashMap;
@@ -19,6 +20,9 @@ import java.util.concurrent.TimeUnit;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfStateSchemasResolverImpl;
+import org.opendaylight.netconf.sal.connect.netconf.SchemaSetupSnapshots;
+import org.opendaylight.netconf.sal.connect.netconf.schema.ContentAddressedSchemaSourceCache;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaSourceStore;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
@@ -34,9 +38,7 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
-import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
-import org.opendaylight.yangtools.yang.model.repo.util.FilesystemSchemaSourceCache;
 import org.opendaylight.yangtools.yang.model.repo.util.InMemorySchemaSourceCache;
 import org.opendaylight.yangtools.yang.parser.repo.SharedSchemaRepository;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
@@ -58,6 +60,7 @@ public final class NetconfTopologyUtils {
     public static final int DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS = 2000;
     public static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 20000L;
     public static final BigDecimal DEFAULT_SLEEP_FACTOR = new BigDecimal(1.5);
+    public static final boolean DEFAULT_RECONNECT_JITTER = false;
 
 
     // The default cache directory relative to <code>CACHE_DIRECTORY</code>
@@ -71,6 +74,12 @@ public final class NetconfTopologyUtils {
     public static final String QUALIFIED_DEFAULT_CACHE_DIRECTORY =
             CACHE_DIRECTORY + File.separator + DEFAULT_CACHE_DIRECTORY;
 
+    // The directory of the schema source store shared by all schema cache directories
+    public static final String QUALIFIED_SCHEMA_STORE_DIRECTORY = CACHE_DIRECTORY + File.separator + ".schema-store";
+
+    // The directory of schema setup snapshots, with a subdirectory for each schema cache directory
+    public static final String QUALIFIED_SCHEMA_SETUP_DIRECTORY = CACHE_DIRECTORY + File.separator + ".schema-setup";
+
     // The default schema repository in the case that one is not specified.
     public static final SharedSchemaRepository DEFAULT_SCHEMA_REPOSITORY =
             new SharedSchemaRepository(DEFAULT_SCHEMA_REPOSITORY_NAME);
@@ -97,24 +106,24 @@ public final class NetconfTopologyUtils {
     static {
         SCHEMA_RESOURCES_DTO_MAP.put(DEFAULT_CACHE_DIRECTORY,
                 new NetconfDevice.SchemaResourcesDTO(DEFAULT_SCHEMA_REPOSITORY, DEFAULT_SCHEMA_REPOSITORY,
-                        DEFAULT_SCHEMA_CONTEXT_FACTORY, new NetconfStateSchemasResolverImpl()));
+                        DEFAULT_SCHEMA_CONTEXT_FACTORY, new NetconfStateSchemasResolverImpl(),
+                        openSchemaSetupSnapshots(DEFAULT_CACHE_DIRECTORY)));
         DEFAULT_SCHEMA_REPOSITORY.registerSchemaSourceListener(DEFAULT_AST_CACHE);
         DEFAULT_SCHEMA_REPOSITORY.registerSchemaSourceListener(
                 TextToASTTransformer.create(DEFAULT_SCHEMA_REPOSITORY, DEFAULT_SCHEMA_REPOSITORY));
 
         /*
-         * Create the default <code>FilesystemSchemaSourceCache</code>, which stores cached files
-         * in <code>cache/schema</code>. Try up to 3 times - we've seen intermittent failures on jenkins where
-         * FilesystemSchemaSourceCache throws an IAE due to mkdirs failure. The theory is that there's a race
-         * creating the dir and it already exists when mkdirs is called (mkdirs returns false in this case). In this
-         * scenario, a retry should succeed.
+         * Create the default <code>ContentAddressedSchemaSourceCache</code>, which caches sources for
+         * <code>cache/schema</code>. Try up to 3 times - we've seen intermittent failures on jenkins where
+         * creating cache directories fails. The theory is that there's a race creating the dir and it already exists
+         * when mkdirs is called (mkdirs returns false in this case). In this scenario, a retry should succeed.
          */
         int tries = 1;
         while (true) {
             try {
-                FilesystemSchemaSourceCache<YangTextSchemaSource> defaultCache =
-                        new FilesystemSchemaSourceCache<>(DEFAULT_SCHEMA_REPOSITORY, YangTextSchemaSource.class,
-                                new File(QUALIFIED_DEFAULT_CACHE_DIRECTORY));
+                final ContentAddressedSchemaSourceCache defaultCache =
+                        ContentAddressedSchemaSourceCache.forCacheDirectory(DEFAULT_SCHEMA_REPOSITORY,
+                            openSchemaSourceStore(), new File(QUALIFIED_DEFAULT_CACHE_DIRECTORY));
                 DEFAULT_SCHEMA_REPOSITORY.registerSchemaSourceListener(defaultCache);
                 break;
             } catch (IllegalArgumentException e) {
@@ -186,29 +195,60 @@ public final class NetconfTopologyUtils {
         final EffectiveModelContextFactory schemaContextFactory
                 = repository.createEffectiveModelContextFactory();
 
-        final FilesystemSchemaSourceCache<YangTextSchemaSource> deviceCache =
-                createDeviceFilesystemCache(moduleSchemaCacheDirectory, repository);
+        final ContentAddressedSchemaSourceCache deviceCache =
+                createDeviceSchemaCache(moduleSchemaCacheDirectory, repository);
         repository.registerSchemaSourceListener(deviceCache);
         repository.registerSchemaSourceListener(InMemorySchemaSourceCache.createSoftCache(repository,
                 ASTSchemaSource.class));
         return new NetconfDevice.SchemaResourcesDTO(repository, repository, schemaContextFactory,
-                new NetconfStateSchemasResolverImpl());
+                new NetconfStateSchemasResolverImpl(), openSchemaSetupSnapshots(moduleSchemaCacheDirectory));
     }
 
     /**
-     * Creates a <code>FilesystemSchemaSourceCache</code> for the custom schema cache directory.
+     * Creates a <code>ContentAddressedSchemaSourceCache</code> for the custom schema cache directory.
      *
      * @param schemaCacheDirectory The custom cache directory relative to "cache"
-     * @return A <code>FilesystemSchemaSourceCache</code> for the custom schema cache directory
+     * @return A <code>ContentAddressedSchemaSourceCache</code> for the custom schema cache directory
      */
-    private static FilesystemSchemaSourceCache<YangTextSchemaSource> createDeviceFilesystemCache(
-            final String schemaCacheDirectory, final SchemaSourceRegistry schemaRegistry) {
+    private static ContentAddressedSchemaSourceCache createDeviceSchemaCache(final String schemaCacheDirectory,
+            final SchemaSourceRegistry schemaRegistry) {
         final String relativeSchemaCacheDirectory =
                 NetconfTopologyUtils.CACHE_DIRECTORY + File.separator + schemaCacheDirectory;
-        return new FilesystemSchemaSourceCache<>(schemaRegistry, YangTextSchemaSource.class,
+        return ContentAddressedSchemaSourceCache.forCacheDirectory(schemaRegistry, openSchemaSourceStore(),
                 new File(relativeSchemaCacheDirectory));
     }
 
+    /**
+     * Open schema setup snapshots for a schema cache directory. Snapshots only speed up schema setup, hence failing to
+     * open them is not fatal.
+     *
+     * @param schemaCacheDirectory Schema cache directory name, relative to the cache directory
+     * @return Snapshots, or null if the snapshot directory cannot be accessed
+     */
+    private static SchemaSetupSnapshots openSchemaSetupSnapshots(final String schemaCacheDirectory) {
+        final File directory = new File(QUALIFIED_SCHEMA_SETUP_DIRECTORY, schemaCacheDirectory);
+        try {
+            return SchemaSetupSnapshots.forDirectory(directory);
+        } catch (IOException e) {
+            LOG.warn("Cannot access schema setup snapshots in {}, schema setup will not use them", directory, e);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the <code>SchemaSourceStore</code> shared by all schema cache directories.
+     *
+     * @return The shared <code>SchemaSourceStore</code>
+     * @throws IllegalArgumentException if the store directory cannot be accessed
+     */
+    private static SchemaSourceStore openSchemaSourceStore() {
+        try {
+            return SchemaSourceStore.forDirectory(new File(QUALIFIED_SCHEMA_STORE_DIRECTORY));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot access schema source store " + QUALIFIED_SCHEMA_STORE_DIRECTORY,
+                e);
+        }
+    }
 
     public static RemoteDeviceId createRemoteDeviceId(final NodeId nodeId, final NetconfNode node) {
         final IpAddress ipAddress = node.getHost().getIpAddress();
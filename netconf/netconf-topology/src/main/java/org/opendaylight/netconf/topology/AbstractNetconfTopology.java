@@ -12,15 +12,20 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
+import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutor;
 import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.net.URL;
@@ -29,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
@@ -41,6 +47,7 @@ import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.client.conf.NetconfClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfigurationBuilder;
+import org.opendaylight.netconf.nettyutil.JitteredReconnectStrategyFactory;
 import org.opendaylight.netconf.nettyutil.ReconnectStrategyFactory;
 import org.opendaylight.netconf.nettyutil.TimedReconnectStrategyFactory;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
@@ -52,6 +59,7 @@ import org.opendaylight.netconf.sal.connect.netconf.LibraryModulesSchemas;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDeviceBuilder;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfStateSchemasResolverImpl;
+import org.opendaylight.netconf.sal.connect.netconf.SchemaSetupSnapshots;
 import org.opendaylight.netconf.sal.connect.netconf.SchemalessNetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.auth.DatastoreBackedPublicKeyAuth;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
@@ -60,9 +68,13 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPrefe
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfKeystoreAdapter;
+import org.opendaylight.netconf.sal.connect.netconf.schema.ContentAddressedSchemaSourceCache;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaSourceStore;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
+import org.opendaylight.netconf.sal.connect.util.DeviceExecutorShards;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.sal.connect.util.SslHandlerFactoryImpl;
+import org.opendaylight.netconf.topology.ConnectScheduler.Priority;
 import org.opendaylight.netconf.topology.api.NetconfTopology;
 import org.opendaylight.netconf.topology.api.SchemaRepositoryProvider;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
@@ -89,7 +101,6 @@ import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
-import org.opendaylight.yangtools.yang.model.repo.util.FilesystemSchemaSourceCache;
 import org.opendaylight.yangtools.yang.model.repo.util.InMemorySchemaSourceCache;
 import org.opendaylight.yangtools.yang.parser.repo.SharedSchemaRepository;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
@@ -110,6 +121,15 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     private static final int DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS = 2000;
     private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 20000L;
     private static final BigDecimal DEFAULT_SLEEP_FACTOR = new BigDecimal(1.5);
+    private static final boolean DEFAULT_RECONNECT_JITTER = false;
+    private static final int DEFAULT_CONNECT_CONCURRENCY_LIMIT = 64;
+    private static final double DEFAULT_CONNECT_RATE = 32;
+
+    /**
+     * How long a node which was disconnected is considered recently connected, so that reconnecting it takes
+     * precedence over connecting new nodes.
+     */
+    private static final long RECONNECT_PRIORITY_WINDOW_MINUTES = 5;
 
     // constants related to Schema Cache(s)
     /**
@@ -128,6 +148,16 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     private static final String QUALIFIED_DEFAULT_CACHE_DIRECTORY =
             CACHE_DIRECTORY + File.separator + DEFAULT_CACHE_DIRECTORY;
 
+    /**
+     * The directory of the schema source store shared by all schema cache directories.
+     */
+    private static final String QUALIFIED_SCHEMA_STORE_DIRECTORY = CACHE_DIRECTORY + File.separator + ".schema-store";
+
+    /**
+     * The directory of schema setup snapshots, with a subdirectory for each schema cache directory.
+     */
+    private static final String QUALIFIED_SCHEMA_SETUP_DIRECTORY = CACHE_DIRECTORY + File.separator + ".schema-setup";
+
     /**
      * The name for the default schema repository.
      */
@@ -165,24 +195,23 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         SCHEMA_RESOURCES_DTO_MAP.put(DEFAULT_CACHE_DIRECTORY,
                 new NetconfDevice.SchemaResourcesDTO(DEFAULT_SCHEMA_REPOSITORY, DEFAULT_SCHEMA_REPOSITORY,
                         DEFAULT_SCHEMA_CONTEXT_FACTORY,
-                        new NetconfStateSchemasResolverImpl()));
+                        new NetconfStateSchemasResolverImpl(), openSchemaSetupSnapshots(DEFAULT_CACHE_DIRECTORY)));
         DEFAULT_SCHEMA_REPOSITORY.registerSchemaSourceListener(DEFAULT_AST_CACHE);
         DEFAULT_SCHEMA_REPOSITORY.registerSchemaSourceListener(
                 TextToASTTransformer.create(DEFAULT_SCHEMA_REPOSITORY, DEFAULT_SCHEMA_REPOSITORY));
 
         /*
-         * Create the default <code>FilesystemSchemaSourceCache</code>, which stores cached files
-         * in <code>cache/schema</code>. Try up to 3 times - we've seen intermittent failures on jenkins where
-         * FilesystemSchemaSourceCache throws an IAE due to mkdirs failure. The theory is that there's a race
-         * creating the dir and it already exists when mkdirs is called (mkdirs returns false in this case). In this
-         * scenario, a retry should succeed.
+         * Create the default <code>ContentAddressedSchemaSourceCache</code>, which caches sources for
+         * <code>cache/schema</code>. Try up to 3 times - we've seen intermittent failures on jenkins where
+         * creating cache directories fails. The theory is that there's a race creating the dir and it already exists
+         * when mkdirs is called (mkdirs returns false in this case). In this scenario, a retry should succeed.
          */
         int tries = 1;
         while (true) {
             try {
-                FilesystemSchemaSourceCache<YangTextSchemaSource> defaultCache =
-                        new FilesystemSchemaSourceCache<>(DEFAULT_SCHEMA_REPOSITORY, YangTextSchemaSource.class,
-                                new File(QUALIFIED_DEFAULT_CACHE_DIRECTORY));
+                final ContentAddressedSchemaSourceCache defaultCache =
+                        ContentAddressedSchemaSourceCache.forCacheDirectory(DEFAULT_SCHEMA_REPOSITORY,
+                            openSchemaSourceStore(), new File(QUALIFIED_DEFAULT_CACHE_DIRECTORY));
                 DEFAULT_SCHEMA_REPOSITORY.registerSchemaSourceListener(defaultCache);
                 break;
             } catch (IllegalArgumentException e) {
@@ -210,9 +239,23 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected SchemaContextFactory schemaContextFactory = DEFAULT_SCHEMA_CONTEXT_FACTORY;
     protected String privateKeyPath;
     protected String privateKeyPassphrase;
+    protected Timer timer;
+    protected boolean coalesceEdits;
     protected final AAAEncryptionService encryptionService;
     protected final HashMap<NodeId, NetconfConnectorDTO> activeConnectors = new HashMap<>();
 
+    private final Cache<NodeId, Boolean> recentlyDisconnected = CacheBuilder.newBuilder()
+            .expireAfterWrite(RECONNECT_PRIORITY_WINDOW_MINUTES, TimeUnit.MINUTES).build();
+    private int connectConcurrencyLimit = DEFAULT_CONNECT_CONCURRENCY_LIMIT;
+    private double connectRate = DEFAULT_CONNECT_RATE;
+    // Created on first use, so that it picks up the configured limits
+    private ConnectScheduler connectScheduler;
+    private int deviceExecutorShardCount;
+    // Created on first use if enabled
+    private DeviceExecutorShards deviceExecutorShards;
+    // Shards replaced by a change of their count, still used by devices connected before the change
+    private final List<DeviceExecutorShards> retiredDeviceExecutorShards = new ArrayList<>();
+
     protected AbstractNetconfTopology(final String topologyId, final NetconfClientDispatcher clientDispatcher,
                                       final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
                                       final ThreadPool processingExecutor,
@@ -272,6 +315,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         // retrieve connection, and disconnect it
         final NetconfConnectorDTO connectorDTO = activeConnectors.remove(nodeId);
+        existingConnectScheduler().ifPresent(scheduler -> scheduler.cancel(nodeId));
+        recentlyDisconnected.put(nodeId, Boolean.TRUE);
         connectorDTO.getCommunicator().close();
         connectorDTO.getFacade().close();
         return Futures.immediateFuture(null);
@@ -289,10 +334,37 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         final NetconfClientSessionListener netconfClientSessionListener = deviceCommunicatorDTO.getSessionListener();
         final NetconfReconnectingClientConfiguration clientConfig =
                 getClientConfig(netconfClientSessionListener, netconfNode);
-        final ListenableFuture<NetconfDeviceCapabilities> future =
-                deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig);
 
+        // Connection is started once admitted by the scheduler. It holds its slot until the session is established,
+        // or for the connection timeout, after which the first attempt has either failed or will not complete anyway.
+        // Schema setup happens after the session is up and does not hold the slot.
+        final SettableFuture<NetconfDeviceCapabilities> future = SettableFuture.create();
+        final Priority priority = recentlyDisconnected.asMap().remove(nodeId) != null ? Priority.RECONNECT
+                : Priority.NEW;
         activeConnectors.put(nodeId, deviceCommunicatorDTO);
+        final ListenableFuture<Void> started = connectScheduler().submit(nodeId, priority,
+            clientConfig.getConnectionTimeoutMillis(), () -> {
+                final ListenableFuture<NetconfDeviceCapabilities> connectFuture =
+                        deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig);
+                future.setFuture(connectFuture);
+                return connectFuture;
+            });
+        Futures.addCallback(started, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                // The future now follows the connection attempt
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                // Attempt was cancelled or failed before it was started, nobody else completes the future
+                if (started.isCancelled()) {
+                    future.cancel(false);
+                } else {
+                    future.setException(throwable);
+                }
+            }
+        }, MoreExecutors.directExecutor());
 
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
             @Override
@@ -302,6 +374,10 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
             @Override
             public void onFailure(final Throwable throwable) {
+                if (future.isCancelled()) {
+                    LOG.debug("Connector for {} cancelled before it was started", nodeId.getValue());
+                    return;
+                }
                 LOG.error("Connector for {} failed", nodeId.getValue(), throwable);
                 // remove this node from active connectors?
             }
@@ -310,6 +386,56 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         return future;
     }
 
+    /**
+     * Cancel connection attempts of all nodes which were not started yet.
+     */
+    protected void cancelPendingConnects() {
+        existingConnectScheduler().ifPresent(ConnectScheduler::cancelAll);
+    }
+
+    private synchronized ConnectScheduler connectScheduler() {
+        if (connectScheduler == null) {
+            connectScheduler = new ConnectScheduler(keepaliveExecutor.getExecutor(), connectConcurrencyLimit,
+                connectRate);
+        }
+        return connectScheduler;
+    }
+
+    /**
+     * Return the scheduler admitting connection attempts of this topology, so that its queue metrics can be inspected.
+     *
+     * @return Connection scheduler, or empty if no connection has been attempted yet
+     */
+    public final Optional<ConnectScheduler> getConnectScheduler() {
+        return existingConnectScheduler();
+    }
+
+    private synchronized Optional<ConnectScheduler> existingConnectScheduler() {
+        return Optional.ofNullable(connectScheduler);
+    }
+
+    /**
+     * Shut down device executor shards, if they were used.
+     */
+    protected synchronized void closeDeviceExecutorShards() {
+        if (deviceExecutorShards != null) {
+            deviceExecutorShards.close();
+            deviceExecutorShards = null;
+        }
+        retiredDeviceExecutorShards.forEach(DeviceExecutorShards::close);
+        retiredDeviceExecutorShards.clear();
+    }
+
+    private synchronized ScheduledExecutorService keepaliveTimer(final RemoteDeviceId remoteDeviceId) {
+        if (deviceExecutorShardCount <= 0) {
+            return keepaliveExecutor.getExecutor();
+        }
+        if (deviceExecutorShards == null) {
+            deviceExecutorShards = new DeviceExecutorShards(deviceExecutorShardCount);
+        }
+        return deviceExecutorShards.shardFor(remoteDeviceId);
+    }
+
     protected NetconfConnectorDTO createDeviceCommunicator(final NodeId nodeId, final NetconfNode node) {
         //setup default values since default value is not supported in mdsal
         final long defaultRequestTimeoutMillis = node.getDefaultRequestTimeoutMillis() == null
@@ -330,8 +456,9 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         if (keepaliveDelay > 0) {
             LOG.warn("Adding keepalive facade, for device {}", nodeId);
-            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, this.keepaliveExecutor.getExecutor(),
-                    keepaliveDelay, defaultRequestTimeoutMillis);
+            // Teardown on reconnect runs on the shared keepalive executor rather than on the device shard
+            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, keepaliveTimer(remoteDeviceId),
+                    keepaliveExecutor.getExecutor(), timer, keepaliveDelay, defaultRequestTimeoutMillis);
         }
 
         // pre register yang library sources as fallback schemas to schema registry
@@ -388,8 +515,10 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         NetconfDeviceCommunicator netconfDeviceCommunicator =
              userCapabilities.isPresent() ? new NetconfDeviceCommunicator(remoteDeviceId, device,
-                     userCapabilities.get(), rpcMessageLimit)
-            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+                     userCapabilities.get(), rpcMessageLimit, defaultRequestTimeoutMillis,
+                     keepaliveTimer(remoteDeviceId))
+            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit, defaultRequestTimeoutMillis,
+                    keepaliveTimer(remoteDeviceId));
 
         if (salFacade instanceof KeepaliveSalFacade) {
             ((KeepaliveSalFacade)salFacade).setListener(netconfDeviceCommunicator);
@@ -402,7 +531,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = null;
         final String moduleSchemaCacheDirectory = node.getSchemaCacheDirectory();
         // Only checks to ensure the String is not empty or null; further checks related to directory
-        // accessibility and file permissionsare handled during the FilesystemSchemaSourceCache initialization.
+        // accessibility and file permissionsare handled during the SchemaSourceStore initialization.
         if (!Strings.isNullOrEmpty(moduleSchemaCacheDirectory)) {
             // If a custom schema cache directory is specified, create the backing DTO; otherwise,
             // the SchemaRegistry and SchemaContextFactory remain the default values.
@@ -450,28 +579,58 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
                 = repository.createEffectiveModelContextFactory(SchemaContextFactoryConfiguration.getDefault());
         setSchemaRegistry(repository);
         setSchemaContextFactory(contextFactory);
-        final FilesystemSchemaSourceCache<YangTextSchemaSource> deviceCache =
-                createDeviceFilesystemCache(moduleSchemaCacheDirectory);
+        final ContentAddressedSchemaSourceCache deviceCache = createDeviceSchemaCache(moduleSchemaCacheDirectory);
         repository.registerSchemaSourceListener(deviceCache);
         repository.registerSchemaSourceListener(
             InMemorySchemaSourceCache.createSoftCache(repository, ASTSchemaSource.class));
         return new NetconfDevice.SchemaResourcesDTO(repository, repository, contextFactory,
-                new NetconfStateSchemasResolverImpl());
+                new NetconfStateSchemasResolverImpl(), openSchemaSetupSnapshots(moduleSchemaCacheDirectory));
     }
 
     /**
-     * Creates a <code>FilesystemSchemaSourceCache</code> for the custom schema cache directory.
+     * Creates a <code>ContentAddressedSchemaSourceCache</code> for the custom schema cache directory.
      *
      * @param schemaCacheDirectory The custom cache directory relative to "cache"
-     * @return A <code>FilesystemSchemaSourceCache</code> for the custom schema cache directory
+     * @return A <code>ContentAddressedSchemaSourceCache</code> for the custom schema cache directory
      */
-    private FilesystemSchemaSourceCache<YangTextSchemaSource> createDeviceFilesystemCache(
-            final String schemaCacheDirectory) {
+    private ContentAddressedSchemaSourceCache createDeviceSchemaCache(final String schemaCacheDirectory) {
         final String relativeSchemaCacheDirectory = CACHE_DIRECTORY + File.separator + schemaCacheDirectory;
-        return new FilesystemSchemaSourceCache<>(schemaRegistry, YangTextSchemaSource.class,
+        return ContentAddressedSchemaSourceCache.forCacheDirectory(schemaRegistry, openSchemaSourceStore(),
                 new File(relativeSchemaCacheDirectory));
     }
 
+    /**
+     * Open schema setup snapshots for a schema cache directory. Snapshots only speed up schema setup, hence failing to
+     * open them is not fatal.
+     *
+     * @param schemaCacheDirectory Schema cache directory name, relative to the cache directory
+     * @return Snapshots, or null if the snapshot directory cannot be accessed
+     */
+    private static SchemaSetupSnapshots openSchemaSetupSnapshots(final String schemaCacheDirectory) {
+        final File directory = new File(QUALIFIED_SCHEMA_SETUP_DIRECTORY, schemaCacheDirectory);
+        try {
+            return SchemaSetupSnapshots.forDirectory(directory);
+        } catch (IOException e) {
+            LOG.warn("Cannot access schema setup snapshots in {}, schema setup will not use them", directory, e);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the <code>SchemaSourceStore</code> shared by all schema cache directories.
+     *
+     * @return The shared <code>SchemaSourceStore</code>
+     * @throws IllegalArgumentException if the store directory cannot be accessed
+     */
+    private static SchemaSourceStore openSchemaSourceStore() {
+        try {
+            return SchemaSourceStore.forDirectory(new File(QUALIFIED_SCHEMA_STORE_DIRECTORY));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot access schema source store " + QUALIFIED_SCHEMA_STORE_DIRECTORY,
+                e);
+        }
+    }
+
     /**
      * Sets the private key path from location specified in configuration file using blueprint.
      */
@@ -486,6 +645,51 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the timer driving keepalives and request timeouts of devices using blueprint.
+     */
+    public void setTimer(final Timer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Sets whether write transactions of mount points coalesce their modifications into as few edit-config RPCs as
+     * possible using blueprint. Takes effect for devices connected after it is set.
+     */
+    public void setCoalesceEdits(final boolean coalesceEdits) {
+        this.coalesceEdits = coalesceEdits;
+    }
+
+    /**
+     * Sets the maximum number of connection attempts in progress at any time using blueprint. Non-positive value
+     * disables the limit. Takes effect only if set before the first node is connected.
+     */
+    public void setConnectConcurrencyLimit(final int connectConcurrencyLimit) {
+        this.connectConcurrencyLimit = connectConcurrencyLimit;
+    }
+
+    /**
+     * Sets the maximum number of connection attempts started per second using blueprint. Non-positive value disables
+     * the limit. Takes effect only if set before the first node is connected.
+     */
+    public void setConnectRate(final double connectRate) {
+        this.connectRate = connectRate;
+    }
+
+    /**
+     * Sets the number of device executor shards using blueprint. When positive, expired keepalive and request timeout
+     * tasks of each device run on one of this many dedicated threads, selected by device name, instead of the shared
+     * keepalive executor. Reconnects still run on the shared keepalive executor. Takes effect for devices connected
+     * after it is set, devices connected before keep their executors until the topology is closed.
+     */
+    public synchronized void setDeviceExecutorShards(final int deviceExecutorShardCount) {
+        if (deviceExecutorShards != null && deviceExecutorShardCount != this.deviceExecutorShardCount) {
+            retiredDeviceExecutorShards.add(deviceExecutorShards);
+            deviceExecutorShards = null;
+        }
+        this.deviceExecutorShardCount = deviceExecutorShardCount;
+    }
+
     public NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
                                                                   final NetconfNode node) {
 
@@ -498,11 +702,16 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
                 ? DEFAULT_BETWEEN_ATTEMPTS_TIMEOUT_MILLIS : node.getBetweenAttemptsTimeoutMillis();
         final boolean useTcp = node.isTcpOnly() == null ? DEFAULT_IS_TCP_ONLY : node.isTcpOnly();
         final BigDecimal sleepFactor = node.getSleepFactor() == null ? DEFAULT_SLEEP_FACTOR : node.getSleepFactor();
+        final boolean reconnectJitter = node.isReconnectJitter() == null ? DEFAULT_RECONNECT_JITTER
+                : node.isReconnectJitter();
 
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue());
 
-        final ReconnectStrategyFactory sf = new TimedReconnectStrategyFactory(eventExecutor,
-                maxConnectionAttempts, betweenAttemptsTimeoutMillis, sleepFactor);
+        final ReconnectStrategyFactory sf = reconnectJitter
+                ? new JitteredReconnectStrategyFactory(eventExecutor, maxConnectionAttempts,
+                    betweenAttemptsTimeoutMillis, sleepFactor)
+                : new TimedReconnectStrategyFactory(eventExecutor, maxConnectionAttempts,
+                    betweenAttemptsTimeoutMillis, sleepFactor);
 
         final NetconfReconnectingClientConfigurationBuilder reconnectingClientConfigurationBuilder;
         final Protocol protocol = node.getProtocol();
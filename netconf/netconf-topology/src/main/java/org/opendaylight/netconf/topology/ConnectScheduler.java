@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for connection attempts of a topology. Starting a connection costs a TCP and SSH or TLS handshake
+ * and NETCONF hello exchange, both on our side and on the device's authentication servers. When thousands of nodes
+ * appear at once, for example on restart, starting all of them together saturates CPU and causes handshakes to time
+ * out and be retried, so that it takes longer for all nodes to be mounted than if they were started gradually.
+ *
+ * <p>
+ * Connection attempts are therefore started at a limited rate and with a limited number in progress at any time.
+ * An attempt holds its slot until its session is established, it fails, it is cancelled or its hold time expires,
+ * whichever comes first. Waiting attempts are started in {@link Priority} order, first-come first-served within a
+ * priority.
+ *
+ * <p>
+ * The slot covers only the transport handshake and NETCONF hello exchange. Schema resolution and mount point setup
+ * run after the session is established, on the device processing executor, and are not limited by this scheduler.
+ *
+ * <p>
+ * Only connection attempts started by the topology itself pass through the scheduler. Reconnects after an established
+ * session drops are driven by the reconnect strategy of the client dispatcher, which is bounded by its own reconnect
+ * budget, and the clustered topology does not use the scheduler at all.
+ */
+public final class ConnectScheduler {
+    /**
+     * Priority of a connection attempt, in descending order.
+     */
+    public enum Priority {
+        /**
+         * Node which was connected recently, for example one whose configuration was updated. Its users are likely
+         * waiting for it to come back.
+         */
+        RECONNECT,
+        /**
+         * Node which is being connected for the first time.
+         */
+        NEW
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectScheduler.class);
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final ScheduledExecutorService executor;
+    private final int maxConcurrent;
+    private final double permitsPerSecond;
+    private final double maxTokens;
+
+    @GuardedBy("this")
+    private final List<Queue<Admission>> queues = new ArrayList<>(PRIORITIES.length);
+    @GuardedBy("this")
+    private final Map<NodeId, Admission> admissions = new HashMap<>();
+    @GuardedBy("this")
+    private int active;
+    @GuardedBy("this")
+    private double tokens;
+    @GuardedBy("this")
+    private long lastRefillNanos;
+    @GuardedBy("this")
+    private boolean drainScheduled;
+    // Set when an attempt had to wait for admission limits, reset once the backlog clears
+    @GuardedBy("this")
+    private boolean backlogged;
+
+    // Statistics
+    @GuardedBy("this")
+    private long admittedCount;
+    @GuardedBy("this")
+    private long totalWaitNanos;
+    @GuardedBy("this")
+    private long maxWaitNanos;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param executor Executor used to start attempts delayed by rate limiting and to expire hold times
+     * @param maxConcurrent Maximum number of attempts in progress, non-positive for no limit
+     * @param permitsPerSecond Maximum rate of starting attempts, non-positive for no limit. Up to one second worth of
+     *                         attempts can be started at once.
+     */
+    public ConnectScheduler(final ScheduledExecutorService executor, final int maxConcurrent,
+            final double permitsPerSecond) {
+        this.executor = requireNonNull(executor);
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Integer.MAX_VALUE;
+        this.permitsPerSecond = permitsPerSecond;
+        this.maxTokens = Math.max(1, permitsPerSecond);
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Submit a connection attempt of a node, cancelling any previous attempt of the node. The attempt is started
+     * immediately if admission limits allow it, otherwise it is queued.
+     *
+     * @param nodeId Node identifier
+     * @param priority Attempt priority
+     * @param maxHoldMillis Maximum time the attempt holds its slot, non-positive for no limit
+     * @param start Starts the attempt, returning a future which completes once the attempt no longer needs its slot
+     * @return Future which completes once the attempt is started, fails if it cannot be started and is cancelled if
+     *         the attempt is cancelled before it is started
+     */
+    public ListenableFuture<Void> submit(final NodeId nodeId, final Priority priority, final long maxHoldMillis,
+            final Supplier<? extends ListenableFuture<?>> start) {
+        final Admission admission = new Admission(requireNonNull(nodeId), maxHoldMillis, requireNonNull(start));
+        final Admission previous;
+        synchronized (this) {
+            previous = admissions.put(nodeId, admission);
+            queues.get(requireNonNull(priority).ordinal()).add(admission);
+            LOG.debug("{}: Connection attempt queued with priority {}, {}", nodeId, priority, this);
+        }
+        if (previous != null) {
+            cancel(previous);
+        }
+        drain();
+        return admission.started;
+    }
+
+    /**
+     * Cancel the connection attempt of a node. A queued attempt is not started, an attempt in progress releases its
+     * slot. Once this method returns, the attempt is guaranteed not to be started.
+     *
+     * @param nodeId Node identifier
+     * @return True if the node had an attempt queued or in progress
+     */
+    public boolean cancel(final NodeId nodeId) {
+        final Admission admission;
+        synchronized (this) {
+            admission = admissions.get(nodeId);
+        }
+        if (admission == null) {
+            return false;
+        }
+        cancel(admission);
+        return true;
+    }
+
+    /**
+     * Cancel all queued attempts and release slots of attempts in progress.
+     */
+    public void cancelAll() {
+        final List<Admission> toCancel;
+        synchronized (this) {
+            toCancel = new ArrayList<>(admissions.values());
+        }
+        toCancel.forEach(this::cancel);
+    }
+
+    public synchronized int getQueuedCount() {
+        return queues.stream().mapToInt(Queue::size).sum();
+    }
+
+    public synchronized int getQueuedCount(final Priority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    public synchronized long getAdmittedCount() {
+        return admittedCount;
+    }
+
+    public synchronized long getMaxQueueWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    public synchronized long getAverageQueueWaitMillis() {
+        return admittedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / admittedCount);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("queued", getQueuedCount()).add("active", active)
+                .add("admitted", admittedCount).add("maxWaitMillis", getMaxQueueWaitMillis()).toString();
+    }
+
+    private void cancel(final Admission admission) {
+        synchronized (admission) {
+            // Prevents the attempt from starting, or waits until it started
+            admission.cancelled = true;
+            admission.started.cancel(false);
+        }
+        synchronized (this) {
+            admissions.remove(admission.nodeId, admission);
+            if (!admission.admitted) {
+                queues.forEach(queue -> queue.remove(admission));
+                return;
+            }
+        }
+        release(admission);
+    }
+
+    private void release(final Admission admission) {
+        final ScheduledFuture<?> holdTimeout;
+        synchronized (this) {
+            if (!admission.admitted || admission.released) {
+                return;
+            }
+            admission.released = true;
+            active--;
+            admissions.remove(admission.nodeId, admission);
+            holdTimeout = admission.holdTimeout;
+        }
+        if (holdTimeout != null) {
+            holdTimeout.cancel(false);
+        }
+        drain();
+    }
+
+    private void drain() {
+        final List<Admission> admitted = new ArrayList<>();
+        synchronized (this) {
+            while (true) {
+                final Queue<Admission> queue = nextQueue();
+                if (queue == null) {
+                    break;
+                }
+                if (active >= maxConcurrent) {
+                    // Released slots drain the queue
+                    backlogged = true;
+                    break;
+                }
+                final long now = System.nanoTime();
+                if (!tryAcquireToken(now)) {
+                    backlogged = true;
+                    scheduleDrain();
+                    break;
+                }
+
+                final Admission next = queue.remove();
+                next.admitted = true;
+                active++;
+
+                final long waitNanos = now - next.queuedNanos;
+                admittedCount++;
+                totalWaitNanos += waitNanos;
+                maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+                admitted.add(next);
+            }
+
+            if (backlogged && getQueuedCount() == 0) {
+                backlogged = false;
+                LOG.info("All queued connection attempts started, {}", this);
+            }
+        }
+
+        for (Admission admission : admitted) {
+            start(admission);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void start(final Admission admission) {
+        final ListenableFuture<?> future;
+        synchronized (admission) {
+            if (admission.cancelled) {
+                return;
+            }
+            LOG.debug("{}: Starting connection attempt", admission.nodeId);
+            try {
+                future = admission.start.get();
+            } catch (RuntimeException e) {
+                LOG.error("{}: Failed to start connection attempt", admission.nodeId, e);
+                admission.started.setException(e);
+                release(admission);
+                return;
+            }
+            admission.started.set(null);
+        }
+
+        if (admission.maxHoldMillis > 0) {
+            final ScheduledFuture<?> holdTimeout = executor.schedule(() -> {
+                LOG.debug("{}: Connection attempt did not complete in {}ms, releasing its slot", admission.nodeId,
+                    admission.maxHoldMillis);
+                release(admission);
+            }, admission.maxHoldMillis, TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                admission.holdTimeout = holdTimeout;
+            }
+        }
+        future.addListener(() -> release(admission), MoreExecutors.directExecutor());
+    }
+
+    @GuardedBy("this")
+    private Queue<Admission> nextQueue() {
+        for (Queue<Admission> queue : queues) {
+            if (!queue.isEmpty()) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    @GuardedBy("this")
+    private boolean tryAcquireToken(final long now) {
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+        tokens = Math.min(maxTokens, tokens + (now - lastRefillNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    @GuardedBy("this")
+    private void scheduleDrain() {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            final long delayNanos = (long) Math.ceil((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            executor.schedule(() -> {
+                synchronized (this) {
+                    drainScheduled = false;
+                }
+                drain();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class Admission {
+        final NodeId nodeId;
+        final long maxHoldMillis;
+        final Supplier<? extends ListenableFuture<?>> start;
+        final long queuedNanos = System.nanoTime();
+        final SettableFuture<Void> started = SettableFuture.create();
+
+        // Guarded by the Admission itself, so that cancellation can wait for the attempt to start
+        volatile boolean cancelled;
+
+        // Guarded by the scheduler
+        boolean admitted;
+        boolean released;
+        ScheduledFuture<?> holdTimeout;
+
+        Admission(final NodeId nodeId, final long maxHoldMillis, final Supplier<? extends ListenableFuture<?>> start) {
+            this.nodeId = nodeId;
+            this.maxHoldMillis = maxHoldMillis;
+            this.start = start;
+        }
+    }
+}
@@ -74,6 +74,7 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
     @Override
     public void close() {
         // close all existing connectors, delete whole topology in datastore?
+        cancelPendingConnects();
         for (final NetconfConnectorDTO connectorDTO : activeConnectors.values()) {
             connectorDTO.close();
         }
@@ -83,11 +84,12 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
             datastoreListenerRegistration.close();
             datastoreListenerRegistration = null;
         }
+        closeDeviceExecutorShards();
     }
 
     @Override
     protected RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(final RemoteDeviceId id) {
-        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker);
+        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker, coalesceEdits);
     }
 
     /**
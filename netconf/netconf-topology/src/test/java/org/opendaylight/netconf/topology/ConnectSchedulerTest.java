@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.topology.ConnectScheduler.Priority;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+
+public class ConnectSchedulerTest {
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, SettableFuture<Void>> attempts = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrencyLimitAndPriority() {
+        final ConnectScheduler scheduler = new ConnectScheduler(executor, 1, 0);
+        submit(scheduler, "first", Priority.NEW);
+        submit(scheduler, "second", Priority.NEW);
+        submit(scheduler, "reconnected", Priority.RECONNECT);
+        assertEquals(ImmutableList.of("first"), started);
+        assertEquals(1, scheduler.getActiveCount());
+        assertEquals(2, scheduler.getQueuedCount());
+        assertEquals(1, scheduler.getQueuedCount(Priority.RECONNECT));
+
+        // Reconnected node overtakes the node queued before it
+        attempts.get("first").set(null);
+        assertEquals(ImmutableList.of("first", "reconnected"), started);
+
+        attempts.get("reconnected").set(null);
+        assertEquals(ImmutableList.of("first", "reconnected", "second"), started);
+        assertEquals(0, scheduler.getQueuedCount());
+        assertEquals(3, scheduler.getAdmittedCount());
+    }
+
+    @Test
+    public void testCancel() {
+        final ConnectScheduler scheduler = new ConnectScheduler(executor, 1, 0);
+        final ListenableFuture<Void> first = submit(scheduler, "first", Priority.NEW);
+        final ListenableFuture<Void> second = submit(scheduler, "second", Priority.NEW);
+        final ListenableFuture<Void> third = submit(scheduler, "third", Priority.NEW);
+
+        // Queued attempt is never started, cancelled attempt in progress releases its slot
+        assertTrue(scheduler.cancel(new NodeId("second")));
+        assertTrue(scheduler.cancel(new NodeId("first")));
+        assertFalse(scheduler.cancel(new NodeId("first")));
+        assertEquals(ImmutableList.of("first", "third"), started);
+        assertEquals(1, scheduler.getActiveCount());
+
+        // Only the attempt cancelled before it started reports the cancellation
+        assertTrue(first.isDone());
+        assertFalse(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertTrue(third.isDone());
+        assertFalse(third.isCancelled());
+    }
+
+    @Test
+    public void testHoldTimeout() throws Exception {
+        final ConnectScheduler scheduler = new ConnectScheduler(executor, 1, 0);
+        scheduler.submit(new NodeId("stuck"), Priority.NEW, 100, () -> {
+            started.add("stuck");
+            return SettableFuture.create();
+        });
+        submit(scheduler, "next", Priority.NEW);
+        assertEquals(ImmutableList.of("stuck"), started);
+
+        awaitStarted(2);
+        assertEquals(ImmutableList.of("stuck", "next"), started);
+    }
+
+    @Test
+    public void testRateLimit() throws Exception {
+        final ConnectScheduler scheduler = new ConnectScheduler(executor, 0, 10);
+        for (int i = 0; i < 15; i++) {
+            submit(scheduler, "node" + i, Priority.NEW);
+        }
+
+        // One second worth of attempts is started at once, the rest as tokens become available
+        assertEquals(10, started.size());
+        awaitStarted(15);
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    private ListenableFuture<Void> submit(final ConnectScheduler scheduler, final String name,
+            final Priority priority) {
+        final SettableFuture<Void> attempt = SettableFuture.create();
+        attempts.put(name, attempt);
+        return scheduler.submit(new NodeId(name), priority, 0, () -> {
+            started.add(name);
+            return attempt;
+        });
+    }
+
+    private void awaitStarted(final int count) throws InterruptedException {
+        for (int i = 0; i < 50 && started.size() < count; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(count, started.size());
+    }
+}
@@ -25,7 +25,11 @@ import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.SucceededFuture;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -44,7 +48,13 @@ import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.client.conf.NetconfClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfiguration;
+import org.opendaylight.netconf.nettyutil.JitteredReconnectStrategyFactory;
+import org.opendaylight.netconf.nettyutil.TimedReconnectStrategyFactory;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.AbstractNetconfTopology;
 import org.opendaylight.netconf.topology.api.SchemaRepositoryProvider;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
@@ -140,6 +150,9 @@ public class NetconfTopologyImplTest {
                 networkTopologyId.child(Topology.class, new TopologyKey(new TopologyId(TOPOLOGY_ID))), topo);
         verify(wtx).merge(LogicalDatastoreType.OPERATIONAL,
                 networkTopologyId.child(Topology.class, new TopologyKey(new TopologyId(TOPOLOGY_ID))), topo);
+
+        // No connection was attempted, hence there is no scheduler to report on
+        Assert.assertFalse(topology.getConnectScheduler().isPresent());
     }
 
     @Test
@@ -217,6 +230,7 @@ public class NetconfTopologyImplTest {
         Assert.assertEquals(NetconfClientConfiguration.NetconfClientProtocol.TCP, configuration.getProtocol());
         Assert.assertNotNull(configuration.getAuthHandler());
         Assert.assertNull(configuration.getSslHandlerFactory());
+        Assert.assertTrue(configuration.getConnectStrategyFactory() instanceof TimedReconnectStrategyFactory);
 
 
         final NetconfNode testingNode2 = new NetconfNodeBuilder()
@@ -227,6 +241,7 @@ public class NetconfTopologyImplTest {
                 .setBetweenAttemptsTimeoutMillis(100)
                 .setKeepaliveDelay(1000L)
                 .setTcpOnly(false)
+                .setReconnectJitter(true)
                 .setCredentials(new LoginPasswordBuilder()
                         .setUsername("testuser").setPassword("testpassword").build())
                 .build();
@@ -235,6 +250,7 @@ public class NetconfTopologyImplTest {
         Assert.assertEquals(NetconfClientConfiguration.NetconfClientProtocol.SSH, configuration2.getProtocol());
         Assert.assertNotNull(configuration2.getAuthHandler());
         Assert.assertNull(configuration2.getSslHandlerFactory());
+        Assert.assertTrue(configuration2.getConnectStrategyFactory() instanceof JitteredReconnectStrategyFactory);
 
 
         final NetconfNode testingNode3 = new NetconfNodeBuilder()
@@ -300,6 +316,65 @@ public class NetconfTopologyImplTest {
         }
     }
 
+    @Test
+    public void testDeviceExecutorShards() {
+        final ShardedNetconfTopologyImpl sharded = new ShardedNetconfTopologyImpl(TOPOLOGY_ID, mockedClientDispatcher,
+                mockedEventExecutor, mockedKeepaliveExecutor, mockedProcessingExecutor, mockedSchemaRepositoryProvider,
+                dataBroker, mountPointService, encryptionService);
+        sharded.setDeviceExecutorShards(4);
+        final ScheduledExecutorService keepalivePool = mock(ScheduledExecutorService.class);
+        doReturn(keepalivePool).when(mockedKeepaliveExecutor).getExecutor();
+        try {
+            final Map<String, Executor> executors = new HashMap<>();
+            for (int i = 0; i < 32; i++) {
+                final String name = "device" + i;
+                final KeepaliveSalFacade facade = sharded.keepaliveFacade(name);
+                final Executor executor = facade.getExecutor();
+                // Device keeps its shard across reconnects
+                Assert.assertSame(executor, sharded.keepaliveFacade(name).getExecutor());
+                Assert.assertTrue(executor instanceof EventExecutor);
+                // Reconnects do not block the shard
+                Assert.assertSame(keepalivePool, facade.getReconnectExecutor());
+                executors.put(name, executor);
+            }
+            Assert.assertEquals(4, new HashSet<>(executors.values()).size());
+
+            // Devices connected after the count changes use new shards
+            sharded.setDeviceExecutorShards(2);
+            Assert.assertFalse(executors.containsValue(sharded.keepaliveFacade("device0").getExecutor()));
+        } finally {
+            sharded.close();
+        }
+    }
+
+    private static class ShardedNetconfTopologyImpl extends TestingNetconfTopologyImpl {
+        ShardedNetconfTopologyImpl(final String topologyId, final NetconfClientDispatcher clientDispatcher,
+                                   final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
+                                   final ThreadPool processingExecutor,
+                                   final SchemaRepositoryProvider schemaRepositoryProvider,
+                                   final DataBroker dataBroker, final DOMMountPointService mountPointService,
+                                   final AAAEncryptionService encryptionService) {
+            super(topologyId, clientDispatcher, eventExecutor, keepaliveExecutor, processingExecutor,
+                schemaRepositoryProvider, dataBroker, mountPointService, encryptionService);
+        }
+
+        @Override
+        protected RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(final RemoteDeviceId id) {
+            return mock(RemoteDeviceHandler.class);
+        }
+
+        KeepaliveSalFacade keepaliveFacade(final String name) {
+            final NetconfNode node = new NetconfNodeBuilder()
+                    .setHost(new Host(new IpAddress(new Ipv4Address("127.0.0.1"))))
+                    .setPort(new PortNumber(9999))
+                    .setKeepaliveDelay(10L)
+                    .setSchemaless(true)
+                    .setTcpOnly(true)
+                    .build();
+            return (KeepaliveSalFacade) createDeviceCommunicator(new NodeId(name), node).getFacade();
+        }
+    }
+
     @Test
     public void hideCredentialsTest() {
         final String userName = "admin";
@@ -7,7 +7,9 @@
  */
 package org.opendaylight.netconf.util.messages;
 
-import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,7 @@ import org.w3c.dom.Document;
 
 public final class NetconfMessageUtil {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageUtil.class);
+    private static final Interner<String> CAPABILITY_INTERNER = Interners.newWeakInterner();
 
     private NetconfMessageUtil() {
 
@@ -65,6 +68,13 @@ public final class NetconfMessageUtil {
         }
     }
 
+    /**
+     * Extract capabilities advertised in a hello message. The returned strings are interned, so that sessions
+     * advertising the same capabilities do not hold on to their own copies.
+     *
+     * @param doc Hello message document
+     * @return Immutable list of capabilities, in the order they were advertised
+     */
     public static Collection<String> extractCapabilitiesFromHello(final Document doc) {
         XmlElement responseElement = XmlElement.fromDomDocument(doc);
         // Extract child element <capabilities> from <hello> with or without(fallback) the same namespace
@@ -75,15 +85,15 @@ public final class NetconfMessageUtil {
         }
 
         List<XmlElement> caps = capabilitiesElement.get().getChildElements(XmlNetconfConstants.CAPABILITY);
-        return Collections2.transform(caps, input -> {
+        final ImmutableList.Builder<String> builder = ImmutableList.builderWithExpectedSize(caps.size());
+        for (XmlElement cap : caps) {
             // Trim possible leading/tailing whitespace
             try {
-                return input.getTextContent().trim();
+                builder.add(CAPABILITY_INTERNER.intern(cap.getTextContent().trim()));
             } catch (DocumentedException e) {
                 LOG.trace("Error fetching input text content",e);
-                return null;
             }
-        });
-
+        }
+        return builder.build();
     }
 }
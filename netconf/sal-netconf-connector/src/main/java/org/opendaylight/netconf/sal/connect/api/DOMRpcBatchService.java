@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.api;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.IntConsumer;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.mdsal.dom.api.DOMRpcService;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * A {@link DOMRpcService} capable of invoking multiple RPCs at once. Implementations backed by a device session send
+ * the requests back-to-back, without waiting for replies to previous requests, so that the session is kept busy.
+ */
+public interface DOMRpcBatchService extends DOMRpcService {
+    /**
+     * Invoke multiple RPCs. Requests are sent in the order specified.
+     *
+     * @param rpcs RPC types and their inputs
+     * @return Futures of RPC results, in the order of requests
+     */
+    default List<ListenableFuture<DOMRpcResult>> invokeRpcs(
+            final List<? extends Entry<SchemaPath, NormalizedNode<?, ?>>> rpcs) {
+        return invokeRpcs(rpcs, index -> { });
+    }
+
+    /**
+     * Invoke multiple RPCs, notifying the caller as each request is actually sent. Requests are sent in the order
+     * specified, but some of them may be held back until replies to previous requests arrive.
+     *
+     * @param rpcs RPC types and their inputs
+     * @param onSent Callback invoked with the index of each request once it has been sent. It may be invoked from any
+     *               thread, including the calling one before this method returns, and must not block
+     * @return Futures of RPC results, in the order of requests
+     */
+    default List<ListenableFuture<DOMRpcResult>> invokeRpcs(
+            final List<? extends Entry<SchemaPath, NormalizedNode<?, ?>>> rpcs, final IntConsumer onSent) {
+        final List<ListenableFuture<DOMRpcResult>> ret = new ArrayList<>(rpcs.size());
+        for (Entry<SchemaPath, NormalizedNode<?, ?>> rpc : rpcs) {
+            ret.add(invokeRpc(rpc.getKey(), rpc.getValue()));
+            onSent.accept(ret.size() - 1);
+        }
+        return ret;
+    }
+}
@@ -8,6 +8,10 @@
 package org.opendaylight.netconf.sal.connect.api;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.IntConsumer;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 
@@ -15,6 +19,37 @@ public interface RemoteDeviceCommunicator<M> extends AutoCloseable {
 
     ListenableFuture<RpcResult<M>> sendRequest(M message, QName rpc);
 
+    /**
+     * Send multiple requests. Implementations may write them back-to-back and flush them at once, rather than
+     * sending each of them separately.
+     *
+     * @param requests Messages and corresponding RPC names
+     * @return Futures of replies, in the order of requests
+     */
+    default List<ListenableFuture<RpcResult<M>>> sendRequests(final List<? extends Entry<M, QName>> requests) {
+        return sendRequests(requests, index -> { });
+    }
+
+    /**
+     * Send multiple requests, notifying the caller as each of them is actually sent. Implementations may hold back
+     * some of the requests, for example to limit the number of outstanding requests, in which case the notification
+     * for them is delayed accordingly.
+     *
+     * @param requests Messages and corresponding RPC names
+     * @param onSent Callback invoked with the index of each request once it has been handed to the session. It may be
+     *               invoked from any thread, including the calling one before this method returns, and must not block
+     * @return Futures of replies, in the order of requests
+     */
+    default List<ListenableFuture<RpcResult<M>>> sendRequests(final List<? extends Entry<M, QName>> requests,
+            final IntConsumer onSent) {
+        final List<ListenableFuture<RpcResult<M>>> ret = new ArrayList<>(requests.size());
+        for (Entry<M, QName> request : requests) {
+            ret.add(sendRequest(request.getKey(), request.getValue()));
+            onSent.accept(ret.size() - 1);
+        }
+        return ret;
+    }
+
     @Override
     void close();
 }
@@ -19,17 +19,20 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
@@ -47,6 +50,7 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPrefe
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceRpc;
 import org.opendaylight.netconf.sal.connect.netconf.schema.NetconfRemoteSchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
+import org.opendaylight.netconf.sal.connect.netconf.schema.YangSourcePrefetcher;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
@@ -79,6 +83,9 @@ public class NetconfDevice
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDevice.class);
 
+    // Maximum number of sources requested from the device at the same time
+    private static final int SOURCE_PREFETCH_WINDOW = 32;
+
     protected final RemoteDeviceId id;
     protected final SchemaContextFactory schemaContextFactory;
     protected final SchemaSourceRegistry schemaRegistry;
@@ -92,6 +99,9 @@ public class NetconfDevice
     private final DeviceActionFactory deviceActionFactory;
     private final NetconfDeviceSchemasResolver stateSchemasResolver;
     private final NotificationHandler notificationHandler;
+    private final SchemaSetupCache schemaSetupCache;
+    private final YangSourcePrefetcher sourcePrefetcher;
+    private final @Nullable SchemaSetupSnapshots schemaSetupSnapshots;
     private final boolean reconnectOnSchemasChange;
 
     @GuardedBy("this")
@@ -131,6 +141,9 @@ public class NetconfDevice
         this.schemaRegistry = schemaResourcesDTO.getSchemaRegistry();
         this.schemaRepository = schemaResourcesDTO.getSchemaRepository();
         this.schemaContextFactory = schemaResourcesDTO.getSchemaContextFactory();
+        this.schemaSetupCache = SchemaSetupCache.forSchemaContextFactory(schemaContextFactory);
+        this.sourcePrefetcher = new YangSourcePrefetcher(id, schemaRepository, SOURCE_PREFETCH_WINDOW);
+        this.schemaSetupSnapshots = schemaResourcesDTO.getSchemaSetupSnapshots().orElse(null);
         this.salFacade = salFacade;
         this.stateSchemasResolver = schemaResourcesDTO.getStateSchemasResolver();
         this.processingExecutor = requireNonNull(globalProcessingExecutor);
@@ -312,15 +325,25 @@ public class NetconfDevice
         private final SchemaRepository schemaRepository;
         private final SchemaContextFactory schemaContextFactory;
         private final NetconfDeviceSchemasResolver stateSchemasResolver;
+        private final @Nullable SchemaSetupSnapshots schemaSetupSnapshots;
 
         public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
                                   final SchemaRepository schemaRepository,
                                   final SchemaContextFactory schemaContextFactory,
                                   final NetconfDeviceSchemasResolver deviceSchemasResolver) {
+            this(schemaRegistry, schemaRepository, schemaContextFactory, deviceSchemasResolver, null);
+        }
+
+        public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
+                                  final SchemaRepository schemaRepository,
+                                  final SchemaContextFactory schemaContextFactory,
+                                  final NetconfDeviceSchemasResolver deviceSchemasResolver,
+                                  final @Nullable SchemaSetupSnapshots schemaSetupSnapshots) {
             this.schemaRegistry = requireNonNull(schemaRegistry);
             this.schemaRepository = requireNonNull(schemaRepository);
             this.schemaContextFactory = requireNonNull(schemaContextFactory);
             this.stateSchemasResolver = requireNonNull(deviceSchemasResolver);
+            this.schemaSetupSnapshots = schemaSetupSnapshots;
         }
 
         public SchemaSourceRegistry getSchemaRegistry() {
@@ -338,6 +361,10 @@ public class NetconfDevice
         public NetconfDeviceSchemasResolver getStateSchemasResolver() {
             return stateSchemasResolver;
         }
+
+        public Optional<SchemaSetupSnapshots> getSchemaSetupSnapshots() {
+            return Optional.ofNullable(schemaSetupSnapshots);
+        }
     }
 
     /**
@@ -449,7 +476,8 @@ public class NetconfDevice
     }
 
     /**
-     * Schema builder that tries to build schema context from provided sources or biggest subset of it.
+     * Schema builder that tries to build schema context from provided sources or biggest subset of it. Devices with
+     * the same sources share the outcome through {@link SchemaSetupCache}, so that only one of them builds it.
      */
     private final class SchemaSetup implements Runnable {
         private final DeviceSources deviceSources;
@@ -457,6 +485,10 @@ public class NetconfDevice
         private final RemoteDeviceCommunicator<NetconfMessage> listener;
         private final NetconfDeviceCapabilities capabilities;
 
+        private SchemaSetupCache.Fingerprint fingerprint;
+        // Set when this setup builds the schema context on behalf of other devices with the same fingerprint
+        private SettableFuture<SchemaSetupCache.Result> sharedResult;
+
         SchemaSetup(final DeviceSources deviceSources, final NetconfSessionPreferences remoteSessionCapabilities,
                            final RemoteDeviceCommunicator<NetconfMessage> listener) {
             this.deviceSources = deviceSources;
@@ -466,7 +498,52 @@ public class NetconfDevice
         }
 
         @Override
+        @SuppressWarnings("checkstyle:IllegalCatch")
         public void run() {
+            fingerprint = SchemaSetupCache.fingerprint(deviceSources.getRequiredSourcesQName(),
+                deviceSources.getProvidedSourcesQName());
+            final SettableFuture<SchemaSetupCache.Result> future = SettableFuture.create();
+            if (reconnectOnSchemasChange) {
+                // Schemas of this device may have changed without changing its capabilities, build them anew
+                schemaSetupCache.replace(fingerprint, future);
+            } else {
+                final ListenableFuture<SchemaSetupCache.Result> existing = schemaSetupCache.join(fingerprint, future);
+                if (existing != null) {
+                    LOG.debug("{}: Reusing schema setup of a device with the same sources {}", id, fingerprint);
+                    Futures.addCallback(existing, new FutureCallback<SchemaSetupCache.Result>() {
+                        @Override
+                        public void onSuccess(final SchemaSetupCache.Result result) {
+                            reuseSchema(result);
+                        }
+
+                        @Override
+                        public void onFailure(final Throwable throwable) {
+                            LOG.debug("{}: Shared schema setup failed, performing own setup", id, throwable);
+                            buildSchema();
+                        }
+                    }, processingExecutor);
+                    return;
+                }
+            }
+
+            sharedResult = future;
+            try {
+                buildSchema();
+            } catch (RuntimeException e) {
+                // Do not leave devices waiting for us hanging
+                abandonSharedResult(e);
+                throw e;
+            }
+        }
+
+        private void buildSchema() {
+            // Schemas of this device may have changed, in which case the snapshot may no longer be accurate
+            if (schemaSetupSnapshots != null && !reconnectOnSchemasChange) {
+                final Optional<SchemaSetupSnapshots.Snapshot> snapshot = schemaSetupSnapshots.load(fingerprint);
+                if (snapshot.isPresent() && setUpSchemaFromSnapshot(snapshot.get())) {
+                    return;
+                }
+            }
 
             final Collection<SourceIdentifier> requiredSources = deviceSources.getRequiredSources();
             final Collection<SourceIdentifier> missingSources = filterMissingSources(requiredSources);
@@ -479,14 +556,8 @@ public class NetconfDevice
         }
 
         private Collection<SourceIdentifier> filterMissingSources(final Collection<SourceIdentifier> requiredSources) {
-            return requiredSources.parallelStream().filter(sourceIdentifier -> {
-                try {
-                    schemaRepository.getSchemaSource(sourceIdentifier, YangTextSchemaSource.class).get();
-                    return false;
-                } catch (InterruptedException | ExecutionException e) {
-                    return true;
-                }
-            }).collect(Collectors.toList());
+            // Sources not available locally are downloaded here, so that schema context assembly does not have to
+            return Futures.getUnchecked(sourcePrefetcher.prefetch(requiredSources));
         }
 
         /**
@@ -503,19 +574,15 @@ public class NetconfDevice
                             .createSchemaContext(requiredSources);
                     final SchemaContext result = schemaBuilderFuture.get();
                     LOG.debug("{}: Schema context built successfully from {}", id, requiredSources);
-                    final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(),
-                            capabilities.getUnresolvedCapabilites().keySet());
-                    capabilities.addCapabilities(filteredQNames.stream().map(entry -> new AvailableCapabilityBuilder()
-                            .setCapability(entry.toString()).setCapabilityOrigin(
-                                    remoteSessionCapabilities.getModuleBasedCapsOrigin().get(entry)).build())
-                            .collect(Collectors.toList()));
-
-                    capabilities.addNonModuleBasedCapabilities(remoteSessionCapabilities
-                            .getNonModuleCaps().stream().map(entry -> new AvailableCapabilityBuilder()
-                                    .setCapability(entry).setCapabilityOrigin(
-                                            remoteSessionCapabilities.getNonModuleBasedCapsOrigin().get(entry)).build())
-                            .collect(Collectors.toList()));
-
+                    // Partial setups are not recorded, so that missing sources are retried after a restart
+                    if (schemaSetupSnapshots != null && capabilities.getUnresolvedCapabilites().isEmpty()) {
+                        schemaSetupSnapshots.save(fingerprint, requiredSources);
+                    }
+                    if (sharedResult != null) {
+                        schemaSetupCache.complete(fingerprint, sharedResult, result,
+                            capabilities.getUnresolvedCapabilites());
+                    }
+                    addAvailableCapabilities();
                     handleSalInitializationSuccess(result, remoteSessionCapabilities, getDeviceSpecificRpc(result),
                             listener);
                     return;
@@ -534,21 +601,89 @@ public class NetconfDevice
                         requiredSources = handleSchemaResolutionException(requiredSources,
                             (SchemaResolutionException) cause);
                     } else {
+                        abandonSharedResult(e);
                         handleSalInitializationFailure(e, listener);
                         return;
                     }
                 } catch (final Exception e) {
                     // unknown error, fail
+                    abandonSharedResult(e);
                     handleSalInitializationFailure(e, listener);
                     return;
                 }
             }
             // No more sources, fail
             final IllegalStateException cause = new IllegalStateException(id + ": No more sources for schema context");
+            abandonSharedResult(cause);
             handleSalInitializationFailure(cause, listener);
             salFacade.onDeviceFailed(cause);
         }
 
+        /**
+         * Build schema context from sources recorded by a previous successful setup with the same fingerprint.
+         *
+         * @param snapshot Recorded setup
+         * @return True if the schema context was built and the device notified, false if a full setup is needed
+         */
+        private boolean setUpSchemaFromSnapshot(final SchemaSetupSnapshots.Snapshot snapshot) {
+            LOG.trace("{}: Trying to build schema context from snapshot {}", id, snapshot.getSources());
+            final SchemaContext result;
+            try {
+                result = schemaContextFactory.createSchemaContext(snapshot.getSources()).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.debug("{}: Interrupted while building schema context from snapshot", id, e);
+                return false;
+            } catch (ExecutionException e) {
+                LOG.debug("{}: Failed to build schema context from snapshot, performing full setup", id, e);
+                // Full setup records a new snapshot if it succeeds
+                schemaSetupSnapshots.remove(fingerprint);
+                return false;
+            }
+
+            LOG.debug("{}: Schema context built successfully from snapshot of {}", id, fingerprint);
+            if (sharedResult != null) {
+                schemaSetupCache.complete(fingerprint, sharedResult, result,
+                    capabilities.getUnresolvedCapabilites());
+            }
+            addAvailableCapabilities();
+            handleSalInitializationSuccess(result, remoteSessionCapabilities, getDeviceSpecificRpc(result), listener);
+            return true;
+        }
+
+        private void reuseSchema(final SchemaSetupCache.Result result) {
+            for (Entry<QName, UnavailableCapability.FailureReason> entry
+                    : result.getUnresolvedCapabilities().entrySet()) {
+                capabilities.addUnresolvedCapability(entry.getKey(), entry.getValue());
+            }
+            addAvailableCapabilities();
+
+            final SchemaContext schemaContext = result.getSchemaContext();
+            handleSalInitializationSuccess(schemaContext, remoteSessionCapabilities,
+                getDeviceSpecificRpc(schemaContext), listener);
+        }
+
+        private void abandonSharedResult(final Throwable cause) {
+            if (sharedResult != null) {
+                schemaSetupCache.abandon(fingerprint, sharedResult, cause);
+            }
+        }
+
+        private void addAvailableCapabilities() {
+            final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(),
+                    capabilities.getUnresolvedCapabilites().keySet());
+            capabilities.addCapabilities(filteredQNames.stream().map(entry -> new AvailableCapabilityBuilder()
+                    .setCapability(entry.toString()).setCapabilityOrigin(
+                            remoteSessionCapabilities.getModuleBasedCapsOrigin().get(entry)).build())
+                    .collect(Collectors.toList()));
+
+            capabilities.addNonModuleBasedCapabilities(remoteSessionCapabilities
+                    .getNonModuleCaps().stream().map(entry -> new AvailableCapabilityBuilder()
+                            .setCapability(entry).setCapabilityOrigin(
+                                    remoteSessionCapabilities.getNonModuleBasedCapsOrigin().get(entry)).build())
+                    .collect(Collectors.toList()));
+        }
+
         private Collection<SourceIdentifier> handleMissingSchemaSourceException(
                 final Collection<SourceIdentifier> requiredSources, final MissingSchemaSourceException exception) {
             // In case source missing, try without it
@@ -595,7 +730,9 @@ public class NetconfDevice
         }
 
         protected NetconfDeviceRpc getDeviceSpecificRpc(final SchemaContext result) {
-            return new NetconfDeviceRpc(result, listener, new NetconfMessageTransformer(result, true));
+            // Replies are parsed on the processing executor, so that large replies do not hold up the session
+            return new NetconfDeviceRpc(result, listener, new NetconfMessageTransformer(result, true),
+                processingExecutor);
         }
 
         private Collection<SourceIdentifier> stripUnavailableSource(final Collection<SourceIdentifier> requiredSources,
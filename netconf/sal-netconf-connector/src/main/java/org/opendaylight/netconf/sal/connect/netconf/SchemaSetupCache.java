@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability.FailureReason;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+
+/**
+ * Results of schema setups performed by {@link NetconfDevice}s, keyed by a fingerprint of the sources the device
+ * requires and provides. Devices running the same firmware report the same sources, hence only the first of them
+ * needs to resolve the sources and assemble the SchemaContext. Devices connecting while that is in progress wait for
+ * its outcome, devices connecting afterwards reuse it immediately.
+ *
+ * <p>
+ * Results are kept per {@link SchemaContextFactory}, as devices using different factories resolve sources from
+ * different repositories. Failed setups are not retained, as the failure is usually specific to the device which
+ * performed it. Partial setups, which left some capabilities unresolved, are handed to devices already waiting for
+ * them, but are not retained either, so that a device connecting later gets a chance to resolve the missing sources.
+ */
+final class SchemaSetupCache {
+    // Enough to cover the number of distinct firmware images in a large network
+    private static final int MAX_FINGERPRINTS = 256;
+
+    private static final LoadingCache<SchemaContextFactory, SchemaSetupCache> INSTANCES =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<SchemaContextFactory, SchemaSetupCache>() {
+                @Override
+                public SchemaSetupCache load(final SchemaContextFactory key) {
+                    return new SchemaSetupCache();
+                }
+            });
+
+    private final Cache<Fingerprint, ListenableFuture<Result>> setups =
+            CacheBuilder.newBuilder().maximumSize(MAX_FINGERPRINTS).build();
+
+    private SchemaSetupCache() {
+        // Hidden on purpose
+    }
+
+    static SchemaSetupCache forSchemaContextFactory(final SchemaContextFactory schemaContextFactory) {
+        return INSTANCES.getUnchecked(requireNonNull(schemaContextFactory));
+    }
+
+    /**
+     * Join a schema setup with specified fingerprint. If there is no such setup, the specified future is registered
+     * and the caller is responsible for completing it, either via
+     * {@link #complete(Fingerprint, SettableFuture, SchemaContext, Map)}
+     * or {@link #abandon(Fingerprint, SettableFuture, Throwable)}.
+     *
+     * @param fingerprint Fingerprint of device sources
+     * @param future Future to register
+     * @return Future of the existing setup, or null if the specified future has been registered
+     */
+    @Nullable ListenableFuture<Result> join(final Fingerprint fingerprint, final SettableFuture<Result> future) {
+        return setups.asMap().putIfAbsent(fingerprint, future);
+    }
+
+    /**
+     * Register a schema setup with specified fingerprint, replacing any existing setup. Devices which already wait for
+     * the replaced setup are not affected.
+     *
+     * @param fingerprint Fingerprint of device sources
+     * @param future Future to register
+     */
+    void replace(final Fingerprint fingerprint, final SettableFuture<Result> future) {
+        setups.put(fingerprint, future);
+    }
+
+    void complete(final Fingerprint fingerprint, final SettableFuture<Result> future,
+            final SchemaContext schemaContext, final Map<QName, FailureReason> unresolvedCapabilities) {
+        if (future.set(new Result(schemaContext, unresolvedCapabilities)) && !unresolvedCapabilities.isEmpty()) {
+            setups.asMap().remove(fingerprint, future);
+        }
+    }
+
+    void abandon(final Fingerprint fingerprint, final SettableFuture<Result> future, final Throwable cause) {
+        if (future.setException(cause)) {
+            setups.asMap().remove(fingerprint, future);
+        }
+    }
+
+    static Fingerprint fingerprint(final Set<QName> requiredSources, final Set<QName> providedSources) {
+        return new Fingerprint(ImmutableSet.copyOf(requiredSources), ImmutableSet.copyOf(providedSources));
+    }
+
+    static final class Fingerprint {
+        private final ImmutableSet<QName> requiredSources;
+        private final ImmutableSet<QName> providedSources;
+        private final int hashCode;
+
+        Fingerprint(final ImmutableSet<QName> requiredSources, final ImmutableSet<QName> providedSources) {
+            this.requiredSources = requireNonNull(requiredSources);
+            this.providedSources = requireNonNull(providedSources);
+            // Sets are large and compared often, compute the hash only once
+            this.hashCode = 31 * requiredSources.hashCode() + providedSources.hashCode();
+        }
+
+        /**
+         * Return a digest of this fingerprint, which is stable across restarts and independent of source ordering.
+         *
+         * @return Hex-encoded SHA-256 digest
+         */
+        String digest() {
+            final Hasher hasher = Hashing.sha256().newHasher();
+            putSorted(hasher, requiredSources);
+            // Separate the sets, so that moving a source from one to the other changes the digest
+            hasher.putChar('\n');
+            putSorted(hasher, providedSources);
+            return hasher.hash().toString();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint other = (Fingerprint) obj;
+            return hashCode == other.hashCode && requiredSources.equals(other.requiredSources)
+                    && providedSources.equals(other.providedSources);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("required", requiredSources.size())
+                    .add("provided", providedSources.size()).add("hash", hashCode).toString();
+        }
+
+        private static void putSorted(final Hasher hasher, final Set<QName> sources) {
+            sources.stream().map(QName::toString).sorted().forEach(
+                source -> hasher.putString(source, StandardCharsets.UTF_8).putChar(' '));
+        }
+    }
+
+    static final class Result {
+        private final SchemaContext schemaContext;
+        private final ImmutableMap<QName, FailureReason> unresolvedCapabilities;
+
+        Result(final SchemaContext schemaContext, final Map<QName, FailureReason> unresolvedCapabilities) {
+            this.schemaContext = requireNonNull(schemaContext);
+            this.unresolvedCapabilities = ImmutableMap.copyOf(unresolvedCapabilities);
+        }
+
+        SchemaContext getSchemaContext() {
+            return schemaContext;
+        }
+
+        /**
+         * Return capabilities which could not be resolved when assembling the SchemaContext. These are the same for
+         * all devices with the same fingerprint.
+         *
+         * @return Unresolved capabilities and reasons
+         */
+        ImmutableMap<QName, FailureReason> getUnresolvedCapabilities() {
+            return unresolvedCapabilities;
+        }
+    }
+}
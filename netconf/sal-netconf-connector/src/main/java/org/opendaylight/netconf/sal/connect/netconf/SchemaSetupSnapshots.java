@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent record of successful schema setups, keyed by the fingerprint of device sources. A snapshot lists the
+ * sources the SchemaContext was assembled from. After a restart, the first device with a known fingerprint assembles
+ * the SchemaContext directly from these sources, without checking each source first.
+ *
+ * <p>
+ * Only setups which resolved all capabilities are recorded. A partial setup would otherwise be replayed after every
+ * restart, never giving the missing sources another chance to resolve.
+ *
+ * <p>
+ * The effective model itself is not persisted, as yangtools does not provide a serialized form of it.
+ */
+public final class SchemaSetupSnapshots {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaSetupSnapshots.class);
+    private static final String SUFFIX = ".setup";
+    private static final String SOURCE = "source";
+    private static final String SEPARATOR = "\t";
+
+    private final Path directory;
+
+    private SchemaSetupSnapshots(final Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    /**
+     * Open snapshots stored in specified directory, creating it if needed.
+     *
+     * @param directory Snapshot directory
+     * @return A SchemaSetupSnapshots
+     * @throws IOException if the directory cannot be created
+     */
+    public static SchemaSetupSnapshots forDirectory(final File directory) throws IOException {
+        final Path path = directory.toPath();
+        Files.createDirectories(path);
+        return new SchemaSetupSnapshots(path);
+    }
+
+    Optional<Snapshot> load(final SchemaSetupCache.Fingerprint fingerprint) {
+        final Path file = snapshotPath(fingerprint);
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            LOG.warn("Failed to read schema setup snapshot {}", file, e);
+            return Optional.empty();
+        }
+
+        final ImmutableList.Builder<SourceIdentifier> sources = ImmutableList.builder();
+        try {
+            for (String line : lines) {
+                final String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("Malformed line \"" + line + "\"");
+                }
+                if (!SOURCE.equals(fields[0])) {
+                    throw new IllegalArgumentException("Unknown record \"" + line + "\"");
+                }
+                sources.add(RevisionSourceIdentifier.create(fields[1],
+                    Revision.ofNullable(fields[2].isEmpty() ? null : fields[2])));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            LOG.warn("Ignoring corrupted schema setup snapshot {}", file, e);
+            return Optional.empty();
+        }
+        return Optional.of(new Snapshot(sources.build()));
+    }
+
+    void save(final SchemaSetupCache.Fingerprint fingerprint, final Collection<SourceIdentifier> sources) {
+        final List<String> lines = new ArrayList<>(sources.size());
+        for (SourceIdentifier source : sources) {
+            lines.add(SOURCE + SEPARATOR + source.getName() + SEPARATOR
+                + source.getRevision().map(Revision::toString).orElse(""));
+        }
+
+        final Path file = snapshotPath(fingerprint);
+        try {
+            Files.createDirectories(directory);
+            final Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tmp, lines, StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to write schema setup snapshot {}", file, e);
+        }
+    }
+
+    void remove(final SchemaSetupCache.Fingerprint fingerprint) {
+        final Path file = snapshotPath(fingerprint);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to remove schema setup snapshot {}", file, e);
+        }
+    }
+
+    private Path snapshotPath(final SchemaSetupCache.Fingerprint fingerprint) {
+        return directory.resolve(fingerprint.digest() + SUFFIX);
+    }
+
+    static final class Snapshot {
+        private final ImmutableList<SourceIdentifier> sources;
+
+        Snapshot(final ImmutableList<SourceIdentifier> sources) {
+            this.sources = requireNonNull(sources);
+        }
+
+        ImmutableList<SourceIdentifier> getSources() {
+            return sources;
+        }
+    }
+}
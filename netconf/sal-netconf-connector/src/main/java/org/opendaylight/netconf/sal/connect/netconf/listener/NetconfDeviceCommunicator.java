@@ -7,24 +7,40 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.listener;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import io.netty.channel.ChannelFuture;
 import io.netty.util.concurrent.Future;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
+import org.opendaylight.netconf.api.StreamableNetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
@@ -36,6 +52,7 @@ import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfigurati
 import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.netconf.util.NormalizedRpcRequestMessage;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -44,11 +61,14 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 
 public class NetconfDeviceCommunicator
         implements NetconfClientSessionListener, RemoteDeviceCommunicator<NetconfMessage> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceCommunicator.class);
+    private static final int MAX_EXPIRED_REQUESTS = 1024;
+    private static final String REASSIGNED_ID_PREFIX = "m";
 
     protected final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice;
     private final Optional<UserPreferences> overrideNetconfCapabilities;
@@ -57,8 +77,26 @@ public class NetconfDeviceCommunicator
 
     private final Semaphore semaphore;
     private final int concurentRpcMsgs;
-
-    private final Queue<Request> requests = new ArrayDeque<>();
+    private final long requestTimeoutNanos;
+    private final ScheduledExecutorService timeoutExecutor;
+
+    // Outstanding requests indexed by their message-id, in the order they were sent. Guarded by sessionLock.
+    private final Map<String, Request> requests = new LinkedHashMap<>();
+    // Recently expired message-ids, so we can recognize late replies. Guarded by sessionLock.
+    private final Set<String> expiredRequests = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_EXPIRED_REQUESTS;
+        }
+    });
+    // Number of message-ids assigned by this communicator. Guarded by sessionLock.
+    private long reassignedIds;
+    // Requests submitted through sendRequests(), waiting for a permit. Guarded by sessionLock.
+    private final Deque<QueuedRequest> windowQueue = new ArrayDeque<>();
+    // Task expiring the oldest outstanding request, if any. Guarded by sessionLock.
+    private ScheduledFuture<?> expiryTask;
     private NetconfClientSession currentSession;
 
     private final SettableFuture<NetconfDeviceCapabilities> firstConnectionFuture;
@@ -73,29 +111,86 @@ public class NetconfDeviceCommunicator
             AtomicIntegerFieldUpdater.newUpdater(NetconfDeviceCommunicator.class, "closing");
     private volatile int closing;
 
+    // Time the last message was received in current session, valid only when lastMessageReceived is set
+    private volatile long lastMessageNanos;
+    private volatile boolean lastMessageReceived;
+
     public boolean isSessionClosing() {
         return closing != 0;
     }
 
+    /**
+     * Return the time the last message, a reply or a notification, was received from the device in current session.
+     * Any message proves the session alive, hence this can be used to avoid probing a session which is not idle.
+     *
+     * @return Time as reported by {@link System#nanoTime()}, empty if no message has been received in current session
+     */
+    public OptionalLong getLastMessageNanos() {
+        return lastMessageReceived ? OptionalLong.of(lastMessageNanos) : OptionalLong.empty();
+    }
+
     public NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final UserPreferences netconfSessionPreferences, final int rpcMessageLimit) {
-        this(id, remoteDevice, Optional.of(netconfSessionPreferences), rpcMessageLimit);
+        this(id, remoteDevice, netconfSessionPreferences, rpcMessageLimit, 0, null);
     }
 
     public NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final int rpcMessageLimit) {
-        this(id, remoteDevice, Optional.absent(), rpcMessageLimit);
+        this(id, remoteDevice, rpcMessageLimit, 0, null);
+    }
+
+    /**
+     * Create a new communicator.
+     *
+     * @param id Device identifier
+     * @param remoteDevice Remote device
+     * @param netconfSessionPreferences Capabilities overriding the ones advertised by the device
+     * @param rpcMessageLimit Maximum number of outstanding requests, non-positive value means no limit
+     * @param requestTimeoutMillis Time after which an outstanding request is failed, non-positive value means
+     *                             requests do not time out
+     * @param timeoutExecutor Executor used to expire outstanding requests, required if requests time out
+     */
+    public NetconfDeviceCommunicator(
+            final RemoteDeviceId id,
+            final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
+            final UserPreferences netconfSessionPreferences, final int rpcMessageLimit,
+            final long requestTimeoutMillis, final ScheduledExecutorService timeoutExecutor) {
+        this(id, remoteDevice, Optional.of(netconfSessionPreferences), rpcMessageLimit, requestTimeoutMillis,
+            timeoutExecutor);
+    }
+
+    /**
+     * Create a new communicator.
+     *
+     * @param id Device identifier
+     * @param remoteDevice Remote device
+     * @param rpcMessageLimit Maximum number of outstanding requests, non-positive value means no limit
+     * @param requestTimeoutMillis Time after which an outstanding request is failed, non-positive value means
+     *                             requests do not time out
+     * @param timeoutExecutor Executor used to expire outstanding requests, required if requests time out
+     */
+    public NetconfDeviceCommunicator(
+            final RemoteDeviceId id,
+            final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
+            final int rpcMessageLimit, final long requestTimeoutMillis,
+            final ScheduledExecutorService timeoutExecutor) {
+        this(id, remoteDevice, Optional.absent(), rpcMessageLimit, requestTimeoutMillis, timeoutExecutor);
     }
 
     private NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
-            final Optional<UserPreferences> overrideNetconfCapabilities, final int rpcMessageLimit) {
+            final Optional<UserPreferences> overrideNetconfCapabilities, final int rpcMessageLimit,
+            final long requestTimeoutMillis, final ScheduledExecutorService timeoutExecutor) {
+        checkArgument(requestTimeoutMillis <= 0 || timeoutExecutor != null,
+            "Request timeout %s requires an executor", requestTimeoutMillis);
         this.concurentRpcMsgs = rpcMessageLimit;
+        this.requestTimeoutNanos = requestTimeoutMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis) : 0;
+        this.timeoutExecutor = timeoutExecutor;
         this.id = id;
         this.remoteDevice = remoteDevice;
         this.overrideNetconfCapabilities = overrideNetconfCapabilities;
@@ -109,6 +204,7 @@ public class NetconfDeviceCommunicator
         try {
             LOG.debug("{}: Session established", id);
             currentSession = session;
+            lastMessageReceived = false;
 
             NetconfSessionPreferences netconfSessionPreferences =
                                              NetconfSessionPreferences.fromNetconfSession(session);
@@ -180,6 +276,7 @@ public class NetconfDeviceCommunicator
         }
         LOG.debug("Tearing down {}", reason);
         final List<UncancellableFuture<RpcResult<NetconfMessage>>> futuresToCancel = new ArrayList<>();
+        final List<QueuedRequest> queuedToCancel = new ArrayList<>();
         sessionLock.lock();
         try {
             if (currentSession != null) {
@@ -188,17 +285,26 @@ public class NetconfDeviceCommunicator
                  * Walk all requests, check if they have been executing
                  * or cancelled and remove them from the queue.
                  */
-                final Iterator<Request> it = requests.iterator();
+                final Iterator<Request> it = requests.values().iterator();
                 while (it.hasNext()) {
                     final Request r = it.next();
                     if (r.future.isUncancellable()) {
                         futuresToCancel.add(r.future);
                         it.remove();
+                        releasePermit();
                     } else if (r.future.isCancelled()) {
                         // This just does some house-cleaning
                         it.remove();
+                        releasePermit();
                     }
                 }
+                expiredRequests.clear();
+                if (expiryTask != null) {
+                    expiryTask.cancel(false);
+                    expiryTask = null;
+                }
+                queuedToCancel.addAll(windowQueue);
+                windowQueue.clear();
 
                 remoteDevice.onRemoteSessionDown();
             }
@@ -215,6 +321,13 @@ public class NetconfDeviceCommunicator
                 future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT, reason));
             }
         }
+        for (final QueuedRequest queued : queuedToCancel) {
+            if (Strings.isNullOrEmpty(reason)) {
+                queued.result.set(createSessionDownRpcResult());
+            } else {
+                queued.result.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT, reason));
+            }
+        }
 
         closing = 0;
     }
@@ -259,6 +372,11 @@ public class NetconfDeviceCommunicator
 
     @Override
     public void onMessage(final NetconfClientSession session, final NetconfMessage message) {
+        lastMessageNanos = System.nanoTime();
+        if (!lastMessageReceived) {
+            lastMessageReceived = true;
+        }
+
         /*
          * Dispatch between notifications and messages. Messages need to be processed
          * with lock held, notifications do not.
@@ -271,70 +389,175 @@ public class NetconfDeviceCommunicator
     }
 
     private void processMessage(final NetconfMessage message) {
-        Request request = null;
+        final List<Request> expired;
+        final Request request;
         sessionLock.lock();
-
         try {
-            request = requests.peek();
-            if (request != null && request.future.isUncancellable()) {
-                request = requests.poll();
-                // we have just removed one request from the queue
-                // we can also release one permit
-                if (semaphore != null) {
-                    semaphore.release();
-                }
-            } else {
-                request = null;
-                LOG.warn("{}: Ignoring unsolicited message {}", id,
-                        msgToS(message));
-            }
+            expired = expireRequests();
+            request = matchRequest(message);
+            // A permit may have been released, let queued requests through
+            drainWindow();
         } finally {
             sessionLock.unlock();
         }
 
-        if (request != null) {
+        failExpired(expired);
+        if (request == null) {
+            return;
+        }
 
-            if (FailedNetconfMessage.class.isInstance(message)) {
-                request.future.set(NetconfMessageTransformUtil.toRpcResult((FailedNetconfMessage) message));
-                return;
-            }
+        if (FailedNetconfMessage.class.isInstance(message)) {
+            request.future.set(NetconfMessageTransformUtil.toRpcResult((FailedNetconfMessage) message));
+            return;
+        }
 
-            LOG.debug("{}: Message received {}", id, message);
+        LOG.debug("{}: Message received {}", id, message);
 
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("{}: Matched request: {} to response: {}", id, msgToS(request.request), msgToS(message));
-            }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}: Matched request: {} to response: {}", id, msgToS(request.request), msgToS(message));
+        }
 
-            try {
-                NetconfMessageTransformUtil.checkValidReply(request.request, message);
-            } catch (final NetconfDocumentedException e) {
-                LOG.warn(
-                        "{}: Invalid request-reply match,"
-                                + "reply message contains different message-id, request: {}, response: {}",
-                        id, msgToS(request.request), msgToS(message), e);
+        try {
+            NetconfMessageTransformUtil.checkValidReply(request.request, message);
+        } catch (final NetconfDocumentedException e) {
+            LOG.warn(
+                    "{}: Invalid request-reply match,"
+                            + "reply message contains different message-id, request: {}, response: {}",
+                    id, msgToS(request.request), msgToS(message), e);
+
+            request.future.set(RpcResultBuilder.<NetconfMessage>failed()
+                    .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
+            return;
+        }
 
-                request.future.set(RpcResultBuilder.<NetconfMessage>failed()
-                        .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
+        try {
+            NetconfMessageTransformUtil.checkSuccessReply(message);
+        } catch (final NetconfDocumentedException e) {
+            LOG.warn(
+                    "{}: Error reply from remote device, request: {}, response: {}",
+                    id, msgToS(request.request), msgToS(message), e);
+
+            request.future.set(RpcResultBuilder.<NetconfMessage>failed()
+                    .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
+            return;
+        }
 
-                //recursively processing message to eventually find matching request
-                processMessage(message);
+        request.future.set(RpcResultBuilder.success(message).build());
+    }
 
-                return;
+    /**
+     * Find and remove the request a reply belongs to. Replies are matched by their message-id, hence they can arrive
+     * in any order. Replies which carry no message-id, such as messages which failed to parse, are attributed to
+     * the oldest outstanding request, which is then failed by reply validation. Replies with a message-id which does
+     * not match any outstanding request, such as late replies to requests which have already expired, are dropped, so
+     * that they do not fail unrelated requests.
+     */
+    @GuardedBy("sessionLock")
+    private Request matchRequest(final NetconfMessage message) {
+        final String messageId = FailedNetconfMessage.class.isInstance(message) ? ""
+                : NetconfMessageTransformUtil.getMessageId(message);
+        final Request request;
+        if (messageId.isEmpty()) {
+            request = pollOldestRequest();
+        } else {
+            request = requests.remove(messageId);
+            if (request == null) {
+                if (expiredRequests.remove(messageId)) {
+                    LOG.debug("{}: Ignoring late reply to expired request {}", id, messageId);
+                } else {
+                    LOG.warn("{}: Ignoring reply with unknown message-id {}: {}", id, messageId, msgToS(message));
+                }
+                return null;
             }
+        }
 
-            try {
-                NetconfMessageTransformUtil.checkSuccessReply(message);
-            } catch (final NetconfDocumentedException e) {
-                LOG.warn(
-                        "{}: Error reply from remote device, request: {}, response: {}",
-                        id, msgToS(request.request), msgToS(message), e);
+        if (request == null) {
+            LOG.warn("{}: Ignoring unsolicited message {}", id, msgToS(message));
+            return null;
+        }
+
+        // we have just removed one request from the queue
+        // we can also release one permit
+        releasePermit();
+        return request;
+    }
+
+    @GuardedBy("sessionLock")
+    private Request pollOldestRequest() {
+        final Iterator<Request> it = requests.values().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        final Request request = it.next();
+        it.remove();
+        return request;
+    }
+
+    /**
+     * Schedule expiry of the oldest outstanding request, unless it is already scheduled. Expiry is driven by
+     * the executor, so that requests time out even if the device stops sending anything.
+     */
+    @GuardedBy("sessionLock")
+    private void scheduleExpiry() {
+        if (requestTimeoutNanos == 0 || expiryTask != null || requests.isEmpty()) {
+            return;
+        }
+        final long delayNanos = requests.values().iterator().next().deadline - System.nanoTime();
+        expiryTask = timeoutExecutor.schedule(this::expireOnTimeout, Math.max(delayNanos, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private void expireOnTimeout() {
+        final List<Request> expired;
+        sessionLock.lock();
+        try {
+            expiryTask = null;
+            expired = expireRequests();
+            // Permits of expired requests may let queued requests through
+            drainWindow();
+            scheduleExpiry();
+        } finally {
+            sessionLock.unlock();
+        }
+        failExpired(expired);
+    }
 
-                request.future.set(RpcResultBuilder.<NetconfMessage>failed()
-                        .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
-                return;
+    /**
+     * Remove requests whose deadline has passed. Requests are kept in the order they were sent and all of them have
+     * the same timeout, hence we only need to look at the oldest ones.
+     */
+    @GuardedBy("sessionLock")
+    private List<Request> expireRequests() {
+        if (requestTimeoutNanos == 0 || requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final long now = System.nanoTime();
+        final List<Request> expired = new ArrayList<>();
+        final Iterator<Request> it = requests.values().iterator();
+        while (it.hasNext()) {
+            final Request request = it.next();
+            if (now - request.deadline < 0) {
+                break;
             }
+            it.remove();
+            releasePermit();
+            expiredRequests.add(request.messageId);
+            expired.add(request);
+        }
+        return expired;
+    }
+
+    private void failExpired(final List<Request> expired) {
+        for (Request request : expired) {
+            LOG.warn("{}: Request {} timed out without a reply", id, request.messageId);
+            request.future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
+                String.format("Request %s to %s timed out", request.messageId, id.getName())));
+        }
+    }
 
-            request.future.set(RpcResultBuilder.success(message).build());
+    private void releasePermit() {
+        if (semaphore != null) {
+            semaphore.release();
         }
     }
 
@@ -344,8 +567,12 @@ public class NetconfDeviceCommunicator
 
     @Override
     public ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final NetconfMessage message, final QName rpc) {
+        final List<Request> expired;
         sessionLock.lock();
         try {
+            // Expire stale requests first, so that they do not hold on to permits
+            expired = expireRequests();
+            drainWindow();
             if (semaphore != null && !semaphore.tryAcquire()) {
                 LOG.warn("Limit of concurrent rpc messages was reached (limit: {}). Rpc reply message is needed. "
                     + "Discarding request of Netconf device with id {}", concurentRpcMsgs, id.getName());
@@ -357,6 +584,85 @@ public class NetconfDeviceCommunicator
             return sendRequestWithLock(message, rpc);
         } finally {
             sessionLock.unlock();
+            failExpired(expired);
+        }
+    }
+
+    /**
+     * Send multiple requests back-to-back, flushing the session only once. Unlike {@link #sendRequest(NetconfMessage,
+     * QName)}, requests exceeding the limit of concurrent requests are not failed. They are queued instead and sent
+     * as soon as replies to outstanding requests arrive, so that the limit acts as a sliding window.
+     *
+     * @param batch Messages and corresponding RPC names
+     * @param onSent Callback invoked with the index of each request once it has been handed to the session
+     * @return Futures of replies, in the order of requests
+     */
+    @Override
+    public List<ListenableFuture<RpcResult<NetconfMessage>>> sendRequests(
+            final List<? extends Entry<NetconfMessage, QName>> batch, final IntConsumer onSent) {
+        final List<ListenableFuture<RpcResult<NetconfMessage>>> ret = new ArrayList<>(batch.size());
+        final List<Request> expired;
+        sessionLock.lock();
+        try {
+            expired = expireRequests();
+            for (Entry<NetconfMessage, QName> entry : batch) {
+                final QueuedRequest queued = new QueuedRequest(entry.getKey(), onSent, ret.size());
+                windowQueue.add(queued);
+                ret.add(queued.result);
+            }
+            drainWindow();
+        } finally {
+            sessionLock.unlock();
+            failExpired(expired);
+        }
+        return ret;
+    }
+
+    /**
+     * Send as many queued requests as there are permits available.
+     */
+    @GuardedBy("sessionLock")
+    private void drainWindow() {
+        final List<Request> toSend = new ArrayList<>();
+        final List<QueuedRequest> sent = new ArrayList<>();
+        while (!windowQueue.isEmpty() && (semaphore == null || semaphore.tryAcquire())) {
+            final QueuedRequest queued = windowQueue.poll();
+            if (queued.result.isCancelled()) {
+                releasePermit();
+                continue;
+            }
+
+            final ListenableFuture<RpcResult<NetconfMessage>> failure = checkSendable(queued.message);
+            if (failure != null) {
+                queued.result.setFuture(failure);
+                continue;
+            }
+
+            final Request req = registerRequest(queued.message);
+            queued.result.setFuture(req.future);
+            toSend.add(req);
+            sent.add(queued);
+        }
+
+        switch (toSend.size()) {
+            case 0:
+                break;
+            case 1:
+                final Request req = toSend.get(0);
+                currentSession.sendMessage(req.request).addListener(future -> requestSent(req, future));
+                break;
+            default:
+                final List<NetconfMessage> messages = new ArrayList<>(toSend.size());
+                toSend.forEach(request -> messages.add(request.request));
+                final List<ChannelFuture> futures = currentSession.sendMessages(messages);
+                for (int i = 0; i < toSend.size(); ++i) {
+                    final Request request = toSend.get(i);
+                    futures.get(i).addListener(future -> requestSent(request, future));
+                }
+        }
+
+        for (QueuedRequest queued : sent) {
+            queued.onSent.accept(queued.index);
         }
     }
 
@@ -366,35 +672,102 @@ public class NetconfDeviceCommunicator
             LOG.trace("{}: Sending message {}", id, msgToS(message));
         }
 
+        final ListenableFuture<RpcResult<NetconfMessage>> failure = checkSendable(message);
+        if (failure != null) {
+            return failure;
+        }
+
+        final Request req = registerRequest(message);
+        currentSession.sendMessage(req.request).addListener(future -> requestSent(req, future));
+        return req.future;
+    }
+
+    /**
+     * Check whether a request can be sent. If it cannot, its permit is released and the result to report is returned.
+     *
+     * @return Result to report, or null if the request can be sent
+     */
+    @GuardedBy("sessionLock")
+    private ListenableFuture<RpcResult<NetconfMessage>> checkSendable(final NetconfMessage message) {
         if (currentSession == null) {
             LOG.warn("{}: Session is disconnected, failing RPC request {}",
                     id, message);
+            releasePermit();
             return FluentFutures.immediateFluentFuture(createSessionDownRpcResult());
         }
 
-        final Request req = new Request(new UncancellableFuture<>(true), message);
-        requests.add(req);
+        if (!(message instanceof StreamableNetconfMessage) && message.getDocument() == null) {
+            LOG.warn("{}: Request has no content, failing RPC request {}", id, message);
+            releasePermit();
+            return FluentFutures.immediateFailedFluentFuture(new IllegalArgumentException(
+                "Request " + message + " has no content"));
+        }
+        return null;
+    }
+
+    @GuardedBy("sessionLock")
+    private Request registerRequest(final NetconfMessage message) {
+        final NetconfMessage unique = withUniqueMessageId(message);
+        final String messageId = NetconfMessageTransformUtil.getMessageId(unique);
+        final Request req = new Request(new UncancellableFuture<>(true), unique, messageId,
+            System.nanoTime() + requestTimeoutNanos);
+        requests.put(messageId, req);
+        scheduleExpiry();
+        return req;
+    }
 
-        currentSession.sendMessage(req.request).addListener(future -> {
-            if (!future.isSuccess()) {
-                // We expect that a session down will occur at this point
-                LOG.debug("{}: Failed to send request {}", id,
-                        XmlUtil.toString(req.request.getDocument()),
-                        future.cause());
+    /**
+     * Make sure a request carries a message-id which is unique within this session. Transformers allocate message-ids
+     * independently of each other, hence a request may carry the message-id of an outstanding request, or of an expired
+     * request whose reply may still arrive. Such a request, as well as a request without a message-id, is sent as
+     * a copy with a message-id assigned by this communicator, so that a reply is never delivered to the wrong request.
+     *
+     * @return The request itself, or its copy carrying a unique message-id
+     */
+    @GuardedBy("sessionLock")
+    private NetconfMessage withUniqueMessageId(final NetconfMessage message) {
+        final String messageId = NetconfMessageTransformUtil.getMessageId(message);
+        if (!messageId.isEmpty() && !isMessageIdInUse(messageId)) {
+            return message;
+        }
 
-                if (future.cause() != null) {
-                    req.future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
-                            future.cause().getLocalizedMessage()));
-                } else {
-                    req.future.set(createSessionDownRpcResult()); // assume session is down
-                }
-                req.future.setException(future.cause());
+        final String prefix = messageId.isEmpty() ? REASSIGNED_ID_PREFIX : messageId;
+        String newMessageId;
+        do {
+            newMessageId = prefix + "-" + ++reassignedIds;
+        } while (isMessageIdInUse(newMessageId));
+        LOG.debug("{}: Message-id {} is already in use, sending request as {}", id, messageId, newMessageId);
+
+        if (message instanceof NormalizedRpcRequestMessage) {
+            return ((NormalizedRpcRequestMessage) message).withMessageId(newMessageId);
+        }
+        final Document copy = (Document) message.getDocument().cloneNode(true);
+        copy.getDocumentElement().setAttribute(NetconfMessageTransformUtil.MESSAGE_ID_ATTR, newMessageId);
+        return new NetconfMessage(copy);
+    }
+
+    @GuardedBy("sessionLock")
+    private boolean isMessageIdInUse(final String messageId) {
+        return requests.containsKey(messageId) || expiredRequests.contains(messageId);
+    }
+
+    private void requestSent(final Request req, final Future<?> future) {
+        if (!future.isSuccess()) {
+            // We expect that a session down will occur at this point
+            LOG.debug("{}: Failed to send request {}", id,
+                    XmlUtil.toString(req.request.getDocument()),
+                    future.cause());
+
+            if (future.cause() != null) {
+                req.future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
+                        future.cause().getLocalizedMessage()));
             } else {
-                LOG.trace("Finished sending request {}", req.request);
+                req.future.set(createSessionDownRpcResult()); // assume session is down
             }
-        });
-
-        return req.future;
+            req.future.setException(future.cause());
+        } else {
+            LOG.trace("Finished sending request {}", req.request);
+        }
     }
 
     private void processNotification(final NetconfMessage notification) {
@@ -406,6 +779,10 @@ public class NetconfDeviceCommunicator
     }
 
     private static boolean isNotification(final NetconfMessage message) {
+        if (message instanceof LazyNetconfMessage) {
+            return XmlNetconfConstants.NOTIFICATION_ELEMENT_NAME.equals(
+                ((LazyNetconfMessage) message).getRootElementName());
+        }
         if (message.getDocument() == null) {
             // We have no message, which mean we have a FailedNetconfMessage
             return false;
@@ -417,11 +794,28 @@ public class NetconfDeviceCommunicator
     private static final class Request {
         final UncancellableFuture<RpcResult<NetconfMessage>> future;
         final NetconfMessage request;
+        final String messageId;
+        final long deadline;
 
         private Request(final UncancellableFuture<RpcResult<NetconfMessage>> future,
-                        final NetconfMessage request) {
+                        final NetconfMessage request, final String messageId, final long deadline) {
             this.future = future;
             this.request = request;
+            this.messageId = messageId;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class QueuedRequest {
+        final SettableFuture<RpcResult<NetconfMessage>> result = SettableFuture.create();
+        final NetconfMessage message;
+        final IntConsumer onSent;
+        final int index;
+
+        QueuedRequest(final NetconfMessage message, final IntConsumer onSent, final int index) {
+            this.message = message;
+            this.onSent = onSent;
+            this.index = index;
         }
     }
 
@@ -14,13 +14,21 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.net.URI;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.netconf.client.NetconfClientSession;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
@@ -57,6 +65,33 @@ public final class NetconfSessionPreferences {
     private static final ParameterMatcher BROKEN_REVISON_PARAM = new ParameterMatcher("amp;revision=");
     private static final Splitter AMP_SPLITTER = Splitter.on('&');
     private static final Predicate<String> CONTAINS_REVISION = input -> input.contains("revision=");
+    private static final int CAPABILITY_CACHE_SIZE = 65536;
+    private static final int CAPABILITY_SET_CACHE_SIZE = 256;
+
+    /**
+     * Capabilities parsed into module QNames, absent for non-module capabilities. Devices tend to advertise the same
+     * capabilities, hence each of them is parsed only once, rather than on each session setup.
+     */
+    private static final LoadingCache<String, Optional<QName>> CAPABILITY_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(CAPABILITY_CACHE_SIZE).build(new CacheLoader<String, Optional<QName>>() {
+                @Override
+                public Optional<QName> load(final String key) {
+                    return parseModuleCapability(key);
+                }
+            });
+
+    /**
+     * Capability sets parsed into preferences, which serve as templates. Devices of the same type advertise identical
+     * sets, hence their sessions share the same immutable capability maps.
+     */
+    private static final LoadingCache<Entry<CapabilityOrigin, ImmutableSet<String>>, NetconfSessionPreferences>
+        CAPABILITY_SET_CACHE = CacheBuilder.newBuilder().maximumSize(CAPABILITY_SET_CACHE_SIZE)
+            .build(new CacheLoader<Entry<CapabilityOrigin, ImmutableSet<String>>, NetconfSessionPreferences>() {
+                @Override
+                public NetconfSessionPreferences load(final Entry<CapabilityOrigin, ImmutableSet<String>> key) {
+                    return parseCapabilities(key.getValue(), key.getKey());
+                }
+            });
 
     private final Map<QName, CapabilityOrigin> moduleBasedCaps;
     private final Map<String, CapabilityOrigin> nonModuleCaps;
@@ -216,62 +251,79 @@ public final class NetconfSessionPreferences {
 
     public static NetconfSessionPreferences fromStrings(final Collection<String> capabilities,
                                                         final CapabilityOrigin capabilityOrigin) {
+        final NetconfSessionPreferences template;
+        try {
+            template = CAPABILITY_SET_CACHE.getUnchecked(new SimpleImmutableEntry<>(capabilityOrigin,
+                ImmutableSet.copyOf(capabilities)));
+        } catch (UncheckedExecutionException e) {
+            // Report malformed capabilities the same way as if they were not cached
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+
+        // Each session needs its own instance, as NetconfDeviceCapabilities are mutable
+        return new NetconfSessionPreferences(template.nonModuleCaps, template.moduleBasedCaps);
+    }
+
+    private static NetconfSessionPreferences parseCapabilities(final Collection<String> capabilities,
+            final CapabilityOrigin capabilityOrigin) {
         final Map<QName, CapabilityOrigin> moduleBasedCaps = new HashMap<>();
         final Map<String, CapabilityOrigin> nonModuleCaps = new HashMap<>();
 
         for (final String capability : capabilities) {
-            nonModuleCaps.put(capability, capabilityOrigin);
-            final int qmark = capability.indexOf('?');
-            if (qmark == -1) {
-                continue;
+            final Optional<QName> module;
+            try {
+                module = CAPABILITY_CACHE.getUnchecked(capability);
+            } catch (UncheckedExecutionException e) {
+                // Report malformed capabilities the same way as if they were not cached
+                Throwables.throwIfUnchecked(e.getCause());
+                throw e;
             }
-
-            final String namespace = capability.substring(0, qmark);
-            final Iterable<String> queryParams = AMP_SPLITTER.split(capability.substring(qmark + 1));
-            final String moduleName = MODULE_PARAM.from(queryParams);
-            if (Strings.isNullOrEmpty(moduleName)) {
-                continue;
+            if (module.isPresent()) {
+                moduleBasedCaps.put(module.get(), capabilityOrigin);
+            } else {
+                nonModuleCaps.put(capability, capabilityOrigin);
             }
+        }
 
-            String revision = REVISION_PARAM.from(queryParams);
-            if (!Strings.isNullOrEmpty(revision)) {
-                addModuleQName(moduleBasedCaps, nonModuleCaps, capability, cachedQName(namespace, revision, moduleName),
-                        capabilityOrigin);
-                continue;
-            }
+        return new NetconfSessionPreferences(ImmutableMap.copyOf(nonModuleCaps), ImmutableMap.copyOf(moduleBasedCaps));
+    }
 
-            /*
-             * We have seen devices which mis-escape revision, but the revision may not
-             * even be there. First check if there is a substring that matches revision.
-             */
-            if (Iterables.any(queryParams, CONTAINS_REVISION)) {
-
-                LOG.debug("Netconf device was not reporting revision correctly, trying to get amp;revision=");
-                revision = BROKEN_REVISON_PARAM.from(queryParams);
-                if (Strings.isNullOrEmpty(revision)) {
-                    LOG.warn("Netconf device returned revision incorrectly escaped for {}, ignoring it", capability);
-                    addModuleQName(moduleBasedCaps, nonModuleCaps, capability,
-                            cachedQName(namespace, moduleName), capabilityOrigin);
-                } else {
-                    addModuleQName(moduleBasedCaps, nonModuleCaps, capability,
-                            cachedQName(namespace, revision, moduleName), capabilityOrigin);
-                }
-                continue;
-            }
+    private static Optional<QName> parseModuleCapability(final String capability) {
+        final int qmark = capability.indexOf('?');
+        if (qmark == -1) {
+            return Optional.absent();
+        }
 
-            // Fallback, no revision provided for module
-            addModuleQName(moduleBasedCaps, nonModuleCaps, capability,
-                    cachedQName(namespace, moduleName), capabilityOrigin);
+        final String namespace = capability.substring(0, qmark);
+        final Iterable<String> queryParams = AMP_SPLITTER.split(capability.substring(qmark + 1));
+        final String moduleName = MODULE_PARAM.from(queryParams);
+        if (Strings.isNullOrEmpty(moduleName)) {
+            return Optional.absent();
         }
 
-        return new NetconfSessionPreferences(ImmutableMap.copyOf(nonModuleCaps), ImmutableMap.copyOf(moduleBasedCaps));
-    }
+        String revision = REVISION_PARAM.from(queryParams);
+        if (!Strings.isNullOrEmpty(revision)) {
+            return Optional.of(cachedQName(namespace, revision, moduleName));
+        }
+
+        /*
+         * We have seen devices which mis-escape revision, but the revision may not
+         * even be there. First check if there is a substring that matches revision.
+         */
+        if (Iterables.any(queryParams, CONTAINS_REVISION)) {
+
+            LOG.debug("Netconf device was not reporting revision correctly, trying to get amp;revision=");
+            revision = BROKEN_REVISON_PARAM.from(queryParams);
+            if (Strings.isNullOrEmpty(revision)) {
+                LOG.warn("Netconf device returned revision incorrectly escaped for {}, ignoring it", capability);
+                return Optional.of(cachedQName(namespace, moduleName));
+            }
+            return Optional.of(cachedQName(namespace, revision, moduleName));
+        }
 
-    private static void addModuleQName(final Map<QName, CapabilityOrigin> moduleBasedCaps,
-                                       final Map<String, CapabilityOrigin> nonModuleCaps, final String capability,
-                                       final QName qualifiedName, final CapabilityOrigin capabilityOrigin) {
-        moduleBasedCaps.put(qualifiedName, capabilityOrigin);
-        nonModuleCaps.remove(capability);
+        // Fallback, no revision provided for module
+        return Optional.of(cachedQName(namespace, moduleName));
     }
 
     private final NetconfDeviceCapabilities capabilities = new NetconfDeviceCapabilities();
@@ -13,20 +13,36 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_CONFIG_PATH;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMActionService;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
+import org.opendaylight.netconf.sal.connect.api.DOMRpcBatchService;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
@@ -44,6 +60,16 @@ import org.slf4j.LoggerFactory;
  * SalFacade proxy that invokes keepalive RPCs to prevent session shutdown from remote device
  * and to detect incorrect session drops (netconf session is inactive, but TCP/SSH connection is still present).
  * The keepalive RPC is a get-config with empty filter.
+ *
+ * <p>
+ * Keepalives are sent only when the session has been idle for the keepalive delay: any message received from
+ * the device proves the session alive, as does a pending request whose timeout results in a reconnect. Keepalive
+ * ticks and request timeouts are tracked by a {@link Timer}, normally the global one shared by all devices. Expired
+ * tasks are handed off to the executor, so that a slow device does not delay timers of other devices.
+ *
+ * <p>
+ * Reconnecting tears down the whole device stack. When a separate reconnect executor is supplied, this work is handed
+ * off to it, so that it does not hold up the executor running keepalives, which may be shared with other devices.
  */
 public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
 
@@ -57,32 +83,74 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
 
     private final RemoteDeviceId id;
     private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
-    private final ScheduledExecutorService executor;
+    private final Timer timer;
+    private final Executor executor;
+    private final Executor reconnectExecutor;
     private final long keepaliveDelaySeconds;
+    private final long keepaliveDelayNanos;
     private final ResetKeepalive resetKeepaliveTask;
     private final long defaultRequestTimeoutMillis;
 
     private volatile NetconfDeviceCommunicator listener;
-    private volatile ScheduledFuture<?> currentKeepalive;
+    private volatile Keepalive currentKeepalive;
     private volatile DOMRpcService currentDeviceRpc;
+    private volatile long lastActivityNanos;
     private final AtomicBoolean lastKeepAliveSucceeded = new AtomicBoolean(false);
 
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
-                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
+                              final ScheduledExecutorService executor, final @Nullable Executor reconnectExecutor,
+                              final Timer timer, final long keepaliveDelaySeconds,
                               final long defaultRequestTimeoutMillis) {
         this.id = id;
         this.salFacade = salFacade;
         this.executor = executor;
+        // Reconnecting from the executor itself does not need another hop
+        this.reconnectExecutor = reconnectExecutor == null || reconnectExecutor == executor
+                ? MoreExecutors.directExecutor() : reconnectExecutor;
+        this.timer = timer != null ? timer : DefaultTimer.INSTANCE;
         this.keepaliveDelaySeconds = keepaliveDelaySeconds;
+        this.keepaliveDelayNanos = TimeUnit.SECONDS.toNanos(keepaliveDelaySeconds);
         this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
         this.resetKeepaliveTask = new ResetKeepalive();
     }
 
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final ScheduledExecutorService executor, final Timer timer,
+                              final long keepaliveDelaySeconds, final long defaultRequestTimeoutMillis) {
+        this(id, salFacade, executor, null, timer, keepaliveDelaySeconds, defaultRequestTimeoutMillis);
+    }
+
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
+                              final long defaultRequestTimeoutMillis) {
+        this(id, salFacade, executor, null, keepaliveDelaySeconds, defaultRequestTimeoutMillis);
+    }
+
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
                               final ScheduledExecutorService executor) {
         this(id, salFacade, executor, DEFAULT_DELAY, DEFAULT_TRANSACTION_TIMEOUT_MILLI);
     }
 
+    /**
+     * Return the executor running keepalives and request timeouts of the device.
+     *
+     * @return Device executor
+     */
+    @VisibleForTesting
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Return the executor tearing down the session when reconnecting.
+     *
+     * @return Reconnect executor
+     */
+    @VisibleForTesting
+    public Executor getReconnectExecutor() {
+        return reconnectExecutor;
+    }
+
     /**
      * Set the netconf session listener whenever ready.
      *
@@ -93,35 +161,38 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     }
 
     /**
-     * Just cancel current keepalive task.
-     * If its already started, let it finish ... not such a big deal.
-     *
-     * <p>
-     * Then schedule next keepalive.
+     * Record that the session has proven to be alive. Next keepalive is postponed until the session is idle for
+     * the keepalive delay, without rescheduling the keepalive task.
      */
     void resetKeepalive() {
         LOG.trace("{}: Resetting netconf keepalive timer", id);
-        if (currentKeepalive != null) {
-            currentKeepalive.cancel(false);
-        }
-        scheduleKeepalives();
+        lastActivityNanos = System.nanoTime();
+        lastKeepAliveSucceeded.set(true);
     }
 
     /**
      * Cancel current keepalive and also reset current deviceRpc.
      */
     private void stopKeepalives() {
-        if (currentKeepalive != null) {
-            currentKeepalive.cancel(false);
+        final Keepalive keepalive = currentKeepalive;
+        currentKeepalive = null;
+        if (keepalive != null) {
+            keepalive.cancel();
         }
         currentDeviceRpc = null;
     }
 
     void reconnect() {
-        checkState(listener != null, "%s: Unable to reconnect, session listener is missing", id);
+        final NetconfDeviceCommunicator local = listener;
+        checkState(local != null, "%s: Unable to reconnect, session listener is missing", id);
         stopKeepalives();
         LOG.info("{}: Reconnecting inactive netconf session", id);
-        listener.disconnect();
+        try {
+            reconnectExecutor.execute(local::disconnect);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("{}: Reconnect executor rejected disconnect, disconnecting directly", id, e);
+            local.disconnect();
+        }
     }
 
     @Override
@@ -136,8 +207,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             final DOMActionService deviceAction) {
         this.currentDeviceRpc = deviceRpc;
         final DOMRpcService deviceRpc1 =
-                new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, executor,
-                        new ResponseWaitingScheduler());
+                new KeepaliveDOMRpcService(deviceRpc, resetKeepaliveTask, defaultRequestTimeoutMillis, this);
 
         salFacade.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc1, deviceAction);
 
@@ -146,11 +216,51 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     }
 
     private void scheduleKeepalives() {
+        final DOMRpcService deviceRpc = currentDeviceRpc;
+        checkState(deviceRpc != null);
         lastKeepAliveSucceeded.set(true);
-        checkState(currentDeviceRpc != null);
+        lastActivityNanos = System.nanoTime();
         LOG.trace("{}: Scheduling keepalives every  {} {}", id, keepaliveDelaySeconds, TimeUnit.SECONDS);
-        currentKeepalive = executor.scheduleWithFixedDelay(new Keepalive(),
-          keepaliveDelaySeconds, keepaliveDelaySeconds, TimeUnit.SECONDS);
+
+        final Keepalive keepalive = new Keepalive(deviceRpc);
+        final Keepalive previous = currentKeepalive;
+        currentKeepalive = keepalive;
+        if (previous != null) {
+            previous.cancel();
+        }
+        keepalive.schedule(jitter(keepaliveDelayNanos));
+    }
+
+    private long lastActivityNanos() {
+        final long local = lastActivityNanos;
+        final NetconfDeviceCommunicator communicator = listener;
+        if (communicator == null) {
+            return local;
+        }
+        // The communicator sees all messages, including keepalive replies and responses to RPCs not passing through
+        // this facade
+        final OptionalLong lastMessage = communicator.getLastMessageNanos();
+        return lastMessage.isPresent() && lastMessage.getAsLong() - local > 0 ? lastMessage.getAsLong() : local;
+    }
+
+    /**
+     * Schedule a task on the timer. The timer thread only hands the task off to the executor once it expires, so
+     * that it is never blocked by the task itself.
+     */
+    private Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        return timer.newTimeout(timeout -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("{}: Executor rejected task {}, executor is probably shutting down", id, task, e);
+            }
+        }, delay, unit);
+    }
+
+    // Spread keepalives of devices which connected at the same time, so that they do not fire in bursts. The delay is
+    // only ever shortened, so that the device does not see the session idle for longer than the keepalive delay.
+    private static long jitter(final long delayNanos) {
+        return delayNanos - ThreadLocalRandom.current().nextLong(delayNanos / 10 + 1);
     }
 
     @Override
@@ -187,33 +297,66 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      * response received, or the rcp could not even be sent) immediate reconnect is triggered as netconf session
      * is considered inactive/failed.
      */
-    private class Keepalive implements Runnable, FutureCallback<DOMRpcResult> {
+    private final class Keepalive implements Runnable, FutureCallback<DOMRpcResult> {
+        private final DOMRpcService deviceRpc;
+
+        private volatile Timeout timeout;
+
+        Keepalive(final DOMRpcService deviceRpc) {
+            this.deviceRpc = deviceRpc;
+        }
+
+        void schedule(final long delayNanos) {
+            timeout = KeepaliveSalFacade.this.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void cancel() {
+            final Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
 
         @Override
         public void run() {
-            LOG.trace("{}: Invoking keepalive RPC", id);
+            if (currentKeepalive != this) {
+                LOG.trace("{}: Keepalive stopped, not rescheduling", id);
+                return;
+            }
 
-            try {
-                final boolean lastJobSucceeded = lastKeepAliveSucceeded.getAndSet(false);
-                if (!lastJobSucceeded) {
-                    onFailure(new IllegalStateException("Previous keepalive timed out"));
-                } else {
-                    Futures.addCallback(currentDeviceRpc.invokeRpc(NETCONF_GET_CONFIG_PATH, KEEPALIVE_PAYLOAD), this,
-                        MoreExecutors.directExecutor());
-                }
-            } catch (final NullPointerException e) {
-                LOG.debug("{}: Skipping keepalive while reconnecting", id);
-                // Empty catch block intentional
-                // Do nothing. The currentDeviceRpc was null and it means we hit the reconnect window and
-                // attempted to send keepalive while we were reconnecting. Next keepalive will be scheduled
-                // after reconnect so no action necessary here.
+            if (resetKeepaliveTask.hasPendingRequests()) {
+                // A pending request either proves the session alive or times out, triggering a reconnect
+                LOG.trace("{}: Requests are pending, skipping keepalive", id);
+                schedule(jitter(keepaliveDelayNanos));
+                return;
+            }
+            final long idleNanos = System.nanoTime() - lastActivityNanos();
+            if (idleNanos < keepaliveDelayNanos) {
+                LOG.trace("{}: Session active recently, skipping keepalive", id);
+                schedule(jitter(keepaliveDelayNanos - idleNanos));
+                return;
             }
+
+            LOG.trace("{}: Invoking keepalive RPC", id);
+            final boolean lastJobSucceeded = lastKeepAliveSucceeded.getAndSet(false);
+            if (!lastJobSucceeded) {
+                onFailure(new IllegalStateException("Previous keepalive timed out"));
+                return;
+            }
+            schedule(jitter(keepaliveDelayNanos));
+            Futures.addCallback(deviceRpc.invokeRpc(NETCONF_GET_CONFIG_PATH, KEEPALIVE_PAYLOAD), this,
+                MoreExecutors.directExecutor());
         }
 
         @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
                 justification = "Unrecognised NullableDecl")
         @Override
         public void onSuccess(final DOMRpcResult result) {
+            if (currentKeepalive != this) {
+                LOG.trace("{}: Ignoring keepalive response of a previous session", id);
+                return;
+            }
+
             // No matter what response we got, rpc-reply or rpc-error,
             // we got it from device so the netconf session is OK
             if (result == null) {
@@ -235,17 +378,33 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
 
         @Override
         public void onFailure(final Throwable throwable) {
+            if (currentKeepalive != this) {
+                LOG.trace("{}: Ignoring keepalive failure of a previous session", id, throwable);
+                return;
+            }
+
             LOG.warn("{}: Keepalive RPC failed. Reconnecting netconf session.", id, throwable);
             reconnect();
         }
     }
 
     /**
-     * Reset keepalive after each RPC response received.
+     * Reset keepalive after each RPC response received. Also keeps track of requests awaiting response.
      */
     private class ResetKeepalive implements FutureCallback<DOMRpcResult> {
+        private final AtomicInteger pendingRequests = new AtomicInteger();
+
+        void requestSent() {
+            pendingRequests.incrementAndGet();
+        }
+
+        boolean hasPendingRequests() {
+            return pendingRequests.get() > 0;
+        }
+
         @Override
         public void onSuccess(final DOMRpcResult result) {
+            pendingRequests.decrementAndGet();
             // No matter what response we got,
             // rpc-reply or rpc-error, we got it from device so the netconf session is OK.
             resetKeepalive();
@@ -253,6 +412,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
 
         @Override
         public void onFailure(final Throwable throwable) {
+            pendingRequests.decrementAndGet();
             // User/Application RPC failed (The RPC did not reach the remote device or ..
             // TODO what other reasons could cause this ?)
             // There is no point in keeping this session. Reconnect.
@@ -261,63 +421,6 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         }
     }
 
-    private final class ResponseWaitingScheduler {
-
-        private ScheduledFuture<?> schedule;
-
-        public void initScheduler(final Runnable runnable) {
-            if (currentKeepalive != null) {
-                currentKeepalive.cancel(true);
-            } else {
-                LOG.trace("Keepalive does not exist.");
-            }
-            scheduleKeepalives();
-            //Listening on the result should be done before the keepalive rpc will be send
-            final long delay = keepaliveDelaySeconds * 1000 - 500;
-            schedule = executor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
-        }
-
-        public void stopScheduler() {
-            if (schedule != null) {
-                schedule.cancel(true);
-            } else {
-                LOG.trace("Scheduler does not exist.");
-            }
-        }
-    }
-
-    private static final class ResponseWaiting implements Runnable {
-
-        private final ListenableFuture<DOMRpcResult> rpcResultFuture;
-        private final ResponseWaitingScheduler responseWaitingScheduler;
-
-        ResponseWaiting(final ResponseWaitingScheduler responseWaitingScheduler,
-                final ListenableFuture<DOMRpcResult> rpcResultFuture) {
-            this.responseWaitingScheduler = responseWaitingScheduler;
-            this.rpcResultFuture = rpcResultFuture;
-        }
-
-        public void start() {
-            LOG.trace("Start to waiting for result.");
-            responseWaitingScheduler.initScheduler(this);
-        }
-
-        public void stop() {
-            LOG.info("Stop to waiting for result.");
-            responseWaitingScheduler.stopScheduler();
-        }
-
-        @Override
-        public void run() {
-            if (!rpcResultFuture.isCancelled() && !rpcResultFuture.isDone()) {
-                LOG.trace("Waiting for result");
-                responseWaitingScheduler.initScheduler(this);
-            } else {
-                LOG.trace("Result has been cancelled or done.");
-            }
-        }
-    }
-
     /*
      * Request timeout task is called once the defaultRequestTimeoutMillis is
      * reached. At this moment, if the request is not yet finished, we cancel
@@ -325,12 +428,9 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      */
     private static final class RequestTimeoutTask implements Runnable {
         private final ListenableFuture<DOMRpcResult> rpcResultFuture;
-        private final ResponseWaiting responseWaiting;
 
-        RequestTimeoutTask(final ListenableFuture<DOMRpcResult> rpcResultFuture,
-            final ResponseWaiting responseWaiting) {
+        RequestTimeoutTask(final ListenableFuture<DOMRpcResult> rpcResultFuture) {
             this.rpcResultFuture = rpcResultFuture;
-            this.responseWaiting = responseWaiting;
         }
 
         @Override
@@ -338,9 +438,6 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             if (!rpcResultFuture.isDone()) {
                 rpcResultFuture.cancel(true);
             }
-            if (responseWaiting != null) {
-                responseWaiting.stop();
-            }
         }
     }
 
@@ -348,22 +445,19 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
      * DOMRpcService proxy that attaches reset-keepalive-task and schedule
      * request-timeout-task to each RPC invocation.
      */
-    public static final class KeepaliveDOMRpcService implements DOMRpcService {
+    public static final class KeepaliveDOMRpcService implements DOMRpcBatchService {
 
         private final DOMRpcService deviceRpc;
         private final ResetKeepalive resetKeepaliveTask;
         private final long defaultRequestTimeoutMillis;
-        private final ScheduledExecutorService executor;
-        private final ResponseWaitingScheduler responseWaitingScheduler;
+        private final KeepaliveSalFacade facade;
 
         KeepaliveDOMRpcService(final DOMRpcService deviceRpc, final ResetKeepalive resetKeepaliveTask,
-                final long defaultRequestTimeoutMillis, final ScheduledExecutorService executor,
-                final ResponseWaitingScheduler responseWaitingScheduler) {
+                final long defaultRequestTimeoutMillis, final KeepaliveSalFacade facade) {
             this.deviceRpc = deviceRpc;
             this.resetKeepaliveTask = resetKeepaliveTask;
             this.defaultRequestTimeoutMillis = defaultRequestTimeoutMillis;
-            this.executor = executor;
-            this.responseWaitingScheduler = responseWaitingScheduler;
+            this.facade = facade;
         }
 
         public DOMRpcService getDeviceRpc() {
@@ -372,21 +466,65 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
 
         @Override
         public ListenableFuture<DOMRpcResult> invokeRpc(final SchemaPath type, final NormalizedNode<?, ?> input) {
-            final ListenableFuture<DOMRpcResult> rpcResultFuture = deviceRpc.invokeRpc(type, input);
-            final ResponseWaiting responseWaiting = new ResponseWaiting(responseWaitingScheduler, rpcResultFuture);
-            responseWaiting.start();
-            Futures.addCallback(rpcResultFuture, resetKeepaliveTask, MoreExecutors.directExecutor());
+            return watchResult(deviceRpc.invokeRpc(type, input));
+        }
 
-            final RequestTimeoutTask timeoutTask = new RequestTimeoutTask(rpcResultFuture, responseWaiting);
-            executor.schedule(timeoutTask, defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+        @Override
+        public List<ListenableFuture<DOMRpcResult>> invokeRpcs(
+                final List<? extends Entry<SchemaPath, NormalizedNode<?, ?>>> rpcs, final IntConsumer onSent) {
+            if (!(deviceRpc instanceof DOMRpcBatchService)) {
+                return DOMRpcBatchService.super.invokeRpcs(rpcs, onSent);
+            }
 
+            // Requests may be held back by the device's limit of concurrent requests, their timeout starts only once
+            // they are actually sent. The notification may arrive before we get to see the result futures.
+            final List<SettableFuture<Void>> sent = new ArrayList<>(rpcs.size());
+            for (int i = 0; i < rpcs.size(); ++i) {
+                sent.add(SettableFuture.create());
+            }
+            final List<ListenableFuture<DOMRpcResult>> ret = ((DOMRpcBatchService) deviceRpc).invokeRpcs(rpcs,
+                index -> {
+                    sent.get(index).set(null);
+                    onSent.accept(index);
+                });
+            for (int i = 0; i < ret.size(); ++i) {
+                final ListenableFuture<DOMRpcResult> rpcResultFuture = ret.get(i);
+                trackResult(rpcResultFuture);
+                sent.get(i).addListener(() -> scheduleTimeout(rpcResultFuture), MoreExecutors.directExecutor());
+            }
+            return ret;
+        }
+
+        private ListenableFuture<DOMRpcResult> watchResult(final ListenableFuture<DOMRpcResult> rpcResultFuture) {
+            trackResult(rpcResultFuture);
+            scheduleTimeout(rpcResultFuture);
             return rpcResultFuture;
         }
 
+        private void trackResult(final ListenableFuture<DOMRpcResult> rpcResultFuture) {
+            resetKeepaliveTask.requestSent();
+            Futures.addCallback(rpcResultFuture, resetKeepaliveTask, MoreExecutors.directExecutor());
+        }
+
+        private void scheduleTimeout(final ListenableFuture<DOMRpcResult> rpcResultFuture) {
+            if (rpcResultFuture.isDone()) {
+                return;
+            }
+            final Timeout timeout = facade.schedule(new RequestTimeoutTask(rpcResultFuture),
+                defaultRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+            // Completed requests do not need their deadline, drop it so that it does not occupy the timer
+            rpcResultFuture.addListener(timeout::cancel, MoreExecutors.directExecutor());
+        }
+
         @Override
         public <T extends DOMRpcAvailabilityListener> ListenerRegistration<T> registerRpcListener(final T listener) {
             // There is no real communication with the device (yet), no reset here
             return deviceRpc.registerRpcListener(listener);
         }
     }
+
+    // Timer used when none is supplied, created on first use
+    private static final class DefaultTimer {
+        static final Timer INSTANCE = new HashedWheelTimer(new DefaultThreadFactory("netconf-keepalive-timer", true));
+    }
 }
@@ -36,10 +36,28 @@ public final class NetconfDeviceDataBroker implements PingPongMergingDOMDataBrok
     private final boolean rollbackSupport;
     private final boolean candidateSupported;
     private final boolean runningWritable;
+    private final boolean coalesceEdits;
 
     public NetconfDeviceDataBroker(final RemoteDeviceId id, final SchemaContext schemaContext,
                                    final DOMRpcService rpc, final NetconfSessionPreferences netconfSessionPreferences) {
+        this(id, schemaContext, rpc, netconfSessionPreferences, false);
+    }
+
+    /**
+     * Create a new data broker.
+     *
+     * @param id Device identifier
+     * @param schemaContext Device schema context
+     * @param rpc Device RPC service
+     * @param netconfSessionPreferences Session preferences
+     * @param coalesceEdits True if write transactions should buffer modifications and send them in as few
+     *                      {@code edit-config} RPCs as possible on commit
+     */
+    public NetconfDeviceDataBroker(final RemoteDeviceId id, final SchemaContext schemaContext,
+                                   final DOMRpcService rpc, final NetconfSessionPreferences netconfSessionPreferences,
+                                   final boolean coalesceEdits) {
         this.id = id;
+        this.coalesceEdits = coalesceEdits;
         this.netconfOps = new NetconfBaseOps(rpc, schemaContext);
         // get specific attributes from netconf preferences and get rid of it
         // no need to keep the entire preferences object, its quite big with all the capability QNames
@@ -65,12 +83,12 @@ public final class NetconfDeviceDataBroker implements PingPongMergingDOMDataBrok
     public DOMDataTreeWriteTransaction newWriteOnlyTransaction() {
         if (candidateSupported) {
             if (runningWritable) {
-                return new WriteCandidateRunningTx(id, netconfOps, rollbackSupport);
+                return new WriteCandidateRunningTx(id, netconfOps, rollbackSupport, coalesceEdits);
             } else {
-                return new WriteCandidateTx(id, netconfOps, rollbackSupport);
+                return new WriteCandidateTx(id, netconfOps, rollbackSupport, coalesceEdits);
             }
         } else {
-            return new WriteRunningTx(id, netconfOps, rollbackSupport);
+            return new WriteRunningTx(id, netconfOps, rollbackSupport, coalesceEdits);
         }
     }
 
@@ -15,17 +15,24 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
 import org.opendaylight.mdsal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
-import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.sal.connect.api.DOMRpcBatchService;
 import org.opendaylight.netconf.sal.connect.api.MessageTransformer;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceCommunicator;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.concepts.NoOpListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -34,25 +41,72 @@ import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 /**
  * Invokes RPC by sending netconf message via listener. Also transforms result from NetconfMessage to CompositeNode.
  */
-public final class NetconfDeviceRpc implements DOMRpcService {
+public final class NetconfDeviceRpc implements DOMRpcBatchService {
 
     private final RemoteDeviceCommunicator<NetconfMessage> communicator;
     private final MessageTransformer<NetconfMessage> transformer;
     private final SchemaContext schemaContext;
+    private final Executor resultExecutor;
 
     public NetconfDeviceRpc(final SchemaContext schemaContext,
             final RemoteDeviceCommunicator<NetconfMessage> communicator,
             final MessageTransformer<NetconfMessage> transformer) {
+        this(schemaContext, communicator, transformer, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Create a new instance, which transforms replies on specified executor. This allows replies to be parsed
+     * in parallel, without occupying the thread which received them.
+     *
+     * @param schemaContext Device schema context
+     * @param communicator Device communicator
+     * @param transformer Message transformer, must be safe for concurrent use
+     * @param resultExecutor Executor used to transform replies
+     */
+    public NetconfDeviceRpc(final SchemaContext schemaContext,
+            final RemoteDeviceCommunicator<NetconfMessage> communicator,
+            final MessageTransformer<NetconfMessage> transformer, final Executor resultExecutor) {
         this.communicator = communicator;
         this.transformer = transformer;
         this.schemaContext = requireNonNull(schemaContext);
+        this.resultExecutor = requireNonNull(resultExecutor);
     }
 
     @Override
     public ListenableFuture<DOMRpcResult> invokeRpc(final SchemaPath type, final NormalizedNode<?, ?> input) {
-        final ListenableFuture<RpcResult<NetconfMessage>> delegateFuture = communicator.sendRequest(
-            transformer.toRpcRequest(type, input), type.getLastComponent());
+        return transformResult(communicator.sendRequest(transformer.toRpcRequest(type, input),
+            type.getLastComponent()), type);
+    }
+
+    /**
+     * Invoke multiple RPCs, sending the requests back-to-back. Requests exceeding the device's limit of concurrent
+     * requests are held back until replies to previous requests arrive.
+     *
+     * @param rpcs RPC types and their inputs
+     * @param onSent Callback invoked with the index of each request once it has been sent
+     * @return Futures of RPC results, in the order of requests
+     */
+    @Override
+    public List<ListenableFuture<DOMRpcResult>> invokeRpcs(
+            final List<? extends Entry<SchemaPath, NormalizedNode<?, ?>>> rpcs, final IntConsumer onSent) {
+        final List<Entry<NetconfMessage, QName>> requests = new ArrayList<>(rpcs.size());
+        for (Entry<SchemaPath, NormalizedNode<?, ?>> rpc : rpcs) {
+            final SchemaPath type = rpc.getKey();
+            requests.add(new SimpleImmutableEntry<>(transformer.toRpcRequest(type, rpc.getValue()),
+                type.getLastComponent()));
+        }
+
+        final List<ListenableFuture<RpcResult<NetconfMessage>>> delegateFutures = communicator.sendRequests(requests,
+            onSent);
+        final List<ListenableFuture<DOMRpcResult>> ret = new ArrayList<>(delegateFutures.size());
+        for (int i = 0; i < delegateFutures.size(); ++i) {
+            ret.add(transformResult(delegateFutures.get(i), rpcs.get(i).getKey()));
+        }
+        return ret;
+    }
 
+    private ListenableFuture<DOMRpcResult> transformResult(
+            final ListenableFuture<RpcResult<NetconfMessage>> delegateFuture, final SchemaPath type) {
         final SettableFuture<DOMRpcResult> ret = SettableFuture.create();
         Futures.addCallback(delegateFuture, new FutureCallback<RpcResult<NetconfMessage>>() {
             @Override
@@ -66,6 +120,13 @@ public final class NetconfDeviceRpc implements DOMRpcService {
                 ret.setException(new DOMRpcImplementationNotAvailableException(cause, "Unable to invoke rpc %s", type));
             }
 
+        }, resultExecutor);
+
+        // Propagate cancellation, so that requests which are still waiting to be sent are dropped
+        ret.addListener(() -> {
+            if (ret.isCancelled()) {
+                delegateFuture.cancel(false);
+            }
         }, MoreExecutors.directExecutor());
         return ret;
     }
@@ -32,17 +32,34 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
     private final RemoteDeviceId id;
     private final NetconfDeviceSalProvider salProvider;
     private final List<AutoCloseable> salRegistrations = new ArrayList<>();
+    private final boolean coalesceEdits;
 
     public NetconfDeviceSalFacade(final RemoteDeviceId id, final DOMMountPointService mountPointService,
             final DataBroker dataBroker) {
+        this(id, mountPointService, dataBroker, false);
+    }
+
+    /**
+     * Create a new facade.
+     *
+     * @param id Device identifier
+     * @param mountPointService Mount point service
+     * @param dataBroker Data broker
+     * @param coalesceEdits True if write transactions of the mount point should send their modifications in as few
+     *                      {@code edit-config} RPCs as possible
+     */
+    public NetconfDeviceSalFacade(final RemoteDeviceId id, final DOMMountPointService mountPointService,
+            final DataBroker dataBroker, final boolean coalesceEdits) {
         this.id = id;
         this.salProvider = new NetconfDeviceSalProvider(id, mountPointService, dataBroker);
+        this.coalesceEdits = coalesceEdits;
     }
 
     @VisibleForTesting
     NetconfDeviceSalFacade(final RemoteDeviceId id, final NetconfDeviceSalProvider salProvider) {
         this.id = id;
         this.salProvider = salProvider;
+        this.coalesceEdits = false;
     }
 
     @Override
@@ -56,7 +73,7 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
                                                final DOMRpcService deviceRpc, final DOMActionService deviceAction) {
 
         final DOMDataBroker domBroker =
-                new NetconfDeviceDataBroker(id, schemaContext, deviceRpc, netconfSessionPreferences);
+                new NetconfDeviceDataBroker(id, schemaContext, deviceRpc, netconfSessionPreferences, coalesceEdits);
 
         final NetconfDeviceNotificationService notificationService = new NetconfDeviceNotificationService();
 
@@ -64,7 +64,8 @@ public class NetconfDeviceSalProvider implements AutoCloseable {
         this.dataBroker = dataBroker;
         if (dataBroker != null) {
             txChain = Preconditions.checkNotNull(dataBroker).createTransactionChain(transactionChainListener);
-            topologyDatastoreAdapter = new NetconfDeviceTopologyAdapter(id, txChain);
+            topologyDatastoreAdapter = new NetconfDeviceTopologyAdapter(id, txChain,
+                NetconfDeviceStatusWriter.forDataBroker(dataBroker));
         }
     }
 
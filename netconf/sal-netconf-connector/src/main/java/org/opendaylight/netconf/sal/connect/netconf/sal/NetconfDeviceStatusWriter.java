@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes operational status of NETCONF devices. Updates are coalesced per device and committed in batches: while one
+ * batch is being committed, further updates are queued and the latest status of each device is written by the next
+ * batch. During a mass reconnect, status changes of many devices are therefore written in a few transactions rather
+ * than in one transaction per change.
+ *
+ * <p>
+ * Capability lists of a device are rewritten only when they change, otherwise only its connection status is merged.
+ *
+ * <p>
+ * Initial data of a device and its removal go through the same queue, so that they are committed in order with its
+ * status updates. A status update can therefore neither be overwritten by initial data submitted before it, nor
+ * resurrect a device removed after it.
+ */
+final class NetconfDeviceStatusWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceStatusWriter.class);
+
+    // Bounds the size of a single transaction, as each status may carry thousands of capabilities
+    private static final int MAX_BATCH_SIZE = 256;
+
+    // Writers are retained only while some device uses them, at which point the broker is reachable as well
+    private static final LoadingCache<DataBroker, NetconfDeviceStatusWriter> INSTANCES =
+            CacheBuilder.newBuilder().weakKeys().weakValues().build(
+                new CacheLoader<DataBroker, NetconfDeviceStatusWriter>() {
+                    @Override
+                    public NetconfDeviceStatusWriter load(final DataBroker key) {
+                        return new NetconfDeviceStatusWriter(key::newWriteOnlyTransaction);
+                    }
+                });
+
+    private final Supplier<WriteTransaction> transactionFactory;
+
+    @GuardedBy("this")
+    private final Map<RemoteDeviceId, PendingUpdate> pending = new LinkedHashMap<>();
+    // Last status written for each device, used to decide whether its capabilities need to be rewritten
+    @GuardedBy("this")
+    private final Map<RemoteDeviceId, NetconfNode> written = new HashMap<>();
+    @GuardedBy("this")
+    private FluentFuture<? extends CommitInfo> inFlight;
+    // Updates written by the batch in flight, re-queued should it fail
+    @GuardedBy("this")
+    private Map<RemoteDeviceId, PendingUpdate> inFlightUpdates = new HashMap<>();
+
+    NetconfDeviceStatusWriter(final Supplier<WriteTransaction> transactionFactory) {
+        this.transactionFactory = requireNonNull(transactionFactory);
+    }
+
+    /**
+     * Return the writer shared by all devices whose status is written to specified broker.
+     *
+     * @param dataBroker Data broker
+     * @return Shared writer
+     */
+    static NetconfDeviceStatusWriter forDataBroker(final DataBroker dataBroker) {
+        return INSTANCES.getUnchecked(requireNonNull(dataBroker));
+    }
+
+    /**
+     * Schedule a write of device status, replacing any status of the device which has not been written yet.
+     *
+     * @param id Device identifier
+     * @param status Device status
+     */
+    void updateStatus(final RemoteDeviceId id, final NetconfNode status) {
+        requireNonNull(status);
+        synchronized (this) {
+            final PendingUpdate previous = pending.get(id);
+            pending.put(id, new PendingUpdate(previous != null ? previous.reset : null, status));
+        }
+        flush();
+    }
+
+    /**
+     * Schedule a replacement of all data of a device, such as writing its initial data or removing it. Any status
+     * of the device which has not been written yet is dropped, as is the status written last.
+     *
+     * @param id Device identifier
+     * @param reset Writes replacing device data, invoked with the transaction which commits them
+     */
+    void resetDevice(final RemoteDeviceId id, final Consumer<WriteTransaction> reset) {
+        requireNonNull(reset);
+        synchronized (this) {
+            pending.put(id, new PendingUpdate(reset, null));
+            // Any status written subsequently has to be written in full
+            written.remove(id);
+            inFlightUpdates.remove(id);
+        }
+        flush();
+    }
+
+    private void flush() {
+        final FluentFuture<? extends CommitInfo> future;
+        final int size;
+        synchronized (this) {
+            if (inFlight != null || pending.isEmpty()) {
+                // The batch in flight picks up pending statuses once it completes
+                return;
+            }
+
+            final WriteTransaction tx = transactionFactory.get();
+            final Iterator<Entry<RemoteDeviceId, PendingUpdate>> it = pending.entrySet().iterator();
+            inFlightUpdates = new HashMap<>();
+            while (inFlightUpdates.size() < MAX_BATCH_SIZE && it.hasNext()) {
+                final Entry<RemoteDeviceId, PendingUpdate> entry = it.next();
+                it.remove();
+                final PendingUpdate update = entry.getValue();
+                if (update.reset != null) {
+                    update.reset.accept(tx);
+                }
+                if (update.status != null) {
+                    write(tx, entry.getKey(), update.status);
+                }
+                inFlightUpdates.put(entry.getKey(), update);
+            }
+            size = inFlightUpdates.size();
+            future = tx.commit();
+            inFlight = future;
+        }
+
+        LOG.trace("Committing status of {} devices", size);
+        future.addCallback(new FutureCallback<CommitInfo>() {
+            @Override
+            public void onSuccess(final CommitInfo result) {
+                LOG.trace("Status of {} devices committed", size);
+                completeBatch(true);
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                LOG.error("Failed to commit status of {} devices", size, throwable);
+                completeBatch(false);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void completeBatch(final boolean success) {
+        synchronized (this) {
+            inFlight = null;
+            if (!success) {
+                // We do not know what the datastore contains now, write subsequent statuses in full
+                written.clear();
+                // Retry updates of devices which have not been reset since, newer status takes precedence
+                for (Entry<RemoteDeviceId, PendingUpdate> entry : inFlightUpdates.entrySet()) {
+                    pending.merge(entry.getKey(), entry.getValue(), PendingUpdate::afterFailed);
+                }
+            }
+            inFlightUpdates = new HashMap<>();
+        }
+        flush();
+    }
+
+    @GuardedBy("this")
+    private void write(final WriteTransaction tx, final RemoteDeviceId id, final NetconfNode status) {
+        final InstanceIdentifier<NetconfNode> path = id.getTopologyBindingPath().augmentation(NetconfNode.class);
+        final NetconfNode previous = written.put(id, status);
+        if (previous != null && canMerge(previous, status)) {
+            LOG.trace("{}: Merging status {}", id, status.getConnectionStatus());
+            tx.merge(LogicalDatastoreType.OPERATIONAL, path, new NetconfNodeBuilder(status)
+                .setAvailableCapabilities(null).setUnavailableCapabilities(null).build(), true);
+        } else {
+            LOG.trace("{}: Writing status {} with capabilities", id, status.getConnectionStatus());
+            tx.put(LogicalDatastoreType.OPERATIONAL, path, status, true);
+        }
+    }
+
+    private static final class PendingUpdate {
+        final @Nullable Consumer<WriteTransaction> reset;
+        final @Nullable NetconfNode status;
+
+        PendingUpdate(final @Nullable Consumer<WriteTransaction> reset, final @Nullable NetconfNode status) {
+            this.reset = reset;
+            this.status = status;
+        }
+
+        // Combine this update, submitted while the failed one was in flight, with the failed one
+        PendingUpdate afterFailed(final PendingUpdate failed) {
+            if (reset != null) {
+                return this;
+            }
+            return new PendingUpdate(failed.reset, status != null ? status : failed.status);
+        }
+    }
+
+    private static boolean canMerge(final NetconfNode previous, final NetconfNode status) {
+        // Merge cannot remove leaves, hence all leaves of the previous status have to be overwritten or kept as-is
+        return Objects.equals(previous.getAvailableCapabilities(), status.getAvailableCapabilities())
+                && Objects.equals(previous.getUnavailableCapabilities(), status.getUnavailableCapabilities())
+                && Objects.equals(previous.getConnectedMessage(), status.getConnectedMessage())
+                && (previous.getClusteredConnectionStatus() == null || status.getClusteredConnectionStatus() != null);
+    }
+}
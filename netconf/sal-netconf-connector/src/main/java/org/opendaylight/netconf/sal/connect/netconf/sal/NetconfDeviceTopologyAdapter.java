@@ -8,16 +8,13 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.MoreExecutors;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.binding.api.TransactionChain;
 import org.opendaylight.mdsal.binding.api.WriteTransaction;
-import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
@@ -54,6 +51,7 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceTopologyAdapter.class);
 
     private final RemoteDeviceId id;
+    private final NetconfDeviceStatusWriter statusWriter;
     private TransactionChain txChain;
 
     private final InstanceIdentifier<NetworkTopology> networkTopologyPath;
@@ -61,8 +59,16 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     private static final String UNKNOWN_REASON = "Unknown reason";
 
     NetconfDeviceTopologyAdapter(final RemoteDeviceId id, final TransactionChain txChain) {
+        this(id, txChain, null);
+    }
+
+    NetconfDeviceTopologyAdapter(final RemoteDeviceId id, final TransactionChain txChain,
+            final @Nullable NetconfDeviceStatusWriter statusWriter) {
         this.id = id;
         this.txChain = Preconditions.checkNotNull(txChain);
+        // Without a shared writer, status is written through our own transaction chain
+        this.statusWriter = statusWriter != null ? statusWriter
+                : new NetconfDeviceStatusWriter(() -> this.txChain.newWriteOnlyTransaction());
 
         this.networkTopologyPath = InstanceIdentifier.builder(NetworkTopology.class).build();
         this.topologyListPath = networkTopologyPath
@@ -72,8 +78,11 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     private void initDeviceData() {
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+        // Initial data is written in order with status updates, so that neither overwrites the other out of order
+        statusWriter.resetDevice(id, this::writeInitialData);
+    }
 
+    private void writeInitialData(final WriteTransaction writeTx) {
         createNetworkTopologyIfNotPresent(writeTx);
 
         final InstanceIdentifier<Node> path = id.getTopologyBindingPath();
@@ -92,37 +101,19 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
         LOG.trace("{}: Init device state transaction {} putting if absent config data started.",
                 id, writeTx.getIdentifier());
         LOG.trace("{}: Init device state transaction {} putting config data ended.", id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "init");
     }
 
     public void updateDeviceData(final boolean up, final NetconfDeviceCapabilities capabilities) {
         final NetconfNode data = buildDataForNetconfNode(up, capabilities);
-
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-        LOG.trace("{}: Update device state transaction {} merging operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath().augmentation(NetconfNode.class),
-            data, true);
-        LOG.trace("{}: Update device state transaction {} merging operational data ended.",
-                id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "update");
+        LOG.trace("{}: Updating device state", id);
+        statusWriter.updateStatus(id, data);
     }
 
     public void updateClusteredDeviceData(final boolean up, final String masterAddress,
                                           final NetconfDeviceCapabilities capabilities) {
         final NetconfNode data = buildDataForNetconfClusteredNode(up, masterAddress, capabilities);
-
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-        LOG.trace("{}: Update device state transaction {} merging operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL,
-                id.getTopologyBindingPath().augmentation(NetconfNode.class), data, true);
-        LOG.trace("{}: Update device state transaction {} merging operational data ended.",
-                id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "update");
+        LOG.trace("{}: Updating clustered device state", id);
+        statusWriter.updateStatus(id, data);
     }
 
     public void setDeviceAsFailed(final Throwable throwable) {
@@ -132,18 +123,8 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
                 .setHost(id.getHost())
                 .setPort(new PortNumber(id.getAddress().getPort()))
                 .setConnectionStatus(ConnectionStatus.UnableToConnect).setConnectedMessage(reason).build();
-
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-        LOG.trace(
-                "{}: Setting device state as failed {} putting operational data started.",
-                id, writeTx.getIdentifier());
-        writeTx.put(LogicalDatastoreType.OPERATIONAL,
-                id.getTopologyBindingPath().augmentation(NetconfNode.class), data, true);
-        LOG.trace(
-                "{}: Setting device state as failed {} putting operational data ended.",
-                id, writeTx.getIdentifier());
-
-        commitTransaction(writeTx, "update-failed-device");
+        LOG.trace("{}: Setting device state as failed", id);
+        statusWriter.updateStatus(id, data);
     }
 
     private NetconfNode buildDataForNetconfNode(final boolean up, final NetconfDeviceCapabilities capabilities) {
@@ -191,22 +172,17 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     public void removeDeviceConfiguration() {
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-
-        LOG.trace(
-                "{}: Close device state transaction {} removing all data started.",
-                id, writeTx.getIdentifier());
-        writeTx.delete(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath());
-        LOG.trace(
-                "{}: Close device state transaction {} removing all data ended.",
-                id, writeTx.getIdentifier());
-
-        try {
-            writeTx.commit().get();
-        } catch (InterruptedException | ExecutionException e) {
-            LOG.error("{}: Transaction(close) {} FAILED!", id, writeTx.getIdentifier(), e);
-            throw new IllegalStateException(id + "  Transaction(close) not committed correctly", e);
-        }
+        // Removal is written in order with status updates, so that a status written before it does not resurrect
+        // the device data
+        statusWriter.resetDevice(id, writeTx -> {
+            LOG.trace(
+                    "{}: Close device state transaction {} removing all data started.",
+                    id, writeTx.getIdentifier());
+            writeTx.delete(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath());
+            LOG.trace(
+                    "{}: Close device state transaction {} removing all data ended.",
+                    id, writeTx.getIdentifier());
+        });
     }
 
     private void createNetworkTopologyIfNotPresent(final WriteTransaction writeTx) {
@@ -223,27 +199,6 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
         writeTx.merge(LogicalDatastoreType.OPERATIONAL, topologyListPath, topology);
     }
 
-    private void commitTransaction(final WriteTransaction transaction, final String txType) {
-        LOG.trace("{}: Committing Transaction {}:{}", id, txType,
-                transaction.getIdentifier());
-
-        transaction.commit().addCallback(new FutureCallback<CommitInfo>() {
-            @Override
-            public void onSuccess(final CommitInfo result) {
-                LOG.trace("{}: Transaction({}) {} SUCCESSFUL", id, txType,
-                        transaction.getIdentifier());
-            }
-
-            @Override
-            public void onFailure(final Throwable throwable) {
-                LOG.error("{}: Transaction({}) {} FAILED!", id, txType,
-                        transaction.getIdentifier(), throwable);
-                throw new IllegalStateException(
-                        id + "  Transaction(" + txType + ") not committed correctly", throwable);
-            }
-        }, MoreExecutors.directExecutor());
-    }
-
     private static NodeBuilder getNodeIdBuilder(final RemoteDeviceId id) {
         final NodeBuilder nodeBuilder = new NodeBuilder();
         nodeBuilder.withKey(new NodeKey(new NodeId(id.getName())));
@@ -21,6 +21,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
@@ -29,6 +31,7 @@ import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
+import org.opendaylight.netconf.sal.connect.netconf.util.EditConfigOperation;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.yang.common.RpcError;
@@ -48,15 +51,33 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
     protected final RemoteDeviceId id;
     protected final NetconfBaseOps netOps;
     protected final boolean rollbackSupport;
+    protected final boolean coalesceEdits;
     protected final List<ListenableFuture<DOMRpcResult>> resultsFutures = new ArrayList<>();
     private final List<TxListener> listeners = new CopyOnWriteArrayList<>();
+    @GuardedBy("this")
+    private final List<BufferedEdit> bufferedEdits = new ArrayList<>();
     // Allow commit to be called only once
     protected volatile boolean finished = false;
 
     public AbstractWriteTx(final NetconfBaseOps netOps, final RemoteDeviceId id, final boolean rollbackSupport) {
+        this(netOps, id, rollbackSupport, false);
+    }
+
+    /**
+     * Create a new transaction.
+     *
+     * @param netOps Netconf operations
+     * @param id Device identifier
+     * @param rollbackSupport True if the device supports rollback-on-error
+     * @param coalesceEdits True if modifications should be buffered until commit and sent in as few
+     *                      {@code edit-config} RPCs as possible, instead of one RPC per modification
+     */
+    public AbstractWriteTx(final NetconfBaseOps netOps, final RemoteDeviceId id, final boolean rollbackSupport,
+            final boolean coalesceEdits) {
         this.netOps = netOps;
         this.id = id;
         this.rollbackSupport = rollbackSupport;
+        this.coalesceEdits = coalesceEdits;
         init();
     }
 
@@ -79,6 +100,7 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
         }
         listeners.forEach(listener -> listener.onTransactionCancelled(this));
         finished = true;
+        bufferedEdits.clear();
         cleanup();
         return true;
     }
@@ -104,9 +126,7 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
             return;
         }
 
-        final DataContainerChild<?, ?> editStructure = netOps.createEditConfigStrcture(Optional.ofNullable(data),
-                        Optional.of(ModifyAction.REPLACE), path);
-        editConfig(path, Optional.ofNullable(data), editStructure, Optional.empty(), "put");
+        edit(path, Optional.ofNullable(data), Optional.of(ModifyAction.REPLACE), Optional.empty(), "put");
     }
 
     @Override
@@ -121,9 +141,7 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
             return;
         }
 
-        final DataContainerChild<?, ?> editStructure =  netOps.createEditConfigStrcture(Optional.ofNullable(data),
-            Optional.empty(), path);
-        editConfig(path, Optional.ofNullable(data), editStructure, Optional.empty(), "merge");
+        edit(path, Optional.ofNullable(data), Optional.empty(), Optional.empty(), "merge");
     }
 
     /**
@@ -139,9 +157,66 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
     @Override
     public synchronized void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         checkEditable(store);
-        final DataContainerChild<?, ?> editStructure = netOps.createEditConfigStrcture(Optional.empty(),
-                        Optional.of(ModifyAction.DELETE), path);
-        editConfig(path, Optional.empty(), editStructure, Optional.of(ModifyAction.NONE), "delete");
+        edit(path, Optional.empty(), Optional.of(ModifyAction.DELETE), Optional.of(ModifyAction.NONE), "delete");
+    }
+
+    private void edit(final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> data,
+            final Optional<ModifyAction> operation, final Optional<ModifyAction> defaultOperation,
+            final String operationName) {
+        if (coalesceEdits) {
+            bufferedEdits.add(new BufferedEdit(new EditConfigOperation(path, data, operation), defaultOperation,
+                operationName));
+            return;
+        }
+
+        final DataContainerChild<?, ?> editStructure = netOps.createEditConfigStrcture(data, operation, path);
+        editConfig(path, data, editStructure, defaultOperation, operationName);
+    }
+
+    /**
+     * Send buffered modifications. Consecutive modifications are combined into a single {@code edit-config} as long
+     * as they share the default operation and do not overlap, so that the order of modifications touching the same
+     * data is retained.
+     */
+    private synchronized void flushBufferedEdits() {
+        final List<BufferedEdit> batch = new ArrayList<>();
+        for (BufferedEdit edit : bufferedEdits) {
+            if (!batch.isEmpty() && !canJoin(batch, edit)) {
+                sendBatch(batch);
+                batch.clear();
+            }
+            batch.add(edit);
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(batch);
+        }
+        bufferedEdits.clear();
+    }
+
+    private static boolean canJoin(final List<BufferedEdit> batch, final BufferedEdit edit) {
+        return batch.get(0).defaultOperation.equals(edit.defaultOperation)
+                && batch.stream().noneMatch(batched -> batched.edit.overlaps(edit.edit));
+    }
+
+    private void sendBatch(final List<BufferedEdit> batch) {
+        if (batch.size() > 1) {
+            final List<EditConfigOperation> edits = batch.stream().map(edit -> edit.edit)
+                    .collect(Collectors.toList());
+            final Optional<DataContainerChild<?, ?>> editStructure = netOps.createEditConfigStructure(edits);
+            if (editStructure.isPresent()) {
+                LOG.debug("{}: Combined {} modifications into a single edit-config", id, batch.size());
+                editConfig(YangInstanceIdentifier.EMPTY, Optional.empty(), editStructure.get(),
+                    batch.get(0).defaultOperation, "combined");
+                return;
+            }
+        }
+
+        for (BufferedEdit edit : batch) {
+            final EditConfigOperation op = edit.edit;
+            editConfig(op.getPath(), op.getData(),
+                netOps.createEditConfigStrcture(op.getData(), op.getOperation(), op.getPath()),
+                edit.defaultOperation, edit.operationName);
+        }
     }
 
     @Override
@@ -175,6 +250,16 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
         listeners.forEach(listener -> listener.onTransactionSubmitted(this));
         checkNotFinished();
         finished = true;
+        try {
+            flushBufferedEdits();
+        } catch (RuntimeException e) {
+            // The transaction is finished and cannot be cancelled anymore, release the datastore before failing
+            LOG.warn("{}: Failed to send modifications of transaction {}", id, getIdentifier(), e);
+            bufferedEdits.clear();
+            cleanup();
+            listeners.forEach(listener -> listener.onTransactionFailed(this, e));
+            throw e;
+        }
         final ListenableFuture<RpcResult<Void>> result = performCommit();
         Futures.addCallback(result, new FutureCallback<RpcResult<Void>>() {
             @Override
@@ -294,6 +379,19 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
         transformed.set(RpcResultBuilder.<Void>success().build());
     }
 
+    private static final class BufferedEdit {
+        final EditConfigOperation edit;
+        final Optional<ModifyAction> defaultOperation;
+        final String operationName;
+
+        BufferedEdit(final EditConfigOperation edit, final Optional<ModifyAction> defaultOperation,
+                final String operationName) {
+            this.edit = edit;
+            this.defaultOperation = defaultOperation;
+            this.operationName = operationName;
+        }
+    }
+
     AutoCloseable addListener(final TxListener listener) {
         listeners.add(listener);
         return () -> listeners.remove(listener);
@@ -27,7 +27,12 @@ public class WriteCandidateRunningTx extends WriteCandidateTx {
 
     public WriteCandidateRunningTx(final RemoteDeviceId id, final NetconfBaseOps netOps,
                                    final boolean rollbackSupport) {
-        super(id, netOps, rollbackSupport);
+        this(id, netOps, rollbackSupport, false);
+    }
+
+    public WriteCandidateRunningTx(final RemoteDeviceId id, final NetconfBaseOps netOps,
+                                   final boolean rollbackSupport, final boolean coalesceEdits) {
+        super(id, netOps, rollbackSupport, coalesceEdits);
     }
 
     @Override
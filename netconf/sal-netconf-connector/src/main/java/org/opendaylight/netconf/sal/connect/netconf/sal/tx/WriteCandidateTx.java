@@ -50,7 +50,12 @@ public class WriteCandidateTx extends AbstractWriteTx {
     private static final Logger LOG  = LoggerFactory.getLogger(WriteCandidateTx.class);
 
     public WriteCandidateTx(final RemoteDeviceId id, final NetconfBaseOps rpc, final boolean rollbackSupport) {
-        super(rpc, id, rollbackSupport);
+        this(id, rpc, rollbackSupport, false);
+    }
+
+    public WriteCandidateTx(final RemoteDeviceId id, final NetconfBaseOps rpc, final boolean rollbackSupport,
+                            final boolean coalesceEdits) {
+        super(rpc, id, rollbackSupport, coalesceEdits);
     }
 
     @Override
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource.Costs;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.model.repo.util.AbstractSchemaSourceCache;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schema source cache backed by a namespace of a {@link SchemaSourceStore}. It is a drop-in replacement for
+ * {@code FilesystemSchemaSourceCache}: sources passing through the repository are stored, and stored sources are
+ * offered back to it. In addition to texts, the cache offers parsed sources, which the store shares among all
+ * repositories, so that identical texts are not parsed again for each schema cache directory.
+ *
+ * <p>
+ * When created for a schema cache directory, the directory is migrated into the store on startup, and sources
+ * encountered afterwards are still written to it in the {@code FilesystemSchemaSourceCache} layout. Users can therefore
+ * keep inspecting and editing sources there, and a downgrade finds the sources downloaded in the meantime.
+ */
+public final class ContentAddressedSchemaSourceCache extends AbstractSchemaSourceCache<YangTextSchemaSource> {
+    private static final Logger LOG = LoggerFactory.getLogger(ContentAddressedSchemaSourceCache.class);
+
+    private final Set<SourceIdentifier> registered = ConcurrentHashMap.newKeySet();
+    private final SchemaSourceProvider<ASTSchemaSource> parsedProvider = this::getParsedSource;
+    private final SchemaSourceRegistry consumer;
+    private final SchemaSourceStore store;
+    private final String namespace;
+    private final @Nullable Path legacyDirectory;
+
+    public ContentAddressedSchemaSourceCache(final SchemaSourceRegistry consumer, final SchemaSourceStore store,
+            final String namespace) {
+        this(consumer, store, namespace, null);
+    }
+
+    private ContentAddressedSchemaSourceCache(final SchemaSourceRegistry consumer, final SchemaSourceStore store,
+            final String namespace, final @Nullable Path legacyDirectory) {
+        super(consumer, YangTextSchemaSource.class, Costs.LOCAL_IO);
+        this.consumer = requireNonNull(consumer);
+        this.store = requireNonNull(store);
+        this.namespace = requireNonNull(namespace);
+        this.legacyDirectory = legacyDirectory;
+
+        final Set<SourceIdentifier> sources = store.getSources(namespace);
+        sources.forEach(this::registerSource);
+        LOG.debug("Cache for namespace {} initialized with {} sources", namespace, sources.size());
+    }
+
+    /**
+     * Create a cache for a schema cache directory. Sources cached in that directory by
+     * {@code FilesystemSchemaSourceCache} are imported into the store, and newly encountered sources are written to
+     * it as well.
+     *
+     * @param consumer Registry to which sources are offered
+     * @param store Backing store
+     * @param cacheDirectory Schema cache directory, its path is used as the namespace
+     * @return A new cache
+     */
+    public static ContentAddressedSchemaSourceCache forCacheDirectory(final SchemaSourceRegistry consumer,
+            final SchemaSourceStore store, final File cacheDirectory) {
+        final String namespace = cacheDirectory.getPath();
+        store.importDirectory(namespace, cacheDirectory);
+        return new ContentAddressedSchemaSourceCache(consumer, store, namespace, cacheDirectory.toPath());
+    }
+
+    @Override
+    public ListenableFuture<? extends YangTextSchemaSource> getSource(final SourceIdentifier sourceIdentifier) {
+        try {
+            return Futures.immediateFuture(store.getText(namespace, sourceIdentifier));
+        } catch (SchemaSourceException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    protected void offer(final YangTextSchemaSource source) {
+        final boolean stored;
+        try {
+            stored = store.store(namespace, source);
+        } catch (IOException e) {
+            LOG.warn("Failed to store source {} in namespace {}", source.getIdentifier(), namespace, e);
+            return;
+        }
+        if (stored && legacyDirectory != null) {
+            writeLegacySource(legacyDirectory, source);
+        }
+        registerSource(source.getIdentifier());
+    }
+
+    private static void writeLegacySource(final Path directory, final YangTextSchemaSource source) {
+        // Same file name as FilesystemSchemaSourceCache uses, so that the file is picked up by it and by the import
+        final SourceIdentifier sourceId = source.getIdentifier();
+        final Path file = directory.resolve(sourceId.getName()
+            + sourceId.getRevision().map(revision -> "@" + revision).orElse("") + ".yang");
+        try {
+            Files.createDirectories(directory);
+            final Path tmp = Files.createTempFile(directory, sourceId.getName(), ".tmp");
+            try {
+                Files.write(tmp, source.read());
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to write source {} to {}", sourceId, file, e);
+        }
+    }
+
+    private void registerSource(final SourceIdentifier sourceId) {
+        if (registered.add(sourceId)) {
+            register(sourceId);
+            // Parsed sources are usually already held in memory by the store, as it shares them with other
+            // repositories. Advertise them below text-to-AST transformation, so that the repository prefers them.
+            consumer.registerSchemaSource(parsedProvider,
+                PotentialSchemaSource.create(sourceId, ASTSchemaSource.class, Costs.IMMEDIATE.getValue()));
+        }
+    }
+
+    private ListenableFuture<ASTSchemaSource> getParsedSource(final SourceIdentifier sourceIdentifier) {
+        try {
+            return Futures.immediateFuture(store.getParsed(namespace, sourceIdentifier));
+        } catch (SchemaSourceException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+}
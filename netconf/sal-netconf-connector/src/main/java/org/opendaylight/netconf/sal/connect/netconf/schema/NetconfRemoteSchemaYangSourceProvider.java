@@ -13,15 +13,19 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_DATA_QNAME;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Optional;
 import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
+import org.opendaylight.netconf.sal.connect.api.DOMRpcBatchService;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.Yang;
@@ -58,6 +62,7 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
     private static final QName NETCONF_DATA =
             QName.create(GET_SCHEMA_QNAME, NETCONF_DATA_QNAME.getLocalName()).intern();
     private static final NodeIdentifier NETCONF_DATA_PATHARG = NodeIdentifier.create(NETCONF_DATA);
+    private static final SchemaPath GET_SCHEMA_PATH = SchemaPath.create(true, GET_SCHEMA_QNAME);
 
     private final DOMRpcService rpc;
     private final RemoteDeviceId id;
@@ -104,25 +109,33 @@ public final class NetconfRemoteSchemaYangSourceProvider implements SchemaSource
         final Optional<String> revision = sourceIdentifier.getRevision().map(Revision::toString);
         final NormalizedNode<?, ?> getSchemaRequest = createGetSchemaRequest(moduleName, revision);
         LOG.trace("{}: Loading YANG schema source for {}:{}", id, moduleName, revision);
-        return Futures.transform(
-            rpc.invokeRpc(SchemaPath.create(true, NetconfMessageTransformUtil.GET_SCHEMA_QNAME), getSchemaRequest),
-            input -> {
-                // Transform composite node to string schema representation and then to ASTSchemaSource.
-                if (input.getErrors().isEmpty()) {
-                    final Optional<String> schemaString = getSchemaFromRpc(id, input.getResult());
-                    checkState(schemaString.isPresent(),
-                        "%s: Unexpected response to get-schema, schema not present in message for: %s", id,
-                        sourceIdentifier);
-                    LOG.debug("{}: YANG Schema successfully retrieved for {}:{}", id, moduleName, revision);
-                    return new NetconfYangTextSchemaSource(id, sourceIdentifier, schemaString);
-                }
-
-                LOG.warn("{}: YANG schema was not successfully retrieved for {}. Errors: {}", id, sourceIdentifier,
-                    input.getErrors());
-                throw new IllegalStateException(String.format(
-                    "%s: YANG schema was not successfully retrieved for %s. Errors: %s", id, sourceIdentifier,
-                    input.getErrors()));
-            }, MoreExecutors.directExecutor());
+        return Futures.transform(invokeGetSchema(getSchemaRequest), input -> {
+            // Transform composite node to string schema representation and then to ASTSchemaSource.
+            if (input.getErrors().isEmpty()) {
+                final Optional<String> schemaString = getSchemaFromRpc(id, input.getResult());
+                checkState(schemaString.isPresent(),
+                    "%s: Unexpected response to get-schema, schema not present in message for: %s", id,
+                    sourceIdentifier);
+                LOG.debug("{}: YANG Schema successfully retrieved for {}:{}", id, moduleName, revision);
+                return new NetconfYangTextSchemaSource(id, sourceIdentifier, schemaString);
+            }
+
+            LOG.warn("{}: YANG schema was not successfully retrieved for {}. Errors: {}", id, sourceIdentifier,
+                input.getErrors());
+            throw new IllegalStateException(String.format(
+                "%s: YANG schema was not successfully retrieved for %s. Errors: %s", id, sourceIdentifier,
+                input.getErrors()));
+        }, MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<DOMRpcResult> invokeGetSchema(final NormalizedNode<?, ?> getSchemaRequest) {
+        if (rpc instanceof DOMRpcBatchService) {
+            // Batch invocation waits for a free slot when the device's concurrent RPC limit is reached, rather than
+            // failing. This allows many sources to be requested at once, as YangSourcePrefetcher does.
+            return ((DOMRpcBatchService) rpc).invokeRpcs(ImmutableList.of(
+                new SimpleImmutableEntry<SchemaPath, NormalizedNode<?, ?>>(GET_SCHEMA_PATH, getSchemaRequest))).get(0);
+        }
+        return rpc.invokeRpc(GET_SCHEMA_PATH, getSchemaRequest);
     }
 
     static class NetconfYangTextSchemaSource extends YangTextSchemaSource {
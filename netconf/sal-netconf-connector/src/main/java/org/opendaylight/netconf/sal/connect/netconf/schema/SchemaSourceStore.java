@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToASTTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk store of YANG texts, addressed by the SHA-256 hash of their content. A module text is stored only once,
+ * no matter how many schema cache directories use it, and is parsed only once while its parsed form is reachable.
+ *
+ * <p>
+ * Each schema cache directory is represented by a namespace, which maps source identifiers to content hashes, so that
+ * directories remain isolated from each other when devices report different texts for the same module revision.
+ * Mappings are kept in memory and persisted in an append-only index file, hence looking up a source does not touch
+ * the filesystem. Lines superseded by later ones are dropped from the index when the store is opened and whenever they
+ * start to outnumber the live mappings.
+ */
+public final class SchemaSourceStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaSourceStore.class);
+    private static final String INDEX_FILE = "index";
+    private static final String YANG_SUFFIX = ".yang";
+    private static final char SEPARATOR = '\t';
+    // Small indices are not worth compacting while running
+    private static final int MIN_COMPACTED_LINES = 1024;
+
+    @GuardedBy("STORES")
+    private static final Map<Path, SchemaSourceStore> STORES = new HashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentMap<SourceIdentifier, HashCode>> namespaces =
+            new ConcurrentHashMap<>();
+    // Parsed sources are shared by all namespaces, as they depend only on the text
+    private final Cache<HashCode, ASTSchemaSource> parsedSources = CacheBuilder.newBuilder().softValues().build();
+    private final Path directory;
+    private final Path indexFile;
+    @GuardedBy("this")
+    private int indexLines;
+
+    private SchemaSourceStore(final Path directory) throws IOException {
+        this.directory = directory;
+        this.indexFile = directory.resolve(INDEX_FILE);
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    /**
+     * Return the store residing in specified directory, creating it if needed.
+     *
+     * @param directory Store directory
+     * @return A SchemaSourceStore
+     * @throws IOException if the directory cannot be accessed
+     */
+    public static SchemaSourceStore forDirectory(final File directory) throws IOException {
+        final Path path = directory.toPath().toAbsolutePath().normalize();
+        synchronized (STORES) {
+            SchemaSourceStore store = STORES.get(path);
+            if (store == null) {
+                store = new SchemaSourceStore(path);
+                STORES.put(path, store);
+            }
+            return store;
+        }
+    }
+
+    /**
+     * Return sources stored in a namespace.
+     *
+     * @param namespace Namespace name
+     * @return Set of source identifiers
+     */
+    public Set<SourceIdentifier> getSources(final String namespace) {
+        final Map<SourceIdentifier, HashCode> sources = namespaces.get(namespace);
+        return sources == null ? ImmutableSet.of() : ImmutableSet.copyOf(sources.keySet());
+    }
+
+    public boolean contains(final String namespace, final SourceIdentifier sourceId) {
+        return lookup(namespace, sourceId) != null;
+    }
+
+    /**
+     * Store a source text in a namespace. The text is written only if it is not present in the store yet.
+     *
+     * @param namespace Namespace name
+     * @param source Source to store
+     * @return True if the namespace did not contain this text for the source
+     * @throws IOException if the source cannot be read or stored
+     */
+    public boolean store(final String namespace, final YangTextSchemaSource source) throws IOException {
+        final byte[] bytes = source.read();
+        final HashCode hash = Hashing.sha256().hashBytes(bytes);
+        final SourceIdentifier sourceId = source.getIdentifier();
+        if (hash.equals(lookup(namespace, sourceId))) {
+            return false;
+        }
+
+        // The directory may have been removed while we were running
+        Files.createDirectories(directory);
+        final Path blob = blobPath(hash);
+        if (!Files.exists(blob)) {
+            // Write to a temporary file first, so that a concurrent reader never sees a partial text
+            final Path tmp = Files.createTempFile(directory, hash.toString(), ".tmp");
+            try {
+                Files.write(tmp, bytes);
+                Files.move(tmp, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+
+        synchronized (this) {
+            namespace(namespace).put(sourceId, hash);
+            Files.write(indexFile, Collections.singletonList(indexLine(namespace, hash, sourceId)),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            indexLines++;
+            if (indexLines > MIN_COMPACTED_LINES && indexLines > 2 * mappingCount()) {
+                compactIndex();
+            }
+        }
+        LOG.trace("Stored source {} in namespace {} as {}", sourceId, namespace, hash);
+        return true;
+    }
+
+    /**
+     * Import source texts from a directory populated by {@code FilesystemSchemaSourceCache}. Files are imported unless
+     * the namespace already contains the same text, so that texts edited by the user replace the stored ones.
+     *
+     * @param namespace Namespace name
+     * @param legacyDirectory Directory to import
+     */
+    public void importDirectory(final String namespace, final File legacyDirectory) {
+        final Path path = legacyDirectory.toPath();
+        if (!Files.isDirectory(path)) {
+            return;
+        }
+
+        int imported = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*" + YANG_SUFFIX)) {
+            for (Path file : files) {
+                final Optional<SourceIdentifier> sourceId = identifierFromFilename(file.getFileName().toString());
+                if (sourceId.isPresent() && store(namespace, YangTextSchemaSource.delegateForByteSource(
+                        sourceId.get(), MoreFiles.asByteSource(file)))) {
+                    imported++;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to import schema sources from {}", legacyDirectory, e);
+        }
+        if (imported != 0) {
+            LOG.info("Imported {} schema sources from {} into namespace {}", imported, legacyDirectory, namespace);
+        }
+    }
+
+    /**
+     * Return the text of a source. The text is read from disk when it is opened.
+     *
+     * @param namespace Namespace name
+     * @param sourceId Source identifier
+     * @return Source text
+     * @throws MissingSchemaSourceException if the namespace does not contain the source
+     */
+    public YangTextSchemaSource getText(final String namespace, final SourceIdentifier sourceId)
+            throws MissingSchemaSourceException {
+        return getText(namespace, sourceId, requireHash(namespace, sourceId));
+    }
+
+    /**
+     * Return the parsed form of a source. Sources with the same text are parsed only once, even if they are used in
+     * multiple namespaces.
+     *
+     * @param namespace Namespace name
+     * @param sourceId Source identifier
+     * @return Parsed source
+     * @throws SchemaSourceException if the namespace does not contain the source or the source cannot be parsed
+     */
+    public ASTSchemaSource getParsed(final String namespace, final SourceIdentifier sourceId)
+            throws SchemaSourceException {
+        final HashCode hash = requireHash(namespace, sourceId);
+        final YangTextSchemaSource text = getText(namespace, sourceId, hash);
+        try {
+            return parsedSources.get(hash, () -> TextToASTTransformer.transformText(text));
+        } catch (ExecutionException e) {
+            throw new SchemaSourceException("Failed to parse source " + sourceId, e.getCause());
+        }
+    }
+
+    private YangTextSchemaSource getText(final String namespace, final SourceIdentifier sourceId,
+            final HashCode hash) throws MissingSchemaSourceException {
+        final Path blob = blobPath(hash);
+        if (!Files.exists(blob)) {
+            // Store directory has been removed from under us, forget the source
+            namespace(namespace).remove(sourceId, hash);
+            throw new MissingSchemaSourceException("Source text " + hash + " is missing from store", sourceId);
+        }
+        return YangTextSchemaSource.delegateForByteSource(sourceId, MoreFiles.asByteSource(blob));
+    }
+
+    private HashCode requireHash(final String namespace, final SourceIdentifier sourceId)
+            throws MissingSchemaSourceException {
+        final HashCode hash = lookup(namespace, sourceId);
+        if (hash == null) {
+            throw new MissingSchemaSourceException("Source not present in store", sourceId);
+        }
+        return hash;
+    }
+
+    private @Nullable HashCode lookup(final String namespace, final SourceIdentifier sourceId) {
+        final Map<SourceIdentifier, HashCode> sources = namespaces.get(namespace);
+        return sources == null ? null : sources.get(sourceId);
+    }
+
+    private ConcurrentMap<SourceIdentifier, HashCode> namespace(final String namespace) {
+        return namespaces.computeIfAbsent(namespace, key -> new ConcurrentHashMap<>());
+    }
+
+    private Path blobPath(final HashCode hash) {
+        return directory.resolve(hash.toString() + YANG_SUFFIX);
+    }
+
+    private void loadIndex() throws IOException {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            LOG.debug("Schema source store {} has no index, starting empty", directory);
+            return;
+        }
+
+        for (String line : lines) {
+            // namespace, hash, module name and optional revision
+            final String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+            if (fields.length != 4) {
+                LOG.warn("Ignoring malformed line \"{}\" of {}", line, indexFile);
+                continue;
+            }
+            final HashCode hash;
+            try {
+                hash = HashCode.fromString(fields[1]);
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring line \"{}\" of {} with malformed hash", line, indexFile, e);
+                continue;
+            }
+            // Later lines override earlier ones
+            namespace(fields[0]).put(RevisionSourceIdentifier.create(fields[2], Revision.ofNullable(
+                fields[3].isEmpty() ? null : fields[3])), hash);
+        }
+        LOG.debug("Loaded {} namespaces from schema source store {}", namespaces.size(), directory);
+
+        synchronized (this) {
+            indexLines = lines.size();
+            if (indexLines > mappingCount()) {
+                compactIndex();
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private void compactIndex() throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for (Entry<String, ConcurrentMap<SourceIdentifier, HashCode>> namespace : namespaces.entrySet()) {
+            for (Entry<SourceIdentifier, HashCode> source : namespace.getValue().entrySet()) {
+                lines.add(indexLine(namespace.getKey(), source.getValue(), source.getKey()));
+            }
+        }
+
+        final Path tmp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try {
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        LOG.debug("Compacted index of schema source store {} from {} to {} lines", directory, indexLines,
+            lines.size());
+        indexLines = lines.size();
+    }
+
+    private int mappingCount() {
+        return namespaces.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static String indexLine(final String namespace, final HashCode hash, final SourceIdentifier sourceId) {
+        return namespace + SEPARATOR + hash + SEPARATOR + sourceId.getName() + SEPARATOR
+                + sourceId.getRevision().map(Revision::toString).orElse("");
+    }
+
+    private static Optional<SourceIdentifier> identifierFromFilename(final String filename) {
+        // FilesystemSchemaSourceCache stores sources as name.yang or name@revision.yang
+        final String base = filename.substring(0, filename.length() - YANG_SUFFIX.length());
+        final int at = base.indexOf('@');
+        try {
+            return Optional.of(at == -1 ? RevisionSourceIdentifier.create(base)
+                : RevisionSourceIdentifier.create(base.substring(0, at), Revision.of(base.substring(at + 1))));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            LOG.debug("Ignoring file {} with unrecognized name", filename, e);
+            return Optional.empty();
+        }
+    }
+}
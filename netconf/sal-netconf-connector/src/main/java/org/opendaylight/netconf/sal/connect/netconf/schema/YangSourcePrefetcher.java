@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches YANG sources required by a device from a {@link SchemaRepository} ahead of schema resolution. Sources which
+ * are not available locally are downloaded from the device by {@link NetconfRemoteSchemaYangSourceProvider}. Up to
+ * {@code window} sources are requested at any time, hence their {@code get-schema} requests are pipelined on the
+ * session instead of being sent one by one. Fetched sources pass through the repository, which offers them to its
+ * caches, so that the subsequent schema resolution works with local sources only.
+ */
+public final class YangSourcePrefetcher {
+    private static final Logger LOG = LoggerFactory.getLogger(YangSourcePrefetcher.class);
+
+    private final RemoteDeviceId id;
+    private final SchemaRepository repository;
+    private final int window;
+
+    public YangSourcePrefetcher(final RemoteDeviceId id, final SchemaRepository repository, final int window) {
+        checkArgument(window > 0, "Invalid window %s", window);
+        this.id = id;
+        this.repository = requireNonNull(repository);
+        this.window = window;
+    }
+
+    /**
+     * Fetch specified sources.
+     *
+     * @param sources Sources to fetch
+     * @return Future completing with sources which could not be fetched. This future does not fail.
+     */
+    public ListenableFuture<Set<SourceIdentifier>> prefetch(final Collection<SourceIdentifier> sources) {
+        if (sources.isEmpty()) {
+            return Futures.immediateFuture(ImmutableSet.of());
+        }
+
+        LOG.debug("{}: Fetching {} sources, {} at a time", id, sources.size(), window);
+        final Prefetch prefetch = new Prefetch(ImmutableList.copyOf(sources));
+        for (int i = 0; i < window; ++i) {
+            if (!prefetch.fetchNext()) {
+                break;
+            }
+        }
+        return prefetch.result;
+    }
+
+    private final class Prefetch {
+        final SettableFuture<Set<SourceIdentifier>> result = SettableFuture.create();
+        private final Set<SourceIdentifier> missing = ConcurrentHashMap.newKeySet();
+        @GuardedBy("this")
+        private final Iterator<SourceIdentifier> remaining;
+        private final AtomicInteger pending;
+
+        Prefetch(final ImmutableList<SourceIdentifier> sources) {
+            this.remaining = sources.iterator();
+            this.pending = new AtomicInteger(sources.size());
+        }
+
+        /**
+         * Request next sources until a request does not complete immediately, which happens when the source needs to
+         * be downloaded. Its completion continues with the next source, keeping the number of requests in flight.
+         *
+         * @return False if there were no more sources to request
+         */
+        boolean fetchNext() {
+            while (true) {
+                final SourceIdentifier source;
+                synchronized (this) {
+                    if (!remaining.hasNext()) {
+                        return false;
+                    }
+                    source = remaining.next();
+                }
+
+                final ListenableFuture<YangTextSchemaSource> future =
+                        repository.getSchemaSource(source, YangTextSchemaSource.class);
+                if (!future.isDone()) {
+                    future.addListener(() -> {
+                        complete(source, future);
+                        fetchNext();
+                    }, MoreExecutors.directExecutor());
+                    return true;
+                }
+                complete(source, future);
+            }
+        }
+
+        private void complete(final SourceIdentifier source, final ListenableFuture<YangTextSchemaSource> future) {
+            try {
+                Futures.getDone(future);
+            } catch (ExecutionException | CancellationException e) {
+                LOG.debug("{}: Failed to fetch source {}", id, source, e);
+                missing.add(source);
+            }
+
+            if (pending.decrementAndGet() == 0) {
+                LOG.debug("{}: Sources fetched, {} missing", id, missing.size());
+                result.set(ImmutableSet.copyOf(missing));
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.opendaylight.netconf.sal.connect.netconf.schema.mapping;
 
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.CREATE_SUBSCRIPTION_RPC_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.IETF_NETCONF_NOTIFICATIONS;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.MESSAGE_ID_PREFIX;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RPC_REPLY_NODEID;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_URI;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toPath;
@@ -16,10 +17,7 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.ImmutableSet.Builder;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -29,6 +27,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.mdsal.dom.api.DOMActionResult;
@@ -38,11 +37,13 @@ import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.mdsal.dom.spi.SimpleDOMActionResult;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.MissingNameSpaceException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.sal.connect.api.MessageTransformer;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.netconf.util.NormalizedRpcRequestMessage;
 import org.opendaylight.netconf.sal.connect.util.MessageCounter;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.Revision;
@@ -55,17 +56,12 @@ import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
-import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
-import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
-import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +69,11 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
+/**
+ * {@link MessageTransformer} backed by the device's {@link SchemaContext}. Instances are safe for concurrent use: all
+ * state derived from the schema context is immutable and each transformation creates its own parser and writer
+ * state, so that replies and notifications can be parsed in parallel.
+ */
 public class NetconfMessageTransformer implements MessageTransformer<NetconfMessage> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageTransformer.class);
@@ -89,6 +90,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     private final Multimap<QName, NotificationDefinition> mappedNotifications;
     private final boolean strictParsing;
     private final Set<ActionDefinition> actions;
+    private final SchemaContextMetadata metadata;
 
     public NetconfMessageTransformer(final SchemaContext schemaContext, final boolean strictParsing) {
         this(schemaContext, strictParsing, BaseSchema.BASE_NETCONF_CTX);
@@ -98,41 +100,22 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
                                      final BaseSchema baseSchema) {
         this.counter = new MessageCounter();
         this.schemaContext = schemaContext;
-        this.mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), SchemaNode::getQName);
-        this.actions = getActions();
-        this.mappedNotifications = Multimaps.index(schemaContext.getNotifications(),
-            node -> node.getQName().withoutRevision());
+        // Lookup structures are shared by all transformers using the same schema context
+        this.metadata = SchemaContextMetadata.forSchemaContext(schemaContext);
+        this.mappedRpcs = metadata.getMappedRpcs();
+        this.actions = metadata.getActions();
+        this.mappedNotifications = metadata.getMappedNotifications();
         this.baseSchema = baseSchema;
         this.strictParsing = strictParsing;
     }
 
     @VisibleForTesting
     Set<ActionDefinition> getActions() {
-        Builder<ActionDefinition> builder = ImmutableSet.builder();
-        for (DataSchemaNode dataSchemaNode : schemaContext.getChildNodes()) {
-            if (dataSchemaNode instanceof ActionNodeContainer) {
-                findAction(dataSchemaNode, builder);
-            }
-        }
-        return builder.build();
-    }
-
-    private void findAction(final DataSchemaNode dataSchemaNode, final Builder<ActionDefinition> builder) {
-        if (dataSchemaNode instanceof ActionNodeContainer) {
-            final ActionNodeContainer containerSchemaNode = (ActionNodeContainer) dataSchemaNode;
-            for (ActionDefinition actionDefinition : containerSchemaNode.getActions()) {
-                builder.add(actionDefinition);
-            }
-        }
-        if (dataSchemaNode instanceof DataNodeContainer) {
-            for (DataSchemaNode innerDataSchemaNode : ((DataNodeContainer) dataSchemaNode).getChildNodes()) {
-                findAction(innerDataSchemaNode, builder);
-            }
-        }
+        return actions;
     }
 
     @Override
-    public synchronized DOMNotification toNotification(final NetconfMessage message) {
+    public DOMNotification toNotification(final NetconfMessage message) {
         final Map.Entry<Instant, XmlElement> stripped = NetconfMessageTransformUtil.stripNotification(message);
         final QName notificationNoRev;
         try {
@@ -150,7 +133,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         final NotificationDefinition mostRecentNotification = getMostRecentNotification(notificationDefinitions);
 
         final ContainerSchemaNode notificationAsContainerSchemaNode =
-                NetconfMessageTransformUtil.createSchemaForNotification(mostRecentNotification);
+                metadata.getNotificationSchema(mostRecentNotification);
 
         final Element element = stripped.getValue().getDomElement();
         final ContainerNode content;
@@ -192,32 +175,26 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
 
         final RpcDefinition mappedRpc = Preconditions.checkNotNull(currentMappedRpcs.get(rpcQName),
                 "Unknown rpc %s, available rpcs: %s", rpcQName, currentMappedRpcs.keySet());
+
+        // Set the path to the input of rpc for the node stream writer
+        final SchemaPath rpcInput = rpc.createChild(YangConstants.operationInputQName(rpcQName.getModule()));
+        // If the schema context for netconf device does not contain model for base netconf operations,
+        // use default pre build context with just the base model
+        // This way operations like lock/unlock are supported even if the source for base model was not provided
+        final SchemaContext ctx = needToUseBaseCtx ? baseSchema.getSchemaContext() : schemaContext;
+        final String messageId = counter.getNewMessageId(MESSAGE_ID_PREFIX);
+
         if (mappedRpc.getInput().getChildNodes().isEmpty()) {
-            return new NetconfMessage(NetconfMessageTransformUtil
-                    .prepareDomResultForRpcRequest(rpcQName, counter).getNode().getOwnerDocument());
+            return new NormalizedRpcRequestMessage(messageId, rpcQName, null, rpcInput, ctx);
         }
 
         Preconditions.checkNotNull(payload, "Transforming an rpc with input: %s, payload cannot be null", rpcQName);
 
         Preconditions.checkArgument(payload instanceof ContainerNode,
                 "Transforming an rpc with input: %s, payload has to be a container, but was: %s", rpcQName, payload);
-        // Set the path to the input of rpc for the node stream writer
-        final SchemaPath rpcInput = rpc.createChild(YangConstants.operationInputQName(rpcQName.getModule()));
-        final DOMResult result = NetconfMessageTransformUtil.prepareDomResultForRpcRequest(rpcQName, counter);
-
-        try {
-            // If the schema context for netconf device does not contain model for base netconf operations,
-            // use default pre build context with just the base model
-            // This way operations like lock/unlock are supported even if the source for base model was not provided
-            SchemaContext ctx = needToUseBaseCtx ? baseSchema.getSchemaContext() : schemaContext;
-            NetconfMessageTransformUtil.writeNormalizedRpc((ContainerNode) payload, result, rpcInput, ctx);
-        } catch (final XMLStreamException | IOException | IllegalStateException e) {
-            throw new IllegalStateException("Unable to serialize " + rpcInput, e);
-        }
 
-        final Document node = result.getNode().getOwnerDocument();
-
-        return new NetconfMessage(node);
+        // The payload is serialized when the message is encoded, directly to the wire
+        return new NormalizedRpcRequestMessage(messageId, rpcQName, (ContainerNode) payload, rpcInput, ctx);
     }
 
     @Override
@@ -235,7 +212,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
 
         if (actionDefinition.getInput().getChildNodes().isEmpty()) {
             return new NetconfMessage(NetconfMessageTransformUtil.prepareDomResultForActionRequest(
-                    DataSchemaContextTree.from(schemaContext), domDataTreeIdentifier, action, counter,
+                    metadata.getDataSchemaContextTree(), domDataTreeIdentifier, action, counter,
                     actionDefinition.getQName().getLocalName())
                     .getNode().getOwnerDocument());
         }
@@ -248,7 +225,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         // Set the path to the input of rpc for the node stream writer
         action = action.createChild(QName.create(action.getLastComponent(), "input").intern());
         final DOMResult result = NetconfMessageTransformUtil.prepareDomResultForActionRequest(
-                DataSchemaContextTree.from(schemaContext), domDataTreeIdentifier, action, counter,
+                metadata.getDataSchemaContextTree(), domDataTreeIdentifier, action, counter,
                 actionDefinition.getQName().getLocalName());
 
         try {
@@ -268,13 +245,11 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     }
 
     @Override
-    public synchronized DOMRpcResult toRpcResult(final NetconfMessage message, final SchemaPath rpc) {
+    public DOMRpcResult toRpcResult(final NetconfMessage message, final SchemaPath rpc) {
         final NormalizedNode<?, ?> normalizedNode;
         final QName rpcQName = rpc.getLastComponent();
         if (NetconfMessageTransformUtil.isDataRetrievalOperation(rpcQName)) {
-            final Element xmlData = NetconfMessageTransformUtil.getDataSubtree(message.getDocument());
-            final ContainerSchemaNode schemaForDataRead =
-                    NetconfMessageTransformUtil.createSchemaForDataRead(schemaContext);
+            final ContainerSchemaNode schemaForDataRead = metadata.getDataReadSchema();
             final ContainerNode dataNode;
 
             try {
@@ -282,10 +257,22 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
                 final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
                 final XmlParserStream xmlParser = XmlParserStream.create(writer, schemaContext, schemaForDataRead,
                         strictParsing);
-                xmlParser.traverse(new DOMSource(xmlData));
+                if (message instanceof LazyNetconfMessage) {
+                    // Stream the data element directly into the writer, without going through DOM
+                    final XMLStreamReader reader =
+                            NetconfMessageTransformUtil.openDataSubtree((LazyNetconfMessage) message);
+                    try {
+                        xmlParser.parse(reader);
+                    } finally {
+                        reader.close();
+                    }
+                } else {
+                    xmlParser.traverse(new DOMSource(
+                        NetconfMessageTransformUtil.getDataSubtree(message.getDocument())));
+                }
                 dataNode = (ContainerNode) resultHolder.getResult();
             } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
-                throw new IllegalArgumentException(String.format("Failed to parse data response %s", xmlData), e);
+                throw new IllegalArgumentException(String.format("Failed to parse data response %s", message), e);
             }
 
             normalizedNode = Builders.containerBuilder()
@@ -334,25 +321,42 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     private NormalizedNode<?, ?> parseResult(final NetconfMessage message,
             final OperationDefinition operationDefinition) {
         if (operationDefinition.getOutput().getChildNodes().isEmpty()) {
-            Preconditions.checkArgument(XmlElement.fromDomDocument(
-                message.getDocument()).getOnlyChildElementWithSameNamespaceOptionally("ok").isPresent(),
+            Preconditions.checkArgument(isOkReply(message),
                 "Unexpected content in response of rpc: %s, %s", operationDefinition.getQName(), message);
             return null;
         } else {
-            final Element element = message.getDocument().getDocumentElement();
             try {
                 final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
                 final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
                 final XmlParserStream xmlParser = XmlParserStream.create(writer, schemaContext,
                         operationDefinition.getOutput(), strictParsing);
-                xmlParser.traverse(new DOMSource(element));
+                if (message instanceof LazyNetconfMessage) {
+                    final XMLStreamReader reader = ((LazyNetconfMessage) message).openStreamReader();
+                    try {
+                        xmlParser.parse(reader);
+                    } finally {
+                        reader.close();
+                    }
+                } else {
+                    xmlParser.traverse(new DOMSource(message.getDocument().getDocumentElement()));
+                }
                 return resultHolder.getResult();
             } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
-                throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", element), e);
+                throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", message), e);
             }
         }
     }
 
+    private static boolean isOkReply(final NetconfMessage message) {
+        if (message instanceof LazyNetconfMessage) {
+            final LazyNetconfMessage lazy = (LazyNetconfMessage) message;
+            return lazy.hasSingleChildElement() && "ok".equals(lazy.getFirstChildElementName().orElse(null))
+                    && lazy.getRootElementNamespace().equals(lazy.getFirstChildElementNamespace().orElse(null));
+        }
+        return XmlElement.fromDomDocument(message.getDocument())
+                .getOnlyChildElementWithSameNamespaceOptionally("ok").isPresent();
+    }
+
     static class NetconfDeviceNotification implements DOMNotification, DOMEvent {
         private final ContainerNode content;
         private final SchemaPath schemaPath;
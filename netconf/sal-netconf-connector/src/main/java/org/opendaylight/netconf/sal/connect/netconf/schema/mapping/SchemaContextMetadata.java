@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema.mapping;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+
+/**
+ * Lookup structures and synthetic schemas derived from a {@link SchemaContext}, shared by all
+ * {@link NetconfMessageTransformer}s using that context. Devices with identical models end up with the same effective
+ * SchemaContext, hence mounting them does not need to traverse the schema again. Replies and notifications are parsed
+ * using the synthetic schemas created here, instead of creating them for each message.
+ */
+final class SchemaContextMetadata {
+    /**
+     * Keys are compared by identity. Values reference their SchemaContext, hence they need to be weak as well,
+     * otherwise entries would never be evicted. Each transformer holds on to its metadata, keeping the entry alive for
+     * as long as there is a device using it.
+     */
+    private static final LoadingCache<SchemaContext, SchemaContextMetadata> CACHE =
+            CacheBuilder.newBuilder().weakKeys().weakValues()
+                .build(new CacheLoader<SchemaContext, SchemaContextMetadata>() {
+                    @Override
+                    public SchemaContextMetadata load(final SchemaContext key) {
+                        return new SchemaContextMetadata(key);
+                    }
+                });
+
+    private final ImmutableMap<QName, RpcDefinition> mappedRpcs;
+    private final ImmutableListMultimap<QName, NotificationDefinition> mappedNotifications;
+    private final ImmutableSet<ActionDefinition> actions;
+    private final DataSchemaContextTree dataSchemaContextTree;
+    private final ContainerSchemaNode dataReadSchema;
+    private final ImmutableMap<QName, ContainerSchemaNode> notificationSchemas;
+
+    private SchemaContextMetadata(final SchemaContext schemaContext) {
+        mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), SchemaNode::getQName);
+        mappedNotifications = Multimaps.index(schemaContext.getNotifications(),
+            node -> node.getQName().withoutRevision());
+        actions = findActions(schemaContext);
+        dataSchemaContextTree = DataSchemaContextTree.from(schemaContext);
+        dataReadSchema = NetconfMessageTransformUtil.createSchemaForDataRead(schemaContext);
+
+        final ImmutableMap.Builder<QName, ContainerSchemaNode> builder = ImmutableMap.builder();
+        for (NotificationDefinition notification : schemaContext.getNotifications()) {
+            builder.put(notification.getQName(), NetconfMessageTransformUtil.createSchemaForNotification(notification));
+        }
+        notificationSchemas = builder.build();
+    }
+
+    static SchemaContextMetadata forSchemaContext(final SchemaContext schemaContext) {
+        return CACHE.getUnchecked(requireNonNull(schemaContext));
+    }
+
+    ImmutableMap<QName, RpcDefinition> getMappedRpcs() {
+        return mappedRpcs;
+    }
+
+    ImmutableListMultimap<QName, NotificationDefinition> getMappedNotifications() {
+        return mappedNotifications;
+    }
+
+    ImmutableSet<ActionDefinition> getActions() {
+        return actions;
+    }
+
+    DataSchemaContextTree getDataSchemaContextTree() {
+        return dataSchemaContextTree;
+    }
+
+    /**
+     * Return the schema of the {@code data} element of {@code get} and {@code get-config} replies.
+     *
+     * @return Schema for data read replies
+     */
+    ContainerSchemaNode getDataReadSchema() {
+        return dataReadSchema;
+    }
+
+    /**
+     * Return the schema of a notification's content.
+     *
+     * @param notification Notification definition
+     * @return Schema for the notification
+     */
+    ContainerSchemaNode getNotificationSchema(final NotificationDefinition notification) {
+        final ContainerSchemaNode schema = notificationSchemas.get(notification.getQName());
+        // Definitions coming from elsewhere are not cached
+        return schema != null ? schema : NetconfMessageTransformUtil.createSchemaForNotification(notification);
+    }
+
+    private static ImmutableSet<ActionDefinition> findActions(final SchemaContext schemaContext) {
+        final ImmutableSet.Builder<ActionDefinition> builder = ImmutableSet.builder();
+        for (DataSchemaNode dataSchemaNode : schemaContext.getChildNodes()) {
+            if (dataSchemaNode instanceof ActionNodeContainer) {
+                findAction(dataSchemaNode, builder);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void findAction(final DataSchemaNode dataSchemaNode,
+            final ImmutableSet.Builder<ActionDefinition> builder) {
+        if (dataSchemaNode instanceof ActionNodeContainer) {
+            builder.addAll(((ActionNodeContainer) dataSchemaNode).getActions());
+        }
+        if (dataSchemaNode instanceof DataNodeContainer) {
+            for (DataSchemaNode innerDataSchemaNode : ((DataNodeContainer) dataSchemaNode).getChildNodes()) {
+                findAction(innerDataSchemaNode, builder);
+            }
+        }
+    }
+}
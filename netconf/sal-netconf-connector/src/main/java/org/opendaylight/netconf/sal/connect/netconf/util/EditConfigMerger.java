@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.dom.DOMResult;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.util.NetconfUtil;
+import org.opendaylight.yangtools.rfc7952.data.api.NormalizedMetadata;
+import org.opendaylight.yangtools.rfc7952.data.util.ImmutableNormalizedMetadata;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.w3c.dom.Element;
+
+/**
+ * Combines multiple non-overlapping {@link EditConfigOperation}s into a single {@code config} element. Each operation
+ * is expanded to its parent structure, the resulting trees are merged and the operations are attached to their
+ * target nodes as {@code operation} attributes.
+ */
+final class EditConfigMerger {
+    private final Map<PathArgument, NormalizedNode<?, ?>> content = new LinkedHashMap<>();
+    private final MetadataNode metadata = new MetadataNode();
+    private final List<EditConfigOperation> edits = new ArrayList<>();
+    private final SchemaContext ctx;
+
+    EditConfigMerger(final SchemaContext ctx) {
+        this.ctx = requireNonNull(ctx);
+    }
+
+    void add(final EditConfigOperation edit) {
+        checkArgument(!edit.getPath().isEmpty(), "Operation %s targets the root and cannot be combined", edit);
+        for (EditConfigOperation existing : edits) {
+            checkArgument(!existing.overlaps(edit), "Operation %s overlaps with %s", edit, existing);
+        }
+
+        final NormalizedNode<?, ?> node = ImmutableNodes.fromInstanceId(ctx, edit.getPath(), edit.getData());
+        content.merge(node.getIdentifier(), node, EditConfigMerger::mergeNodes);
+        edit.getOperation().ifPresent(oper -> {
+            MetadataNode current = metadata;
+            for (PathArgument arg : edit.getPath().getPathArguments()) {
+                current = current.children.computeIfAbsent(arg, key -> new MetadataNode());
+            }
+            current.operation = oper.toString().toLowerCase(Locale.US);
+        });
+        edits.add(edit);
+    }
+
+    void writeTo(final Element element) throws IOException, XMLStreamException {
+        for (Entry<PathArgument, NormalizedNode<?, ?>> entry : content.entrySet()) {
+            final PathArgument arg = entry.getKey();
+            final MetadataNode meta = metadata.children.get(arg);
+            NetconfUtil.writeNormalizedNode(entry.getValue(), meta == null ? null : meta.build(arg),
+                new DOMResult(element), SchemaPath.ROOT, ctx);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static NormalizedNode<?, ?> mergeNodes(final NormalizedNode<?, ?> first,
+            final NormalizedNode<?, ?> second) {
+        if (first instanceof DataContainerNode) {
+            checkArgument(second instanceof DataContainerNode, "Conflicting data for %s", first.getIdentifier());
+            final List<DataContainerChild<? extends PathArgument, ?>> children = mergeChildren(
+                ((DataContainerNode<?>) first).getValue(), ((DataContainerNode<?>) second).getValue());
+            if (first instanceof ContainerNode) {
+                return Builders.containerBuilder().withNodeIdentifier((NodeIdentifier) first.getIdentifier())
+                        .withValue(children).build();
+            } else if (first instanceof MapEntryNode) {
+                return Builders.mapEntryBuilder()
+                        .withNodeIdentifier((NodeIdentifierWithPredicates) first.getIdentifier())
+                        .withValue(children).build();
+            } else if (first instanceof AugmentationNode) {
+                return Builders.augmentationBuilder()
+                        .withNodeIdentifier((AugmentationIdentifier) first.getIdentifier())
+                        .withValue(children).build();
+            } else if (first instanceof ChoiceNode) {
+                return Builders.choiceBuilder().withNodeIdentifier((NodeIdentifier) first.getIdentifier())
+                        .withValue(children).build();
+            }
+        } else if (first instanceof MapNode) {
+            checkArgument(second instanceof MapNode, "Conflicting data for %s", first.getIdentifier());
+            final NodeIdentifier identifier = (NodeIdentifier) first.getIdentifier();
+            final List<MapEntryNode> entries = mergeChildren(((MapNode) first).getValue(),
+                ((MapNode) second).getValue());
+            if (first instanceof OrderedMapNode) {
+                return Builders.orderedMapBuilder().withNodeIdentifier(identifier).withValue(entries).build();
+            }
+            return Builders.mapBuilder().withNodeIdentifier(identifier).withValue(entries).build();
+        } else if (first instanceof LeafSetNode) {
+            checkArgument(second instanceof LeafSetNode, "Conflicting data for %s", first.getIdentifier());
+            final NodeIdentifier identifier = (NodeIdentifier) first.getIdentifier();
+            final List entries = mergeChildren(((LeafSetNode<?>) first).getValue(),
+                ((LeafSetNode<?>) second).getValue());
+            if (first instanceof OrderedLeafSetNode) {
+                return Builders.orderedLeafSetBuilder().withNodeIdentifier(identifier).withValue(entries).build();
+            }
+            return Builders.leafSetBuilder().withNodeIdentifier(identifier).withValue(entries).build();
+        }
+
+        // Leaves are shared only as list keys, which are equal by definition
+        checkArgument(first.equals(second), "Conflicting data for %s", first.getIdentifier());
+        return first;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends NormalizedNode<?, ?>> List<T> mergeChildren(final Collection<? extends T> first,
+            final Collection<? extends T> second) {
+        final Map<PathArgument, T> merged = new LinkedHashMap<>();
+        for (T child : first) {
+            merged.put(child.getIdentifier(), child);
+        }
+        for (T child : second) {
+            merged.merge(child.getIdentifier(), child, (existing, added) -> (T) mergeNodes(existing, added));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static final class MetadataNode {
+        final Map<PathArgument, MetadataNode> children = new LinkedHashMap<>();
+        @Nullable String operation;
+
+        NormalizedMetadata build(final PathArgument identifier) {
+            final ImmutableNormalizedMetadata.Builder builder = ImmutableNormalizedMetadata.builder()
+                    .withIdentifier(identifier);
+            if (operation != null) {
+                builder.withAnnotation(NetconfMessageTransformUtil.NETCONF_OPERATION_QNAME_LEGACY, operation);
+            }
+            for (Entry<PathArgument, MetadataNode> child : children.entrySet()) {
+                builder.withChild(child.getValue().build(child.getKey()));
+            }
+            return builder.build();
+        }
+    }
+}
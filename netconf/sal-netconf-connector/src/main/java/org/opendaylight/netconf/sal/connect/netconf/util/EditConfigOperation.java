@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Optional;
+import org.opendaylight.netconf.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A single modification of configuration data, which can be combined with other non-overlapping modifications into
+ * a single {@code edit-config} structure, see {@link NetconfBaseOps#createEditConfigStructure(java.util.List)}.
+ */
+public final class EditConfigOperation {
+    private final YangInstanceIdentifier path;
+    private final Optional<NormalizedNode<?, ?>> data;
+    private final Optional<ModifyAction> operation;
+
+    public EditConfigOperation(final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> data,
+            final Optional<ModifyAction> operation) {
+        this.path = requireNonNull(path);
+        this.data = requireNonNull(data);
+        this.operation = requireNonNull(operation);
+    }
+
+    public YangInstanceIdentifier getPath() {
+        return path;
+    }
+
+    public Optional<NormalizedNode<?, ?>> getData() {
+        return data;
+    }
+
+    /**
+     * Return the operation to be set on the target node. An absent operation means the node is merged using the
+     * default operation of the {@code edit-config}.
+     *
+     * @return Operation to be set on the target node
+     */
+    public Optional<ModifyAction> getOperation() {
+        return operation;
+    }
+
+    /**
+     * Check whether this operation affects data affected by another operation, i.e. whether one of the paths is
+     * an ancestor of the other one, or they are equal. Overlapping operations cannot be combined, as their order
+     * would be lost.
+     *
+     * @param other Other operation
+     * @return True if the two operations overlap
+     */
+    public boolean overlaps(final EditConfigOperation other) {
+        return path.contains(other.path) || other.path.contains(path);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("path", path).add("operation", operation).toString();
+    }
+}
@@ -37,6 +37,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
@@ -293,6 +294,19 @@ public final class NetconfBaseOps {
         return Builders.choiceBuilder().withNodeIdentifier(EDIT_CONTENT_NODEID).withChild(configContent).build();
     }
 
+    /**
+     * Create a single edit structure carrying multiple non-overlapping operations, see
+     * {@link NetconfMessageTransformUtil#createEditConfigAnyxml(SchemaContext, List)}.
+     *
+     * @param edits Operations to combine
+     * @return Edit structure, or empty if operations cannot be combined for this device
+     */
+    public Optional<DataContainerChild<?, ?>> createEditConfigStructure(final List<EditConfigOperation> edits) {
+        return transformer.createEditConfigStructure(edits).map(
+            configContent -> Builders.choiceBuilder().withNodeIdentifier(EDIT_CONTENT_NODEID).withChild(configContent)
+                .build());
+    }
+
     private static ContainerNode getEditConfigContent(
             final QName datastore, final DataContainerChild<?, ?> editStructure,
             final Optional<ModifyAction> defaultOperation, final boolean rollback) {
@@ -24,13 +24,16 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -144,7 +147,7 @@ public final class NetconfMessageTransformUtil {
     public static final SchemaPath NETCONF_COPY_CONFIG_PATH = toPath(NETCONF_COPY_CONFIG_QNAME);
 
     public static final QName NETCONF_OPERATION_QNAME = QName.create(NETCONF_QNAME, "operation").intern();
-    private static final QName NETCONF_OPERATION_QNAME_LEGACY = NETCONF_OPERATION_QNAME.withoutRevision().intern();
+    static final QName NETCONF_OPERATION_QNAME_LEGACY = NETCONF_OPERATION_QNAME.withoutRevision().intern();
     public static final QName NETCONF_DEFAULT_OPERATION_QNAME =
             QName.create(NETCONF_OPERATION_QNAME, "default-operation").intern();
     public static final NodeIdentifier NETCONF_DEFAULT_OPERATION_NODEID =
@@ -238,8 +241,8 @@ public final class NetconfMessageTransformUtil {
 
     public static void checkValidReply(final NetconfMessage input, final NetconfMessage output)
             throws NetconfDocumentedException {
-        final String inputMsgId = input.getDocument().getDocumentElement().getAttribute(MESSAGE_ID_ATTR);
-        final String outputMsgId = output.getDocument().getDocumentElement().getAttribute(MESSAGE_ID_ATTR);
+        final String inputMsgId = getMessageId(input);
+        final String outputMsgId = getMessageId(output);
 
         if (!inputMsgId.equals(outputMsgId)) {
             final Map<String, String> errorInfo = ImmutableMap.<String, String>builder()
@@ -254,8 +257,30 @@ public final class NetconfMessageTransformUtil {
         }
     }
 
+    /**
+     * Extract the message-id attribute of a message, without building its DOM document if possible.
+     *
+     * @param message Message
+     * @return message-id of the message, empty string if it is not present
+     */
+    public static String getMessageId(final NetconfMessage message) {
+        if (message instanceof NormalizedRpcRequestMessage) {
+            return ((NormalizedRpcRequestMessage) message).getMessageId();
+        }
+        if (message instanceof LazyNetconfMessage) {
+            return ((LazyNetconfMessage) message).getMessageId().orElse("");
+        }
+        final Document document = message.getDocument();
+        return document == null ? "" : document.getDocumentElement().getAttribute(MESSAGE_ID_ATTR);
+    }
+
     public static void checkSuccessReply(final NetconfMessage output) throws NetconfDocumentedException {
-        if (NetconfMessageUtil.isErrorMessage(output)) {
+        if (output instanceof LazyNetconfMessage) {
+            // Envelope has already been scanned, do not touch the body unless it is an error
+            if (((LazyNetconfMessage) output).isErrorReply()) {
+                throw NetconfDocumentedException.fromXMLDocument(output.getDocument());
+            }
+        } else if (NetconfMessageUtil.isErrorMessage(output)) {
             throw NetconfDocumentedException.fromXMLDocument(output.getDocument());
         }
     }
@@ -314,6 +339,30 @@ public final class NetconfMessageTransformUtil {
         return (Element) doc.getElementsByTagNameNS(NETCONF_URI.toString(), "data").item(0);
     }
 
+    /**
+     * Streaming equivalent of {@link #getDataSubtree(Document)}. Returned reader exposes the data element as if it
+     * were a standalone document and needs to be closed by the caller.
+     *
+     * @param message Message to read
+     * @return An XMLStreamReader over the data element
+     * @throws XMLStreamException if the message cannot be read
+     * @throws IllegalArgumentException if the message does not contain a data element
+     */
+    public static XMLStreamReader openDataSubtree(final LazyNetconfMessage message) throws XMLStreamException {
+        final XMLStreamReader reader = message.openStreamReader();
+        final String namespace = NETCONF_URI.toString();
+        final String localName = NETCONF_DATA_QNAME.getLocalName();
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && localName.equals(reader.getLocalName())
+                    && namespace.equals(reader.getNamespaceURI())) {
+                return new SubtreeXMLStreamReader(reader);
+            }
+        }
+
+        reader.close();
+        throw new IllegalArgumentException("Message " + message + " does not contain a data element");
+    }
+
     public static boolean isDataRetrievalOperation(final QName rpc) {
         return NETCONF_URI.equals(rpc.getNamespace())
                 && (NETCONF_GET_CONFIG_QNAME.getLocalName().equals(rpc.getLocalName())
@@ -369,6 +418,33 @@ public final class NetconfMessageTransformUtil {
                 .build();
     }
 
+    /**
+     * Create a single {@code config} element carrying multiple non-overlapping operations. Operations are attached to
+     * their target nodes, hence the resulting structure is equivalent to sending each operation in its own
+     * {@code edit-config}, as long as all of them use the same default operation.
+     *
+     * @param ctx Schema context
+     * @param edits Operations to combine
+     * @return Combined config element
+     * @throws IllegalArgumentException if the operations overlap or one of them targets the root
+     */
+    public static AnyXmlNode createEditConfigAnyxml(final SchemaContext ctx, final List<EditConfigOperation> edits) {
+        Preconditions.checkArgument(!edits.isEmpty(), "At least one operation is required");
+        final EditConfigMerger merger = new EditConfigMerger(ctx);
+        edits.forEach(merger::add);
+
+        final Element element = XmlUtil.createElement(BLANK_DOCUMENT, NETCONF_CONFIG_QNAME.getLocalName(),
+                Optional.of(NETCONF_CONFIG_QNAME.getNamespace().toString()));
+        try {
+            merger.writeTo(element);
+        } catch (IOException | XMLStreamException e) {
+            throw new IllegalStateException("Unable to serialize edit config content element for " + edits, e);
+        }
+
+        return Builders.anyXmlBuilder().withNodeIdentifier(NETCONF_CONFIG_NODEID).withValue(new DOMSource(element))
+                .build();
+    }
+
     private static NormalizedMetadata leafMetadata(YangInstanceIdentifier path, final ModifyAction oper) {
         final List<PathArgument> args = path.getPathArguments();
         final Deque<Builder> builders = new ArrayDeque<>(args.size());
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.util;
 
+import java.util.List;
 import java.util.Optional;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -41,6 +42,11 @@ class NetconfRpcStructureTransformer implements RpcStructureTransformer {
         return NetconfMessageTransformUtil.createEditConfigAnyxml(schemaContext, dataPath, operation, data);
     }
 
+    @Override
+    public Optional<AnyXmlNode> createEditConfigStructure(final List<EditConfigOperation> edits) {
+        return Optional.of(NetconfMessageTransformUtil.createEditConfigAnyxml(schemaContext, edits));
+    }
+
     @Override
     public DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier path) {
         return NetconfMessageTransformUtil.toFilterStructure(path, schemaContext);
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static java.util.Objects.requireNonNull;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.MESSAGE_ID_ATTR;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RPC_QNAME;
+
+import java.io.IOException;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.api.StreamableNetconfMessage;
+import org.opendaylight.netconf.util.NetconfUtil;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaOrderedNormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An outbound {@code rpc} message, which carries its input as a {@link ContainerNode} and serializes it on demand.
+ * The encoder writes it straight to the wire, so that the message is serialized exactly once and no DOM document is
+ * built unless someone asks for it.
+ */
+public final class NormalizedRpcRequestMessage extends StreamableNetconfMessage {
+    private static final Logger LOG = LoggerFactory.getLogger(NormalizedRpcRequestMessage.class);
+
+    private final String messageId;
+    private final QName rpcQName;
+    private final @Nullable ContainerNode payload;
+    private final SchemaPath inputPath;
+    private final SchemaContext schemaContext;
+
+    /**
+     * Create a new message.
+     *
+     * @param messageId message-id of the request
+     * @param rpcQName RPC name
+     * @param payload RPC input, null if the RPC has no input
+     * @param inputPath Schema path of RPC input
+     * @param schemaContext Schema context used to serialize input
+     */
+    public NormalizedRpcRequestMessage(final String messageId, final QName rpcQName,
+            final @Nullable ContainerNode payload, final SchemaPath inputPath, final SchemaContext schemaContext) {
+        super(NetconfUtil.XML_FACTORY);
+        this.messageId = requireNonNull(messageId);
+        this.rpcQName = requireNonNull(rpcQName);
+        this.payload = payload;
+        this.inputPath = requireNonNull(inputPath);
+        this.schemaContext = requireNonNull(schemaContext);
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Return a copy of this message, which carries specified message-id.
+     *
+     * @param newMessageId message-id of the copy
+     * @return A new message
+     */
+    public NormalizedRpcRequestMessage withMessageId(final String newMessageId) {
+        return new NormalizedRpcRequestMessage(newMessageId, rpcQName, payload, inputPath, schemaContext);
+    }
+
+    public QName getRpcQName() {
+        return rpcQName;
+    }
+
+    @Override
+    public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+        final String netconfNs = NETCONF_RPC_QNAME.getNamespace().toString();
+        writer.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, NETCONF_RPC_QNAME.getLocalName(), netconfNs);
+        writer.writeDefaultNamespace(netconfNs);
+        writer.writeAttribute(MESSAGE_ID_ATTR, messageId);
+
+        final String rpcNs = rpcQName.getNamespace().toString();
+        writer.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, rpcQName.getLocalName(), rpcNs);
+        writer.writeDefaultNamespace(rpcNs);
+        if (payload != null) {
+            try {
+                writePayload(writer, payload);
+            } catch (XMLStreamException e) {
+                // The caller only sees a failed write, make sure it can be traced back to the RPC
+                LOG.warn("Failed to serialize input of RPC {} with message-id {}", rpcQName, messageId, e);
+                throw e;
+            }
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private void writePayload(final XMLStreamWriter writer, final ContainerNode input) throws XMLStreamException {
+        // Note: the writers are flushed, not closed, as closing them would close the caller's writer
+        final NormalizedNodeStreamWriter streamWriter =
+                XMLStreamNormalizedNodeStreamWriter.create(writer, schemaContext, inputPath);
+        final SchemaOrderedNormalizedNodeWriter nodeWriter =
+                new SchemaOrderedNormalizedNodeWriter(streamWriter, schemaContext, inputPath);
+        try {
+            nodeWriter.write(input.getValue());
+            nodeWriter.flush();
+        } catch (IOException e) {
+            throw new XMLStreamException("Failed to serialize input of " + rpcQName, e);
+        }
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.util;
 
+import java.util.List;
 import java.util.Optional;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -30,6 +31,13 @@ interface RpcStructureTransformer {
     AnyXmlNode createEditConfigStructure(Optional<NormalizedNode<?, ?>> data,
                                          YangInstanceIdentifier dataPath, Optional<ModifyAction> operation);
 
+    /**
+     * Transforms multiple non-overlapping operations into a single config element structure.
+     * @param edits operations
+     * @return config structure, or empty if this transformer cannot combine operations
+     */
+    Optional<AnyXmlNode> createEditConfigStructure(List<EditConfigOperation> edits);
+
     /**
      * Transforms path to filter structure.
      * @param path path
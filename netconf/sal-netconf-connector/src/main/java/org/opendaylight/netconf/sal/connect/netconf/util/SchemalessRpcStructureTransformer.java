@@ -115,6 +115,18 @@ class SchemalessRpcStructureTransformer implements RpcStructureTransformer {
                 .build();
     }
 
+    /**
+     * This class in not context aware, hence it cannot tell which parent structures of two operations are the same
+     * node. Operations are never combined.
+     * @see RpcStructureTransformer#createEditConfigStructure(List)
+     * @param edits operations
+     * @return empty
+     */
+    @Override
+    public Optional<AnyXmlNode> createEditConfigStructure(final List<EditConfigOperation> edits) {
+        return Optional.empty();
+    }
+
     /**
      * This class in not context aware. All elements are present in resulting structure, which are present in data path.
      * @see RpcStructureTransformer#toFilterStructure(YangInstanceIdentifier)
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.NoSuchElementException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+/**
+ * An {@link XMLStreamReader} exposing only the element its backing reader is positioned at, as if it were a complete
+ * document. This is the streaming equivalent of wrapping a DOM element in a DOMSource.
+ */
+final class SubtreeXMLStreamReader extends StreamReaderDelegate {
+    private enum State {
+        BEFORE,
+        INSIDE,
+        AFTER
+    }
+
+    private State state = State.BEFORE;
+    private int depth;
+
+    SubtreeXMLStreamReader(final XMLStreamReader reader) {
+        super(reader);
+        checkArgument(reader.getEventType() == XMLStreamConstants.START_ELEMENT,
+            "Reader has to be positioned at an element");
+    }
+
+    @Override
+    public int getEventType() {
+        switch (state) {
+            case BEFORE:
+                return XMLStreamConstants.START_DOCUMENT;
+            case AFTER:
+                return XMLStreamConstants.END_DOCUMENT;
+            default:
+                return super.getEventType();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return state != State.AFTER;
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        switch (state) {
+            case BEFORE:
+                // The backing reader is already positioned at the start of our element
+                state = State.INSIDE;
+                depth = 1;
+                return XMLStreamConstants.START_ELEMENT;
+            case AFTER:
+                throw new NoSuchElementException("End of subtree reached");
+            default:
+                break;
+        }
+
+        if (depth == 0) {
+            state = State.AFTER;
+            return XMLStreamConstants.END_DOCUMENT;
+        }
+
+        final int event = super.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+            depth++;
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+            depth--;
+        }
+        return event;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while (event == XMLStreamConstants.CHARACTERS && isWhiteSpace()
+                || event == XMLStreamConstants.CDATA && isWhiteSpace()
+                || event == XMLStreamConstants.SPACE
+                || event == XMLStreamConstants.PROCESSING_INSTRUCTION
+                || event == XMLStreamConstants.COMMENT) {
+            event = next();
+        }
+        if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("Expected start or end tag", getLocation());
+        }
+        return event;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        // Backing reader consumes everything up to and including the end of current element
+        final String text = super.getElementText();
+        depth--;
+        return text;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return getEventType() == XMLStreamConstants.START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return getEventType() == XMLStreamConstants.END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return getEventType() == XMLStreamConstants.CHARACTERS;
+    }
+}
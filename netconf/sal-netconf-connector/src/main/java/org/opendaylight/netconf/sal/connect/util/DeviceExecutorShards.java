@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed set of single-threaded executors, each device being assigned one of them based on its name. Timers themselves
+ * are tracked by the shared netty {@link io.netty.util.Timer}, the shards only run expired keepalive and request
+ * timeout tasks. Tasks of a device then always run on the same thread, one after another and in the order they
+ * expired, which does not change across reconnects and restarts.
+ *
+ * <p>
+ * Compared to the shared keepalive pool, each shard has its own task queue, so that handing off expired tasks of many
+ * devices does not contend on a single queue, and tasks of one device never race each other. The price is that a task
+ * blocking its shard delays other devices on it, hence tasks run on shards are expected to be short: reconnects, which
+ * tear down the device, are handed off to the shared keepalive pool.
+ */
+public final class DeviceExecutorShards implements AutoCloseable {
+    private final EventExecutorGroup group;
+    private final List<EventExecutor> shards;
+
+    public DeviceExecutorShards(final int shardCount) {
+        Preconditions.checkArgument(shardCount > 0, "Invalid shard count %s", shardCount);
+        group = new DefaultEventExecutorGroup(shardCount, new DefaultThreadFactory("netconf-device", true));
+        shards = ImmutableList.copyOf(group);
+    }
+
+    /**
+     * Return the executor assigned to a device.
+     *
+     * @param id Device identifier
+     * @return Executor of the device
+     */
+    public EventExecutor shardFor(final RemoteDeviceId id) {
+        return shardFor(id.getName());
+    }
+
+    /**
+     * Return the executor assigned to a device.
+     *
+     * @param name Device name, as reported by {@link RemoteDeviceId#getName()}
+     * @return Executor of the device
+     */
+    public EventExecutor shardFor(final String name) {
+        return shards.get(Math.floorMod(name.hashCode(), shards.size()));
+    }
+
+    @Override
+    public void close() {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+}
@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.sal.connect.netconf;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollectionOf;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,6 +36,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
 import org.junit.Test;
@@ -341,6 +343,91 @@ public class NetconfDeviceTest {
                 isNull());
     }
 
+    @Test
+    public void testNetconfDeviceSharedSchemaSetup() throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> firstFacade = getFacade();
+        final RemoteDeviceHandler<NetconfSessionPreferences> secondFacade = getFacade();
+        final SchemaContextFactory schemaContextProviderFactory = getSchemaFactory();
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(
+                getSchemaRegistry(), getSchemaRepository(), schemaContextProviderFactory, STATE_SCHEMAS_RESOLVER);
+        final NetconfDevice firstDevice = new NetconfDeviceBuilder()
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setId(getId())
+                .setSalFacade(firstFacade)
+                .build();
+        final NetconfDevice secondDevice = new NetconfDeviceBuilder()
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setId(new RemoteDeviceId("test-E", InetSocketAddress.createUnresolved("localhost", 22)))
+                .setSalFacade(secondFacade)
+                .build();
+        final List<String> moduleCaps =
+                Lists.newArrayList(TEST_NAMESPACE + "?module=" + TEST_MODULE + "&amp;revision=" + TEST_REVISION);
+
+        firstDevice.onRemoteSessionUp(getSessionCaps(true, moduleCaps), getListener());
+        verify(firstFacade, timeout(5000)).onDeviceConnected(
+                any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class),
+                isNull());
+
+        // Same sources, the schema context built for the first device is reused
+        final NetconfSessionPreferences secondCaps = getSessionCaps(true, moduleCaps);
+        secondDevice.onRemoteSessionUp(secondCaps, getListener());
+        verify(secondFacade, timeout(5000)).onDeviceConnected(
+                any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class),
+                isNull());
+        verify(schemaContextProviderFactory, times(1)).createSchemaContext(any(Collection.class));
+        assertFalse(secondCaps.getNetconfDeviceCapabilities().getResolvedCapabilities().isEmpty());
+    }
+
+    @Test
+    public void testNetconfDevicePartialSchemaSetupNotShared() throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> firstFacade = getFacade();
+        final RemoteDeviceHandler<NetconfSessionPreferences> secondFacade = getFacade();
+        final SchemaContextFactory schemaFactory = getSchemaFactory();
+        final SchemaContext schema = getSchema();
+
+        // The second source fails to resolve, leaving its capability unresolved
+        final SchemaResolutionException schemaResolutionException =
+                new SchemaResolutionException("fail first", TEST_SID, new Throwable("YangTools parser fail"));
+        doAnswer(invocation -> {
+            if (((Collection<?>) invocation.getArguments()[0]).size() == 2) {
+                return Futures.immediateFailedFuture(schemaResolutionException);
+            } else {
+                return Futures.immediateFuture(schema);
+            }
+        }).when(schemaFactory).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(
+                getSchemaRegistry(), getSchemaRepository(), schemaFactory, STATE_SCHEMAS_RESOLVER);
+        final NetconfDevice firstDevice = new NetconfDeviceBuilder()
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setId(getId())
+                .setSalFacade(firstFacade)
+                .build();
+        final NetconfDevice secondDevice = new NetconfDeviceBuilder()
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setId(new RemoteDeviceId("test-F", InetSocketAddress.createUnresolved("localhost", 22)))
+                .setSalFacade(secondFacade)
+                .build();
+        final List<String> moduleCaps = Lists.newArrayList(TEST_CAPABILITY, TEST_CAPABILITY2);
+
+        firstDevice.onRemoteSessionUp(getSessionCaps(true, moduleCaps), getListener());
+        verify(firstFacade, timeout(5000)).onDeviceConnected(
+                any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class),
+                isNull());
+        verify(schemaFactory, times(2)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        // Partial setup is not retained, the second device gets to resolve the missing source on its own
+        secondDevice.onRemoteSessionUp(getSessionCaps(true, moduleCaps), getListener());
+        verify(secondFacade, timeout(5000)).onDeviceConnected(
+                any(SchemaContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class),
+                isNull());
+        verify(schemaFactory, times(4)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+
     @Test
     public void testNetconfDeviceDisconnectListenerCallCancellation() throws Exception {
         final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+public class SchemaSetupSnapshotsTest {
+    private static final QName FIRST = QName.create("test:first", "2019-01-01", "first");
+    private static final QName SECOND = QName.create("test:second", "second");
+    private static final QName BROKEN = QName.create("test:broken", "2019-01-01", "broken");
+    private static final SourceIdentifier FIRST_ID =
+            RevisionSourceIdentifier.create("first", Revision.of("2019-01-01"));
+    private static final SourceIdentifier SECOND_ID = RevisionSourceIdentifier.create("second");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private SchemaSetupSnapshots snapshots;
+    private SchemaSetupCache.Fingerprint fingerprint;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshots = SchemaSetupSnapshots.forDirectory(folder.newFolder("snapshots"));
+        fingerprint = SchemaSetupCache.fingerprint(ImmutableSet.of(FIRST, SECOND, BROKEN), ImmutableSet.of(FIRST));
+    }
+
+    @Test
+    public void testSaveLoad() {
+        assertFalse(snapshots.load(fingerprint).isPresent());
+
+        snapshots.save(fingerprint, ImmutableList.of(FIRST_ID, SECOND_ID));
+
+        // Snapshot is found by an equal fingerprint with different iteration order
+        final Optional<SchemaSetupSnapshots.Snapshot> snapshot = snapshots.load(SchemaSetupCache.fingerprint(
+            ImmutableSet.of(BROKEN, SECOND, FIRST), ImmutableSet.of(FIRST)));
+        assertTrue(snapshot.isPresent());
+        assertEquals(ImmutableList.of(FIRST_ID, SECOND_ID), snapshot.get().getSources());
+
+        snapshots.remove(fingerprint);
+        assertFalse(snapshots.load(fingerprint).isPresent());
+    }
+
+    @Test
+    public void testDigest() {
+        assertEquals(fingerprint.digest(), SchemaSetupCache.fingerprint(ImmutableSet.of(BROKEN, SECOND, FIRST),
+            ImmutableSet.of(FIRST)).digest());
+        // Same sources split differently between required and provided
+        assertNotEquals(fingerprint.digest(), SchemaSetupCache.fingerprint(ImmutableSet.of(FIRST, SECOND),
+            ImmutableSet.of(FIRST, BROKEN)).digest());
+    }
+
+    @Test
+    public void testCorruptedSnapshotIgnored() throws Exception {
+        Files.write(folder.getRoot().toPath().resolve("snapshots").resolve(fingerprint.digest() + ".setup"),
+            ImmutableList.of("source\tfirst"), StandardCharsets.UTF_8);
+        assertFalse(snapshots.load(fingerprint).isPresent());
+    }
+
+    @Test
+    public void testPartialSnapshotIgnored() throws Exception {
+        // Snapshot recording an unresolved capability must not be replayed
+        Files.write(folder.getRoot().toPath().resolve("snapshots").resolve(fingerprint.digest() + ".setup"),
+            ImmutableList.of("source\tfirst\t2019-01-01", "unresolved\t" + BROKEN + "\tUnableToResolve"),
+            StandardCharsets.UTF_8);
+        assertFalse(snapshots.load(fingerprint).isPresent());
+    }
+}
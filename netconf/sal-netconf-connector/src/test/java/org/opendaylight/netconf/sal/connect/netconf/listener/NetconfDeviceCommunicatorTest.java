@@ -9,11 +9,14 @@ package org.opendaylight.netconf.sal.connect.netconf.listener;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -21,6 +24,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.netconf.api.xml.XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0;
 
@@ -38,10 +42,16 @@ import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import java.io.ByteArrayInputStream;
 import java.net.InetSocketAddress;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.xml.parsers.ParserConfigurationException;
@@ -107,11 +117,7 @@ public class NetconfDeviceCommunicatorTest {
     @SuppressWarnings("unchecked")
     private ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final String messageID,
                                                                     final boolean doLastTest) throws Exception {
-        Document doc = UntrustedXML.newDocumentBuilder().newDocument();
-        Element element = doc.createElement("request");
-        element.setAttribute("message-id", messageID);
-        doc.appendChild(element);
-        NetconfMessage message = new NetconfMessage(doc);
+        NetconfMessage message = createRequestMessage(messageID);
 
         ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
         doReturn(mockChannelFuture).when(mockChannelFuture)
@@ -340,6 +346,22 @@ public class NetconfDeviceCommunicatorTest {
         verifyResponseMessage(resultFuture2.get(), messageID2);
     }
 
+    @Test
+    public void testLastMessageTracking() throws Exception {
+        setupSession();
+        assertFalse(communicator.getLastMessageNanos().isPresent());
+
+        final long before = System.nanoTime();
+        final String messageID = UUID.randomUUID().toString();
+        sendRequest(messageID, true);
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID));
+        assertTrue(communicator.getLastMessageNanos().getAsLong() - before >= 0);
+
+        // A new session starts idle
+        setupSession();
+        assertFalse(communicator.getLastMessageNanos().isPresent());
+    }
+
     @Test
     public void testOnResponseMessageWithError() throws Exception {
         setupSession();
@@ -418,7 +440,23 @@ public class NetconfDeviceCommunicatorTest {
         String messageID = UUID.randomUUID().toString();
         ListenableFuture<RpcResult<NetconfMessage>> resultFuture = sendRequest(messageID, true);
 
+        // Reply with an unknown message-id is dropped, it does not fail the outstanding request
         communicator.onMessage(mockSession, createSuccessResponseMessage(UUID.randomUUID().toString()));
+        assertFalse(resultFuture.isDone());
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID));
+        verifyResponseMessage(resultFuture.get(), messageID);
+    }
+
+    @Test
+    public void testOnResponseMessageWithoutMessageID() throws Exception {
+        setupSession();
+
+        String messageID = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture = sendRequest(messageID, true);
+
+        // Reply without message-id is attributed to the oldest request and fails its validation
+        communicator.onMessage(mockSession, createSuccessResponseMessage(""));
 
         RpcError rpcError = verifyErrorRpcResult(resultFuture.get(), RpcError.ErrorType.PROTOCOL,
                 "bad-attribute");
@@ -430,6 +468,128 @@ public class NetconfDeviceCommunicatorTest {
         assertTrue("Error info contains \"expected-message-id\"", errorInfo.contains("expected-message-id"));
     }
 
+    @Test
+    public void testOnOutOfOrderResponseMessages() throws Exception {
+        setupSession();
+
+        String messageID1 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest(messageID1, true);
+
+        String messageID2 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest(messageID2, true);
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID2));
+        assertFalse(resultFuture1.isDone());
+        verifyResponseMessage(resultFuture2.get(), messageID2);
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+        verifyResponseMessage(resultFuture1.get(), messageID1);
+    }
+
+    @Test
+    public void testRequestTimeout() throws Exception {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            communicator = new NetconfDeviceCommunicator(
+                    new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice, 1,
+                    500, executor);
+            setupSession();
+
+            String messageID1 = UUID.randomUUID().toString();
+            ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest(messageID1, true);
+
+            // Request expires even though the device does not send anything
+            verifyErrorRpcResult(resultFuture1.get(5, TimeUnit.SECONDS), RpcError.ErrorType.TRANSPORT,
+                    "operation-failed");
+
+            // Expired request does not hold on to its permit
+            String messageID2 = UUID.randomUUID().toString();
+            ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest(messageID2, true);
+            assertTrue("Second request not sent", resultFuture2 instanceof UncancellableFuture);
+
+            // Late reply is ignored, it does not affect the outstanding request
+            communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+            assertFalse(resultFuture2.isDone());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDuplicateMessageId() throws Exception {
+        setupSession();
+
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfMessage.class));
+
+        final String messageID = UUID.randomUUID().toString();
+        final NetconfMessage message1 = createRequestMessage(messageID);
+        final NetconfMessage message2 = createRequestMessage(messageID);
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 =
+                communicator.sendRequest(message1, QName.create("", "mockRpc"));
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 =
+                communicator.sendRequest(message2, QName.create("", "mockRpc"));
+        assertTrue("First request not sent", resultFuture1 instanceof UncancellableFuture);
+        assertTrue("Second request not sent", resultFuture2 instanceof UncancellableFuture);
+
+        // Second request is sent with a message-id of its own
+        final ArgumentCaptor<NetconfMessage> captor = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(mockSession, times(2)).sendMessage(captor.capture());
+        assertSame(message1, captor.getAllValues().get(0));
+        final String reassignedID = NetconfMessageTransformUtil.getMessageId(captor.getAllValues().get(1));
+        assertNotEquals(messageID, reassignedID);
+        assertEquals(messageID, NetconfMessageTransformUtil.getMessageId(message2));
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(reassignedID));
+        assertFalse(resultFuture1.isDone());
+        verifyResponseMessage(resultFuture2.get(), reassignedID);
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID));
+        verifyResponseMessage(resultFuture1.get(), messageID);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLateReplyToReusedMessageId() throws Exception {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            communicator = new NetconfDeviceCommunicator(
+                    new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice, 1,
+                    500, executor);
+            setupSession();
+
+            final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+            doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+            doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfMessage.class));
+
+            final String messageID = UUID.randomUUID().toString();
+            final ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 =
+                    communicator.sendRequest(createRequestMessage(messageID), QName.create("", "mockRpc"));
+            verifyErrorRpcResult(resultFuture1.get(5, TimeUnit.SECONDS), RpcError.ErrorType.TRANSPORT,
+                    "operation-failed");
+
+            // A newer request reusing the message-id of the expired one is sent with a message-id of its own
+            final ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 =
+                    communicator.sendRequest(createRequestMessage(messageID), QName.create("", "mockRpc"));
+            assertTrue("Second request not sent", resultFuture2 instanceof UncancellableFuture);
+            final ArgumentCaptor<NetconfMessage> captor = ArgumentCaptor.forClass(NetconfMessage.class);
+            verify(mockSession, times(2)).sendMessage(captor.capture());
+            final String reassignedID = NetconfMessageTransformUtil.getMessageId(captor.getAllValues().get(1));
+            assertNotEquals(messageID, reassignedID);
+
+            // Late reply to the expired request is not delivered to the newer one
+            communicator.onMessage(mockSession, createSuccessResponseMessage(messageID));
+            assertFalse(resultFuture2.isDone());
+
+            communicator.onMessage(mockSession, createSuccessResponseMessage(reassignedID));
+            verifyResponseMessage(resultFuture2.get(), reassignedID);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testConcurrentMessageLimit() throws Exception {
         setupSession();
@@ -451,6 +611,91 @@ public class NetconfDeviceCommunicatorTest {
         assertNotNull("ListenableFuture is null", resultFuture);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSendRequestsWindow() throws Exception {
+        setupSession();
+        mockBatchSend();
+
+        final List<String> messageIds = new ArrayList<>();
+        final List<Entry<NetconfMessage, QName>> batch = createBatch(12, messageIds);
+
+        final List<Integer> sent = new ArrayList<>();
+        final List<ListenableFuture<RpcResult<NetconfMessage>>> futures = communicator.sendRequests(batch, sent::add);
+        assertEquals(12, futures.size());
+
+        // First 10 requests are written at once, the rest waits for replies
+        final ArgumentCaptor<List<NetconfMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockSession).sendMessages(captor.capture());
+        assertEquals(10, captor.getValue().size());
+        verify(mockSession, never()).sendMessage(any(NetconfMessage.class));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), sent);
+
+        // Single requests do not overtake the queued ones
+        assertFalse(sendRequest(UUID.randomUUID().toString(), false) instanceof UncancellableFuture);
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageIds.get(0)));
+        assertTrue(futures.get(0).isDone());
+        verify(mockSession).sendMessage(same(batch.get(10).getKey()));
+        assertFalse(futures.get(11).isDone());
+        assertEquals(11, sent.size());
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageIds.get(10)));
+        assertTrue(futures.get(10).isDone());
+        verify(mockSession).sendMessage(same(batch.get(11).getKey()));
+        assertEquals(Integer.valueOf(11), sent.get(11));
+    }
+
+    @Test
+    public void testSendRequestsWindowCancelled() throws Exception {
+        setupSession();
+        mockBatchSend();
+
+        final List<String> messageIds = new ArrayList<>();
+        final List<Entry<NetconfMessage, QName>> batch = createBatch(11, messageIds);
+        final List<Integer> sent = new ArrayList<>();
+        final List<ListenableFuture<RpcResult<NetconfMessage>>> futures = communicator.sendRequests(batch, sent::add);
+
+        // Request cancelled while waiting for a permit is never sent
+        assertTrue(futures.get(10).cancel(false));
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageIds.get(0)));
+        verify(mockSession, never()).sendMessage(any(NetconfMessage.class));
+        assertEquals(10, sent.size());
+
+        // The permit has been released
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture = sendRequest(UUID.randomUUID().toString(),
+            false);
+        assertTrue(resultFuture instanceof UncancellableFuture);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockBatchSend() {
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfMessage.class));
+        doAnswer(invocation -> Collections.nCopies(invocation.<List<?>>getArgument(0).size(), mockChannelFuture))
+                .when(mockSession).sendMessages(any());
+    }
+
+    private static List<Entry<NetconfMessage, QName>> createBatch(final int size, final List<String> messageIds)
+            throws Exception {
+        final List<Entry<NetconfMessage, QName>> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final String messageId = UUID.randomUUID().toString();
+            messageIds.add(messageId);
+            batch.add(new SimpleImmutableEntry<>(createRequestMessage(messageId), QName.create("", "mockRpc")));
+        }
+        return batch;
+    }
+
+    private static NetconfMessage createRequestMessage(final String messageID) throws Exception {
+        Document doc = UntrustedXML.newDocumentBuilder().newDocument();
+        Element element = doc.createElement("request");
+        element.setAttribute("message-id", messageID);
+        doc.appendChild(element);
+        return new NetconfMessage(doc);
+    }
+
     private static NetconfMessage createErrorResponseMessage(final String messageID) throws Exception {
         String xmlStr = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\""
                 + "           message-id=\"" + messageID + "\">"
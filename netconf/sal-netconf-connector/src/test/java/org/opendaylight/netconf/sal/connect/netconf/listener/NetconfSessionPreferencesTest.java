@@ -11,6 +11,8 @@ package org.opendaylight.netconf.sal.connect.netconf.listener;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -18,6 +20,7 @@ import com.google.common.collect.Lists;
 import java.util.List;
 import org.junit.Test;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
 import org.opendaylight.yangtools.yang.common.QName;
 
 public class NetconfSessionPreferencesTest {
@@ -167,6 +170,32 @@ public class NetconfSessionPreferencesTest {
         assertCaps(sessionCaps1, 0, 4);
     }
 
+    @Test
+    public void testParsedCapabilitiesShared() throws Exception {
+        final List<String> caps = Lists.newArrayList(
+                "namespace:1?module=module1&revision=2012-12-12",
+                "urn:ietf:params:netconf:base:1.0");
+
+        final NetconfSessionPreferences sessionCaps1 = NetconfSessionPreferences.fromStrings(caps);
+        final NetconfSessionPreferences sessionCaps2 = NetconfSessionPreferences.fromStrings(
+            Lists.newArrayList(new String(caps.get(0)), new String(caps.get(1))));
+        assertCaps(sessionCaps2, 1, 1);
+        assertEquals(sessionCaps1.getModuleBasedCaps(), sessionCaps2.getModuleBasedCaps());
+        assertEquals(sessionCaps1.getNonModuleCaps(), sessionCaps2.getNonModuleCaps());
+
+        // Second session reuses the capability maps parsed for the first one, but not the preferences themselves
+        assertNotSame(sessionCaps1, sessionCaps2);
+        assertNotSame(sessionCaps1.getNetconfDeviceCapabilities(), sessionCaps2.getNetconfDeviceCapabilities());
+        assertSame(sessionCaps1.getModuleBasedCapsOrigin(), sessionCaps2.getModuleBasedCapsOrigin());
+        assertSame(sessionCaps1.getNonModuleBasedCapsOrigin(), sessionCaps2.getNonModuleBasedCapsOrigin());
+
+        // Capabilities with a different origin are parsed separately
+        final NetconfSessionPreferences userDefined = NetconfSessionPreferences.fromStrings(caps,
+            CapabilityOrigin.UserDefined);
+        assertNotSame(sessionCaps1.getModuleBasedCapsOrigin(), userDefined.getModuleBasedCapsOrigin());
+        assertEquals(CapabilityOrigin.UserDefined, userDefined.getModuleBasedCapsOrigin().values().iterator().next());
+    }
+
     private static void assertCaps(final NetconfSessionPreferences sessionCaps1, final int nonModuleCaps,
             final int moduleCaps) {
         assertEquals(nonModuleCaps, sessionCaps1.getNonModuleCaps().size());
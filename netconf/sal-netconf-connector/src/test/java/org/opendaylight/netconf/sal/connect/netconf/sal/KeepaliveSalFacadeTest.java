@@ -7,29 +7,52 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.util.concurrent.SettableFuture;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import java.net.InetSocketAddress;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.netconf.sal.connect.api.DOMRpcBatchService;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
@@ -116,6 +139,33 @@ public class KeepaliveSalFacadeTest {
         verify(deviceRpc, timeout(15000).times(5)).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
     }
 
+    @Test
+    public void testKeepaliveRunsOnExecutor() throws Exception {
+        final HashedWheelTimer timer = new HashedWheelTimer(new DefaultThreadFactory("keepalive-test-timer", true));
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final Thread executorThread = executor.submit(Thread::currentThread).get();
+            final SettableFuture<Thread> invoker = SettableFuture.create();
+            final DOMRpcResult result = new DefaultDOMRpcResult(Builders.containerBuilder().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME)).build());
+            doAnswer(invocation -> {
+                invoker.set(Thread.currentThread());
+                return FluentFutures.immediateFluentFuture(result);
+            }).when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+            keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, timer, 1L, 1L);
+            keepaliveSalFacade.setListener(listener);
+            keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+
+            // The timer thread only hands the keepalive off, it is invoked on the executor
+            assertSame(executorThread, invoker.get(15, TimeUnit.SECONDS));
+        } finally {
+            keepaliveSalFacade.close();
+            timer.stop();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testKeepaliveRpcFailure() {
 
@@ -170,4 +220,71 @@ public class KeepaliveSalFacadeTest {
 
         verify(listener, times(1)).disconnect();
     }
+
+    @Test
+    public void testReconnectOnReconnectExecutor() throws Exception {
+        doAnswer(
+            invocationOnMock -> {
+                proxyRpc = (DOMRpcService) invocationOnMock.getArguments()[2];
+                return null;
+            }).when(underlyingSalFacade).onDeviceConnected(isNull(), isNull(), any(DOMRpcService.class), isNull());
+
+        doReturn(FluentFutures.immediateFailedFluentFuture(new IllegalStateException("illegal-state")))
+                .when(deviceRpc).invokeRpc(any(SchemaPath.class), any(NormalizedNode.class));
+
+        final Executor reconnectExecutor = mock(Executor.class);
+        keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy,
+            reconnectExecutor, null, 100L, 1L);
+        keepaliveSalFacade.setListener(listener);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+
+        proxyRpc.invokeRpc(mock(SchemaPath.class), mock(NormalizedNode.class));
+
+        // Teardown is handed off instead of running on the failing thread
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(reconnectExecutor).execute(captor.capture());
+        verify(listener, never()).disconnect();
+
+        captor.getValue().run();
+        verify(listener).disconnect();
+    }
+
+    @Test
+    public void testBatchTimeoutStartsWhenSent() throws Exception {
+        doAnswer(
+            invocationOnMock -> {
+                proxyRpc = (DOMRpcService) invocationOnMock.getArguments()[2];
+                return null;
+            }).when(underlyingSalFacade).onDeviceConnected(isNull(), isNull(), any(DOMRpcService.class), isNull());
+
+        final Timer timer = mock(Timer.class);
+        doReturn(mock(Timeout.class)).when(timer).newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class));
+
+        final SettableFuture<DOMRpcResult> first = SettableFuture.create();
+        final SettableFuture<DOMRpcResult> second = SettableFuture.create();
+        final List<IntConsumer> onSent = new ArrayList<>();
+        final DOMRpcBatchService batchRpc = mock(DOMRpcBatchService.class);
+        doAnswer(invocationOnMock -> {
+            onSent.add(invocationOnMock.getArgument(1));
+            return Arrays.asList(first, second);
+        }).when(batchRpc).invokeRpcs(any(), any(IntConsumer.class));
+
+        keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executorServiceSpy, null,
+            timer, 100L, 1000L);
+        keepaliveSalFacade.setListener(listener);
+        keepaliveSalFacade.onDeviceConnected(null, null, batchRpc);
+        clearInvocations(timer);
+
+        final List<Entry<SchemaPath, NormalizedNode<?, ?>>> rpcs = Collections.nCopies(2,
+            new SimpleImmutableEntry<>(mock(SchemaPath.class), mock(NormalizedNode.class)));
+        assertEquals(2, ((DOMRpcBatchService) proxyRpc).invokeRpcs(rpcs).size());
+
+        // Requests held back do not have their timeout running
+        verify(timer, never()).newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class));
+
+        onSent.get(0).accept(1);
+        verify(timer).newTimeout(any(TimerTask.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        onSent.get(0).accept(0);
+        verify(timer, times(2)).newTimeout(any(TimerTask.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    }
 }
@@ -8,13 +8,21 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -58,12 +66,7 @@ public class NetconfDeviceRpcTest {
         MockitoAnnotations.initMocks(this);
         schema = getSchema();
         NetconfMessageTransformer transformer = new NetconfMessageTransformer(schema, true);
-        final NetconfMessage reply = new NetconfMessage(XmlUtil.readXmlToDocument(
-                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
-                        + "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"101\">\n"
-                        + "<data>\n"
-                        + "</data>\n"
-                        + "</rpc-reply>"));
+        final NetconfMessage reply = createReply();
         RpcResult<NetconfMessage> result = RpcResultBuilder.success(reply).build();
         doReturn(Futures.immediateFuture(result))
                 .when(communicator).sendRequest(any(NetconfMessage.class), any(QName.class));
@@ -81,6 +84,42 @@ public class NetconfDeviceRpcTest {
         Assert.assertEquals(expectedReply, result);
     }
 
+    @Test
+    public void testInvokeRpcWithExecutor() throws Exception {
+        // Each invocation gets its own reply, as DOM documents are not safe for concurrent access
+        doAnswer(invocation -> Futures.immediateFuture(RpcResultBuilder.success(createReply()).build()))
+                .when(communicator).sendRequest(any(NetconfMessage.class), any(QName.class));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final NetconfDeviceRpc executorRpc = new NetconfDeviceRpc(schema, communicator,
+                new NetconfMessageTransformer(schema, true), executor);
+            final NormalizedNode<?, ?> input =
+                    createNode("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01", "filter");
+
+            final List<ListenableFuture<DOMRpcResult>> results = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                results.add(executorRpc.invokeRpc(path, input));
+            }
+            for (ListenableFuture<DOMRpcResult> result : results) {
+                Assert.assertEquals(expectedReply, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvokeRpcCancelled() throws Exception {
+        final SettableFuture<RpcResult<NetconfMessage>> delegate = SettableFuture.create();
+        doReturn(delegate).when(communicator).sendRequest(any(NetconfMessage.class), any(QName.class));
+
+        final NormalizedNode<?, ?> input = createNode("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01",
+            "filter");
+        Assert.assertTrue(rpc.invokeRpc(path, input).cancel(false));
+        Assert.assertTrue(delegate.isCancelled());
+    }
+
     @Test
     public void testRegisterRpcListener() throws Exception {
         ArgumentCaptor<Collection> argument = ArgumentCaptor.forClass(Collection.class);
@@ -98,6 +137,15 @@ public class NetconfDeviceRpcTest {
         }
     }
 
+    private static NetconfMessage createReply() throws Exception {
+        return new NetconfMessage(XmlUtil.readXmlToDocument(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
+                        + "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"101\">\n"
+                        + "<data>\n"
+                        + "</data>\n"
+                        + "</rpc-reply>"));
+    }
+
     private static ContainerNode createNode(final String namespace, final String date, final String localName) {
         return Builders.containerBuilder().withNodeIdentifier(
                 new YangInstanceIdentifier.NodeIdentifier(QName.create(namespace, date, localName))).build();
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus.ConnectionStatus;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.AvailableCapabilitiesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapabilityBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class NetconfDeviceStatusWriterTest {
+    private final RemoteDeviceId first = new RemoteDeviceId("first", new InetSocketAddress("localhost", 22));
+    private final RemoteDeviceId second = new RemoteDeviceId("second", new InetSocketAddress("localhost", 23));
+    private final SettableFuture<CommitInfo> firstCommit = SettableFuture.create();
+
+    private WriteTransaction firstTx;
+    private WriteTransaction secondTx;
+    private NetconfDeviceStatusWriter writer;
+
+    @Before
+    public void setUp() {
+        firstTx = mock(WriteTransaction.class);
+        doReturn(FluentFuture.from(firstCommit)).when(firstTx).commit();
+        secondTx = mock(WriteTransaction.class);
+        doReturn(CommitInfo.emptyFluentFuture()).when(secondTx).commit();
+
+        final WriteTransaction[] transactions = { firstTx, secondTx };
+        final int[] allocated = { 0 };
+        writer = new NetconfDeviceStatusWriter(() -> transactions[allocated[0]++]);
+    }
+
+    @Test
+    public void testCoalescing() {
+        writer.updateStatus(first, status(ConnectionStatus.Connecting, "cap"));
+        verify(firstTx).put(eq(LogicalDatastoreType.OPERATIONAL), eq(path(first)), any(NetconfNode.class), eq(true));
+        verify(firstTx).commit();
+
+        // Both devices are written by a single transaction once the first one completes, second device only with
+        // its latest status
+        writer.updateStatus(second, status(ConnectionStatus.Connecting, "cap"));
+        writer.updateStatus(second, status(ConnectionStatus.Connected, "cap"));
+        writer.updateStatus(first, status(ConnectionStatus.Connected, "cap"));
+        verify(secondTx, never()).commit();
+
+        firstCommit.set(CommitInfo.empty());
+        verify(secondTx).put(LogicalDatastoreType.OPERATIONAL, path(second),
+            status(ConnectionStatus.Connected, "cap"), true);
+        verify(secondTx, times(1)).put(any(), any(), any(), eq(true));
+        verify(secondTx).commit();
+
+        // Capabilities of the first device did not change, hence they are not rewritten
+        verify(secondTx).merge(eq(LogicalDatastoreType.OPERATIONAL), eq(path(first)), any(NetconfNode.class),
+            eq(true));
+    }
+
+    @Test
+    public void testReset() {
+        writer.updateStatus(first, status(ConnectionStatus.Connecting, "cap"));
+        writer.updateStatus(second, status(ConnectionStatus.Connecting, "cap"));
+
+        // Reset does not wait for the batch in flight, it is queued behind it
+        final Consumer<WriteTransaction> reset = tx -> tx.delete(LogicalDatastoreType.OPERATIONAL, path(second));
+        writer.resetDevice(second, reset);
+        writer.updateStatus(second, status(ConnectionStatus.Connected, "cap"));
+        verify(secondTx, never()).delete(any(), any());
+
+        // Pending status of the reset device is dropped, status submitted after the reset is written after it, in full
+        firstCommit.set(CommitInfo.empty());
+        final InOrder inOrder = inOrder(secondTx);
+        inOrder.verify(secondTx).delete(LogicalDatastoreType.OPERATIONAL, path(second));
+        inOrder.verify(secondTx).put(LogicalDatastoreType.OPERATIONAL, path(second),
+            status(ConnectionStatus.Connected, "cap"), true);
+        inOrder.verify(secondTx).commit();
+        verify(secondTx, times(1)).put(any(), any(), any(), eq(true));
+    }
+
+    @Test
+    public void testFailedResetRequeued() {
+        writer.resetDevice(first, tx -> tx.delete(LogicalDatastoreType.OPERATIONAL, path(first)));
+        writer.updateStatus(first, status(ConnectionStatus.Connected, "cap"));
+
+        // Failed reset is retried ahead of the status submitted after it
+        firstCommit.setException(new Exception("test"));
+        final InOrder inOrder = inOrder(secondTx);
+        inOrder.verify(secondTx).delete(LogicalDatastoreType.OPERATIONAL, path(first));
+        inOrder.verify(secondTx).put(LogicalDatastoreType.OPERATIONAL, path(first),
+            status(ConnectionStatus.Connected, "cap"), true);
+        inOrder.verify(secondTx).commit();
+    }
+
+    @Test
+    public void testFailedBatchRequeued() {
+        writer.updateStatus(first, status(ConnectionStatus.Connecting, "cap"));
+        writer.updateStatus(second, status(ConnectionStatus.Connecting, "cap"));
+
+        // Status of the first device is retried along with the pending status of the second one
+        firstCommit.setException(new Exception("test"));
+        verify(secondTx).put(LogicalDatastoreType.OPERATIONAL, path(first),
+            status(ConnectionStatus.Connecting, "cap"), true);
+        verify(secondTx).put(LogicalDatastoreType.OPERATIONAL, path(second),
+            status(ConnectionStatus.Connecting, "cap"), true);
+        verify(secondTx).commit();
+    }
+
+    @Test
+    public void testFailedBatchSuperseded() {
+        writer.updateStatus(first, status(ConnectionStatus.Connecting, "cap"));
+        writer.updateStatus(first, status(ConnectionStatus.Connected, "cap"));
+
+        // Newer status of the device takes precedence over the failed one
+        firstCommit.setException(new Exception("test"));
+        verify(secondTx).put(LogicalDatastoreType.OPERATIONAL, path(first),
+            status(ConnectionStatus.Connected, "cap"), true);
+        verify(secondTx, times(1)).put(any(), any(), any(), eq(true));
+        verify(secondTx).commit();
+    }
+
+    private static InstanceIdentifier<NetconfNode> path(final RemoteDeviceId id) {
+        return id.getTopologyBindingPath().augmentation(NetconfNode.class);
+    }
+
+    private static NetconfNode status(final ConnectionStatus connectionStatus, final String capability) {
+        return new NetconfNodeBuilder().setConnectionStatus(connectionStatus)
+                .setAvailableCapabilities(new AvailableCapabilitiesBuilder().setAvailableCapability(
+                    Collections.singletonList(new AvailableCapabilityBuilder().setCapability(capability).build()))
+                    .build())
+                .build();
+    }
+}
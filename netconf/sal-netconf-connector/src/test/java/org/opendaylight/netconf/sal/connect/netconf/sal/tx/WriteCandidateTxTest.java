@@ -7,9 +7,14 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.sal.tx;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -64,4 +69,27 @@ public class WriteCandidateTxTest {
         verify(rpc).invokeRpc(eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_UNLOCK_QNAME)), any());
     }
 
+    @Test
+    public void testSubmitCoalescedEditFailure() throws Exception {
+        final WriteCandidateTx tx = new WriteCandidateTx(id, netconfOps, true, true);
+        tx.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode());
+
+        final IllegalStateException cause = new IllegalStateException("Session is down");
+        doThrow(cause).when(rpc).invokeRpc(
+            eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME)), any());
+        try {
+            tx.commit();
+            fail("Commit should have failed");
+        } catch (IllegalStateException e) {
+            assertSame(cause, e);
+        }
+
+        //check, if changes are discarded and candidate is unlocked, but nothing is committed
+        verify(rpc).invokeRpc(eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_DISCARD_CHANGES_QNAME)),
+            any());
+        verify(rpc).invokeRpc(eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_UNLOCK_QNAME)), any());
+        verify(rpc, never()).invokeRpc(eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_COMMIT_QNAME)),
+            any());
+        assertFalse(tx.cancel());
+    }
 }
\ No newline at end of file
@@ -64,4 +64,20 @@ public class WriteRunningTxTest {
         //check, if unlock is called
         verify(rpc).invokeRpc(eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_UNLOCK_QNAME)), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSubmitCoalesced() throws Exception {
+        final WriteRunningTx tx = new WriteRunningTx(id, netconfOps, true, true);
+        tx.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode());
+        tx.put(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafBId(), TxTestUtils.getLeafBNode());
+        // shares the default operation with the edits above, but overlaps with the merge, hence it starts a new
+        // edit-config
+        tx.put(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode());
+        // does not overlap with the previous put, but needs default-operation none, hence it starts a new edit-config
+        tx.delete(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafBId());
+        tx.commit().get();
+        //check, if the two non-overlapping edits with the same default operation were combined
+        verify(rpc, times(3))
+                .invokeRpc(eq(SchemaPath.create(true, NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME)), any());
+    }
+}
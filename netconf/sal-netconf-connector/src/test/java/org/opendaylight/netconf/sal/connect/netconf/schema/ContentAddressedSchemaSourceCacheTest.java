@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.io.ByteSource;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource.Costs;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.ASTSchemaSource;
+
+public class ContentAddressedSchemaSourceCacheTest {
+    private static final SourceIdentifier SOURCE_ID =
+            RevisionSourceIdentifier.create("test-module", Revision.of("2019-01-01"));
+    private static final String TEXT = "module test-module { namespace test; prefix tst; revision 2019-01-01; }";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final SchemaSourceRegistry registry = mock(SchemaSourceRegistry.class);
+    private SchemaSourceStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        store = SchemaSourceStore.forDirectory(folder.newFolder("store"));
+    }
+
+    @Test
+    public void testOfferWritesCacheDirectory() throws Exception {
+        final File cacheDirectory = new File(folder.getRoot(), "schema");
+        final ContentAddressedSchemaSourceCache cache =
+                ContentAddressedSchemaSourceCache.forCacheDirectory(registry, store, cacheDirectory);
+
+        cache.schemaSourceEncountered(YangTextSchemaSource.delegateForByteSource(SOURCE_ID,
+            ByteSource.wrap(TEXT.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(store.contains(cacheDirectory.getPath(), SOURCE_ID));
+
+        // Source remains available to FilesystemSchemaSourceCache and to users
+        final File legacyFile = new File(cacheDirectory, "test-module@2019-01-01.yang");
+        assertEquals(TEXT, new String(Files.readAllBytes(legacyFile.toPath()), StandardCharsets.UTF_8));
+
+        // Parsed source is preferred over text-to-AST transformation
+        verify(registry).registerSchemaSource(any(),
+            eq(PotentialSchemaSource.create(SOURCE_ID, ASTSchemaSource.class, Costs.IMMEDIATE.getValue())));
+    }
+}
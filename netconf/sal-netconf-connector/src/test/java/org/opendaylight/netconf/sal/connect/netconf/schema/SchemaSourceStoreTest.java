@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+public class SchemaSourceStoreTest {
+    private static final SourceIdentifier SOURCE_ID =
+            RevisionSourceIdentifier.create("test-module", Revision.of("2019-01-01"));
+    private static final String TEXT = "module test-module { namespace test; prefix tst; revision 2019-01-01; }";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private SchemaSourceStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        store = SchemaSourceStore.forDirectory(folder.newFolder("store"));
+    }
+
+    @Test
+    public void testStoreDeduplicates() throws Exception {
+        assertTrue(store.store("first", source(TEXT)));
+        assertFalse(store.store("first", source(TEXT)));
+        assertTrue(store.store("second", source(TEXT)));
+
+        assertEquals(ImmutableSet.of(SOURCE_ID), store.getSources("first"));
+        assertEquals(ImmutableSet.of(SOURCE_ID), store.getSources("second"));
+        assertEquals(TEXT, store.getText("second", SOURCE_ID).asCharSource(StandardCharsets.UTF_8).read());
+        // Single copy of the text
+        assertEquals(1, countBlobs());
+    }
+
+    @Test(expected = MissingSchemaSourceException.class)
+    public void testNamespacesIsolated() throws Exception {
+        store.store("first", source(TEXT));
+        store.getText("second", SOURCE_ID);
+    }
+
+    @Test
+    public void testImportDirectory() throws Exception {
+        final File legacy = folder.newFolder("legacy");
+        Files.write(new File(legacy, "test-module@2019-01-01.yang").toPath(), TEXT.getBytes(StandardCharsets.UTF_8));
+
+        store.importDirectory("legacy", legacy);
+        assertTrue(store.contains("legacy", SOURCE_ID));
+        assertEquals(TEXT, store.getText("legacy", SOURCE_ID).asCharSource(StandardCharsets.UTF_8).read());
+    }
+
+    @Test
+    public void testImportDirectoryEdited() throws Exception {
+        final File legacy = folder.newFolder("legacy");
+        final File file = new File(legacy, "test-module@2019-01-01.yang");
+        Files.write(file.toPath(), TEXT.getBytes(StandardCharsets.UTF_8));
+        store.importDirectory("legacy", legacy);
+
+        // Text edited by the user replaces the imported one
+        final String edited = TEXT + "\n";
+        Files.write(file.toPath(), edited.getBytes(StandardCharsets.UTF_8));
+        store.importDirectory("legacy", legacy);
+        assertEquals(edited, store.getText("legacy", SOURCE_ID).asCharSource(StandardCharsets.UTF_8).read());
+    }
+
+    @Test
+    public void testIndexCompactedOnOpen() throws Exception {
+        final File directory = folder.newFolder("compacted");
+        final String stale = "first\t" + Strings.repeat("0", 64) + "\ttest-module\t2019-01-01";
+        final String live = "first\t" + Strings.repeat("1", 64) + "\ttest-module\t2019-01-01";
+        final Path index = directory.toPath().resolve("index");
+        Files.write(index, ImmutableList.of(stale, live), StandardCharsets.UTF_8);
+
+        final SchemaSourceStore compacted = SchemaSourceStore.forDirectory(directory);
+        assertEquals(ImmutableSet.of(SOURCE_ID), compacted.getSources("first"));
+        assertEquals(ImmutableList.of(live), Files.readAllLines(index, StandardCharsets.UTF_8));
+    }
+
+    private static YangTextSchemaSource source(final String text) {
+        return YangTextSchemaSource.delegateForByteSource(SOURCE_ID,
+            ByteSource.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long countBlobs() throws Exception {
+        try (Stream<?> files = Files.list(folder.getRoot().toPath().resolve("store"))) {
+            return files.filter(path -> path.toString().endsWith(".yang")).count();
+        }
+    }
+}
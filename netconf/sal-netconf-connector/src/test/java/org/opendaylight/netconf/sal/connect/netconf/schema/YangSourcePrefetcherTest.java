@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+public class YangSourcePrefetcherTest {
+    private static final SourceIdentifier FIRST = RevisionSourceIdentifier.create("first");
+    private static final SourceIdentifier SECOND = RevisionSourceIdentifier.create("second");
+    private static final SourceIdentifier THIRD = RevisionSourceIdentifier.create("third");
+    private static final SourceIdentifier LOCAL = RevisionSourceIdentifier.create("local");
+
+    private final SettableFuture<YangTextSchemaSource> firstFuture = SettableFuture.create();
+    private final SettableFuture<YangTextSchemaSource> secondFuture = SettableFuture.create();
+    private final SettableFuture<YangTextSchemaSource> thirdFuture = SettableFuture.create();
+
+    private SchemaRepository repository;
+    private YangSourcePrefetcher prefetcher;
+
+    @Before
+    public void setUp() {
+        repository = mock(SchemaRepository.class);
+        doReturn(firstFuture).when(repository).getSchemaSource(eq(FIRST), any());
+        doReturn(secondFuture).when(repository).getSchemaSource(eq(SECOND), any());
+        doReturn(thirdFuture).when(repository).getSchemaSource(eq(THIRD), any());
+        doReturn(Futures.immediateFuture(mock(YangTextSchemaSource.class)))
+            .when(repository).getSchemaSource(eq(LOCAL), any());
+
+        prefetcher = new YangSourcePrefetcher(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), repository, 2);
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        final ListenableFuture<Set<SourceIdentifier>> result =
+                prefetcher.prefetch(ImmutableList.of(LOCAL, FIRST, SECOND, THIRD));
+
+        // Local source does not occupy the window
+        verify(repository).getSchemaSource(LOCAL, YangTextSchemaSource.class);
+        verify(repository).getSchemaSource(FIRST, YangTextSchemaSource.class);
+        verify(repository).getSchemaSource(SECOND, YangTextSchemaSource.class);
+        verify(repository, never()).getSchemaSource(THIRD, YangTextSchemaSource.class);
+
+        firstFuture.set(mock(YangTextSchemaSource.class));
+        verify(repository).getSchemaSource(THIRD, YangTextSchemaSource.class);
+
+        thirdFuture.setException(new MissingSchemaSourceException("missing", THIRD));
+        assertFalse(result.isDone());
+
+        secondFuture.set(mock(YangTextSchemaSource.class));
+        assertTrue(result.isDone());
+        assertEquals(ImmutableSet.of(THIRD), result.get());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertEquals(ImmutableSet.of(), prefetcher.prefetch(ImmutableList.of()).get());
+    }
+}
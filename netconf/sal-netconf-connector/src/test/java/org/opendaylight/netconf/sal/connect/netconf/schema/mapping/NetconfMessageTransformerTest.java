@@ -10,6 +10,7 @@ package org.opendaylight.netconf.sal.connect.netconf.schema.mapping;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.CREATE_SUBSCRIPTION_RPC_CONTENT;
@@ -33,6 +34,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -53,6 +55,7 @@ import org.opendaylight.mdsal.binding.generator.impl.ModuleInfoBackedContext;
 import org.opendaylight.mdsal.dom.api.DOMActionResult;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.sal.connect.netconf.schema.NetconfRemoteSchemaYangSourceProvider;
@@ -79,6 +82,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
@@ -376,6 +380,51 @@ public class NetconfMessageTransformerTest {
         return new NetconfMessageTransformer(schema, true);
     }
 
+    @Test
+    public void testGetConfigResponseLazy() throws Exception {
+        final String reply = "<rpc-reply message-id=\"101\"\n"
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
+                + "<data>\n"
+                + "<netconf-state xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">\n"
+                + "<schemas>\n"
+                + "<schema>\n"
+                + "<identifier>module</identifier>\n"
+                + "<version>2012-12-12</version>\n"
+                + "<format xmlns:x=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">x:yang</format>\n"
+                + "</schema>\n"
+                + "</schemas>\n"
+                + "</netconf-state>\n"
+                + "</data>\n"
+                + "</rpc-reply>";
+
+        final NetconfMessageTransformer transformer = getTransformer(getSchema(true));
+        final DOMRpcResult domResult = transformer.toRpcResult(new NetconfMessage(XmlUtil.readXmlToDocument(reply)),
+            toPath(NETCONF_GET_CONFIG_QNAME));
+        final DOMRpcResult lazyResult = transformer.toRpcResult(
+            LazyNetconfMessage.of(reply.getBytes(StandardCharsets.UTF_8)), toPath(NETCONF_GET_CONFIG_QNAME));
+        assertTrue(lazyResult.getErrors().isEmpty());
+        assertEquals(domResult.getResult(), lazyResult.getResult());
+    }
+
+    @Test
+    public void testCommitResponseLazy() throws Exception {
+        final LazyNetconfMessage response = LazyNetconfMessage.of(
+                "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>"
+                        .getBytes(StandardCharsets.UTF_8));
+        final DOMRpcResult compositeNodeRpcResult =
+                netconfMessageTransformer.toRpcResult(response, toPath(NETCONF_COMMIT_QNAME));
+        assertTrue(compositeNodeRpcResult.getErrors().isEmpty());
+        assertNull(compositeNodeRpcResult.getResult());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCommitResponseLazyUnexpectedContent() throws Exception {
+        final LazyNetconfMessage response = LazyNetconfMessage.of(
+                "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/><data/></rpc-reply>"
+                        .getBytes(StandardCharsets.UTF_8));
+        netconfMessageTransformer.toRpcResult(response, toPath(NETCONF_COMMIT_QNAME));
+    }
+
     @Test
     public void testCommitResponse() throws Exception {
         final NetconfMessage response = new NetconfMessage(XmlUtil.readXmlToDocument(
@@ -415,6 +464,22 @@ public class NetconfMessageTransformerTest {
         }
     }
 
+    @Test
+    public void testSchemaContextMetadataShared() {
+        final NetconfMessageTransformer other = getTransformer(schema);
+        assertSame(netconfMessageTransformer.getActions(), other.getActions());
+        assertSame(SchemaContextMetadata.forSchemaContext(schema), SchemaContextMetadata.forSchemaContext(schema));
+    }
+
+    @Test
+    public void testSyntheticSchemasCached() {
+        final SchemaContextMetadata metadata = SchemaContextMetadata.forSchemaContext(schema);
+        assertSame(metadata.getDataReadSchema(), metadata.getDataReadSchema());
+        for (NotificationDefinition notification : schema.getNotifications()) {
+            assertSame(metadata.getNotificationSchema(notification), metadata.getNotificationSchema(notification));
+        }
+    }
+
     @Test
     public void toActionRequestListTopLevelTest() {
         QName qname = QName.create(URN_EXAMPLE_SERVER_FARM, REVISION_EXAMPLE_SERVER_FARM, "server");
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.custommonkey.xmlunit.Diff;
@@ -40,10 +41,14 @@ import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 import org.w3c.dom.Document;
@@ -253,6 +258,38 @@ public class NetconfBaseOpsTest {
         verifyMessageSent("edit-config-test-module-running", NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME);
     }
 
+    @Test
+    public void testEditConfigCombined() throws Exception {
+        final QName leafAQName = QName.create(CONTAINER_Q_NAME, "a");
+        final QName leafBQName = QName.create(CONTAINER_Q_NAME, "b");
+        final List<EditConfigOperation> edits = Arrays.asList(
+                new EditConfigOperation(YangInstanceIdentifier.create(new NodeIdentifier(CONTAINER_Q_NAME),
+                        new NodeIdentifier(leafAQName)), Optional.of(ImmutableNodes.leafNode(leafAQName, "a-value")),
+                        Optional.of(ModifyAction.REPLACE)),
+                new EditConfigOperation(YangInstanceIdentifier.create(new NodeIdentifier(CONTAINER_Q_NAME),
+                        new NodeIdentifier(leafBQName)), Optional.of(ImmutableNodes.leafNode(leafBQName, "b-value")),
+                        Optional.empty()));
+
+        final ChoiceNode structure = (ChoiceNode) baseOps.createEditConfigStructure(edits).get();
+        final AnyXmlNode config = (AnyXmlNode) structure.getValue().iterator().next();
+        final String actual = XmlUtil.toString((Element) config.getValue().getNode());
+        final Diff diff = XMLUnit.compareXML("<config xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+                + "<c xmlns=\"test:namespace\">"
+                + "<a xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\" nc:operation=\"replace\">a-value</a>"
+                + "<b>b-value</b>"
+                + "</c></config>", actual);
+        Assert.assertTrue(diff.toString(), diff.similar());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEditConfigCombinedOverlapping() {
+        final YangInstanceIdentifier containerId = YangInstanceIdentifier.create(new NodeIdentifier(CONTAINER_Q_NAME));
+        baseOps.createEditConfigStructure(Arrays.asList(
+                new EditConfigOperation(containerId, Optional.empty(), Optional.of(ModifyAction.DELETE)),
+                new EditConfigOperation(containerId.node(QName.create(CONTAINER_Q_NAME, "a")), Optional.empty(),
+                        Optional.of(ModifyAction.DELETE))));
+    }
+
     private void verifyMessageSent(final String fileName, final QName name) {
         final String path = "/netconfMessages/" + fileName + ".xml";
         verify(listener).sendRequest(msg(path), eq(name));
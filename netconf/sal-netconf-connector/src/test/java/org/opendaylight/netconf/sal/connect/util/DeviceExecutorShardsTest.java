@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.util.concurrent.EventExecutor;
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class DeviceExecutorShardsTest {
+    @Test
+    public void testShardSelection() throws Exception {
+        try (DeviceExecutorShards shards = new DeviceExecutorShards(4)) {
+            final Set<EventExecutor> used = new HashSet<>();
+            for (int i = 0; i < 64; i++) {
+                final EventExecutor shard = shards.shardFor(device("device" + i, 830));
+                // Device keeps its shard regardless of its address
+                assertSame(shard, shards.shardFor(device("device" + i, 831)));
+                assertSame(shard, shards.shardFor("device" + i));
+                used.add(shard);
+            }
+            assertEquals(4, used.size());
+
+            final EventExecutor shard = shards.shardFor(device("device", 830));
+            final Thread[] threads = new Thread[2];
+            shard.submit(() -> threads[0] = Thread.currentThread()).get();
+            shard.schedule(() -> threads[1] = Thread.currentThread(), 10, TimeUnit.MILLISECONDS).get();
+            assertSame(threads[0], threads[1]);
+            assertTrue(shard.inEventLoop(threads[0]));
+        }
+    }
+
+    private static RemoteDeviceId device(final String name, final int port) {
+        return new RemoteDeviceId(name, new InetSocketAddress("localhost", port));
+    }
+}